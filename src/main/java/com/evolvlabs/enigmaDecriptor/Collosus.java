@@ -350,7 +350,8 @@ public class Collosus {
      * <ul>
      *   <li>La lista proporcionada, 'keySet', es ordenada segun el puntaje de sus elementos en
      *       orden descendente (mayor a menor).</li>
-     *   <li>Se eliminan configuraciones duplicadas utilizando el metodo {@link Stream#distinct()}.</li>
+     *   <li>Se eliminan configuraciones duplicadas utilizando el metodo {@link Stream#distinct()}; como la igualdad
+     *       de {@link ScoredEnigmaKey} ignora el puntaje, se conserva la de mayor puntaje de cada configuracion.</li>
      *   <li>Los primeros 'requiredKeys' elementos son seleccionados y convertidos en un arreglo.</li>
      * </ul>
      */
@@ -1,6 +1,11 @@
 package com.evolvlabs.enigmaDecriptor;
 
+import com.evolvlabs.enigmabackend.PlugBoardImplementation;
+import com.evolvlabs.enigmabackend.ReflectorImplementation;
+import com.evolvlabs.enigmabackend.RotorImplementation;
+
 import java.util.Arrays;
+import java.util.Objects;
 
 public class EnigmaKey {
     public String[] rotors;
@@ -53,10 +58,155 @@ public class EnigmaKey {
      * En el caso de arreglos no nulos, se copian los valores para evitar mutaciones entre instancias.
      */
     public EnigmaKey(EnigmaKey key) {
-        this.rotors = key.rotors == null ? new String[] {"I", "II", "III"} : new String[] {key.rotors[0], key.rotors[1], key.rotors[2]};
-        this.indicators = key.indicators == null ? new int[] {0,0,0} : Arrays.copyOf(key.indicators, 3);
-        this.rings = key.rings == null ? new int[] {0,0,0} : Arrays.copyOf(key.rings,3);
+        this.rotors = key.rotors == null ? new String[] {"I", "II", "III"} : Arrays.copyOf(key.rotors, key.rotors.length);
+        this.indicators = key.indicators == null ? new int[] {0,0,0} : Arrays.copyOf(key.indicators, key.rotors == null ? 3 : key.rotors.length);
+        this.rings = key.rings == null ? new int[] {0,0,0} : Arrays.copyOf(key.rings, key.rotors == null ? 3 : key.rotors.length);
         this.plugboard = key.plugboard == null ? "" : key.plugboard;
         this.reflector = key.reflector == null ? "B" : key.reflector;
     }
+
+    /**
+     * Crea una clave a partir de su forma textual, usada por las herramientas de linea de comandos:
+     * "ROTORES:POSICIONES:ANILLOS:REFLECTOR:PLUGBOARD", por ejemplo "I,II,III:A,B,C:0,0,0:B:AB CD EF". Las listas se
+     * separan por comas y deben tener un valor por rotor; las posiciones y los anillos aceptan letras (A-Z) o numeros
+     * (0-25), y el plugboard es opcional.
+     *
+     * @param externalText Clave en forma textual
+     * @return Nueva instancia de EnigmaKey
+     * @throws IllegalArgumentException si el texto no tiene el formato esperado
+     */
+    public static EnigmaKey desdeTexto(String externalText) {
+        String[] partes = externalText.strip().split(":", -1);
+        if (partes.length == 5 && partes[3].equals("D")) {
+            //! El reflector UKW-D incluye su propio separador ("D:pares"), por lo que no lleva plugboard aparte
+            partes = new String[]{partes[0], partes[1], partes[2], partes[3] + ":" + partes[4]};
+        } else if (partes.length == 6 && partes[3].equals("D")) {
+            partes = new String[]{partes[0], partes[1], partes[2], partes[3] + ":" + partes[4], partes[5]};
+        }
+        if (partes.length < 4 || partes.length > 5) {
+            throw new IllegalArgumentException(
+                    "The key must have the form ROTORS:POSITIONS:RINGS:REFLECTOR[:PLUGBOARD]: " + externalText);
+        }
+        String[] rotores = partes[0].split(",");
+        for (int i = 0; i < rotores.length; i++) {
+            rotores[i] = rotores[i].strip();
+        }
+        return new EnigmaKey(rotores, valoresPorRotor(partes[1], rotores.length), valoresPorRotor(partes[2],
+                rotores.length), partes.length == 5 ? partes[4].strip() : "", partes[3].strip());
+    }
+
+    private static int[] valoresPorRotor(String externalList, int rotores) {
+        String[] valores = externalList.split(",");
+        if (valores.length != rotores) {
+            throw new IllegalArgumentException("Expected " + rotores + " comma separated values: " + externalList);
+        }
+        int[] resultado = new int[rotores];
+        for (int i = 0; i < rotores; i++) {
+            String valor = valores[i].strip();
+            if (valor.length() == 1 && Character.isLetter(valor.charAt(0))) {
+                resultado[i] = Character.toUpperCase(valor.charAt(0)) - 'A';
+            } else {
+                try {
+                    resultado[i] = Integer.parseInt(valor);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid rotor position or ring setting: " + valor, e);
+                }
+            }
+            if (resultado[i] < 0 || resultado[i] >= RotorImplementation.MAX_ALPHABET_SIZE) {
+                throw new IllegalArgumentException("Rotor positions and ring settings must be within A-Z: " + valor);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna la forma canonica de la clave, una copia en la que las claves que configuran la misma maquina son
+     * iguales campo por campo:<br>
+     * - rotors: nombres sin espacios al inicio ni al final<br>
+     * - indicators y rings: valores modulo 26 (entre 0 y 25)<br>
+     * - plugboard: pares en orden alfabetico, cada uno con su letra menor primero ("DC BA" es "AB CD")<br>
+     * - reflector: nombre sin espacios; los pares de un UKW-D ("D:...") se ordenan igual que el plugboard<br>
+     * Los valores nulos se reemplazan por los predeterminados del constructor de copia.
+     *
+     * @return Nueva instancia de EnigmaKey en forma canonica
+     */
+    public EnigmaKey canonica() {
+        EnigmaKey canonica = new EnigmaKey(this);
+        for (int i = 0; i < canonica.rotors.length; i++) {
+            canonica.rotors[i] = canonica.rotors[i] == null ? null : canonica.rotors[i].strip();
+        }
+        for (int i = 0; i < canonica.indicators.length; i++) {
+            canonica.indicators[i] = Math.floorMod(canonica.indicators[i], RotorImplementation.MAX_ALPHABET_SIZE);
+        }
+        for (int i = 0; i < canonica.rings.length; i++) {
+            canonica.rings[i] = Math.floorMod(canonica.rings[i], RotorImplementation.MAX_ALPHABET_SIZE);
+        }
+        canonica.plugboard = PlugBoardImplementation.canonizar(canonica.plugboard);
+        canonica.reflector = canonica.reflector.strip();
+        if (canonica.reflector.startsWith(ReflectorImplementation.PREFIJO_UKW_D)) {
+            canonica.reflector = ReflectorImplementation.PREFIJO_UKW_D + PlugBoardImplementation.canonizar(
+                    canonica.reflector.substring(ReflectorImplementation.PREFIJO_UKW_D.length()));
+        }
+        return canonica;
+    }
+
+    /**
+     * Dos claves son iguales si sus formas canonicas ({@link #canonica()}) son iguales, es decir, si configuran la
+     * misma maquina en las mismas posiciones iniciales. Como los campos son publicos y mutables, una clave no se debe
+     * modificar mientras sea llave de un mapa.
+     *
+     * @param otro Objeto a comparar
+     * @return Verdadero si ambas claves son equivalentes
+     */
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof EnigmaKey otra)) {
+            return false;
+        }
+        //! Las claves guardadas en una cache ya son canonicas, por lo que la comparacion directa suele bastar
+        if (mismosCampos(this, otra)) {
+            return true;
+        }
+        return mismosCampos(this.canonica(), otra.canonica());
+    }
+
+    /**
+     * Hash consistente con {@link #equals(Object)} que no construye la forma canonica: usa los rotores, posiciones,
+     * anillos y reflector normalizados igual que {@link #canonica()}, y omite el plugboard y los pares de un UKW-D,
+     * que solo se comparan en equals.
+     *
+     * @return Hash de la clave
+     */
+    @Override
+    public int hashCode() {
+        String[] rotores = this.rotors == null ? new String[] {"I", "II", "III"} : this.rotors;
+        int hash = 1;
+        for (String rotor : rotores) {
+            hash = 31 * hash + (rotor == null ? 0 : rotor.strip().hashCode());
+        }
+        for (int i = 0; i < rotores.length; i++) {
+            //! Igual que el constructor de copia, los valores faltantes cuentan como cero
+            hash = 31 * hash + valorCanonico(this.indicators, i);
+            hash = 31 * hash + valorCanonico(this.rings, i);
+        }
+        String reflectorUsado = this.reflector == null ? "B" : this.reflector.strip();
+        return 31 * hash + (reflectorUsado.startsWith(ReflectorImplementation.PREFIJO_UKW_D)
+                ? ReflectorImplementation.PREFIJO_UKW_D.hashCode() : reflectorUsado.hashCode());
+    }
+
+    private static int valorCanonico(int[] valores, int indice) {
+        if (valores == null || indice >= valores.length) {
+            return 0;
+        }
+        return Math.floorMod(valores[indice], RotorImplementation.MAX_ALPHABET_SIZE);
+    }
+
+    private static boolean mismosCampos(EnigmaKey primera, EnigmaKey segunda) {
+        return Arrays.equals(primera.rotors, segunda.rotors) && Arrays.equals(primera.indicators, segunda.indicators)
+                && Arrays.equals(primera.rings, segunda.rings) && Objects.equals(primera.reflector, segunda.reflector)
+                && Objects.equals(primera.plugboard, segunda.plugboard);
+    }
 }
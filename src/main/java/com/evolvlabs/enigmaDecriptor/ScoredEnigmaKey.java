@@ -1,5 +1,7 @@
 package com.evolvlabs.enigmaDecriptor;
 
+import java.util.stream.Stream;
+
 public class ScoredEnigmaKey extends EnigmaKey implements Comparable<ScoredEnigmaKey>{
 
     float score;
@@ -23,6 +25,16 @@ public class ScoredEnigmaKey extends EnigmaKey implements Comparable<ScoredEnigm
 
     public float getScore() { return this.score; }
 
+    /**
+     * Ordena las claves solo por su puntaje. Este orden no es consistente con {@link #equals(Object)}, heredado de
+     * {@link EnigmaKey}, que compara solo la configuracion e ignora el puntaje: dos claves distintas con el mismo
+     * puntaje se comparan como cero, y dos claves con la misma configuracion y puntajes distintos son iguales. Por
+     * ello no se deben usar en colecciones ordenadas como TreeSet; {@link Stream#distinct()} sobre claves ordenadas
+     * por puntaje conserva la de mayor puntaje de cada configuracion.
+     *
+     * @param o Clave con la que se compara
+     * @return Resultado de comparar ambos puntajes
+     */
     @Override
     public int compareTo(ScoredEnigmaKey o) {
         return Float.compare(this.score, o.score);
@@ -0,0 +1,338 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un motor de encriptado por lotes, pensado para encriptar muchos mensajes
+ * cortos, cada uno con su propia {@link EnigmaKey}. En lugar de construir una {@link EnigmaMachineImplementation} por
+ * mensaje (con sus rotores, reflector y plugboard), el lote guarda el estado de todas las claves en arreglos planos de
+ * primitivos (estructura de arreglos): cada clave es un carril (lane) y el valor de cada carril vive en la misma
+ * posicion de cada arreglo.
+ * <br><br>
+ * Las tablas por desplazamiento de los rotores no dependen de la posicion ni del anillo, por lo que se toman de
+ * {@link RotorCatalog}, donde se construyen una sola vez por rotor; el plugboard se decodifica con
+ * {@link PlugBoardImplementation#decodificarEn(CharSequence, int[], int)}, sin expresiones regulares ni colecciones. El
+ * resultado de cada carril es identico al de una maquina construida con la misma clave.
+ */
+public final class BatchEnigmaEngine {
+
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+    private static final int TAMANO_DE_TABLA = N * N;
+
+    /**
+     * Reflectores de referencia por nombre
+     */
+    private static final ConcurrentHashMap<String, ReflectorImplementation> REFLECTORES = new ConcurrentHashMap<>();
+
+    /**
+     * Numero de carriles (claves) del lote
+     */
+    final int e_carriles;
+
+    //! Tablas de los rotores usados en el lote, la tabla k inicia en k * 676
+    final int[] e_tablasFrente;
+    final int[] e_tablasRegreso;
+
+    //! Inicio de la tabla de cada rotor por carril
+    final int[] e_tablaIzquierda;
+    final int[] e_tablaMedia;
+    final int[] e_tablaDerecha;
+
+    //! Posiciones actuales de los rotores por carril
+    final int[] e_posicionIzquierda;
+    final int[] e_posicionMedia;
+    final int[] e_posicionDerecha;
+
+    //! Anillos de los rotores por carril
+    final int[] e_anilloIzquierdo;
+    final int[] e_anilloMedio;
+    final int[] e_anilloDerecho;
+
+    //! Muescas del rotor medio y derecho por carril, como mascara de 26 bits
+    final int[] e_muescasMedio;
+    final int[] e_muescasDerecho;
+
+    //! Reflector y plugboard de cada carril, el del carril k inicia en k * 26
+    final byte[] e_reflectores;
+    final int[] e_plugBoards;
+
+    //! Posiciones iniciales (indicadores) de cada carril, para reiniciar el lote
+    private final int[] e_indicadores;
+
+    /**
+     * Constructor del lote a partir de una clave por carril.
+     * @param externalKeys: Claves de los mensajes, una por carril
+     */
+    public BatchEnigmaEngine(EnigmaKey... externalKeys) {
+        int carriles = externalKeys.length;
+        this.e_carriles = carriles;
+        this.e_tablaIzquierda = new int[carriles];
+        this.e_tablaMedia = new int[carriles];
+        this.e_tablaDerecha = new int[carriles];
+        this.e_posicionIzquierda = new int[carriles];
+        this.e_posicionMedia = new int[carriles];
+        this.e_posicionDerecha = new int[carriles];
+        this.e_anilloIzquierdo = new int[carriles];
+        this.e_anilloMedio = new int[carriles];
+        this.e_anilloDerecho = new int[carriles];
+        this.e_muescasMedio = new int[carriles];
+        this.e_muescasDerecho = new int[carriles];
+        this.e_reflectores = new byte[carriles * N];
+        this.e_plugBoards = new int[carriles * N];
+        this.e_indicadores = new int[carriles * 3];
+
+        //! Cada rotor distinto del lote ocupa una sola tabla, sin importar cuantos carriles lo usen
+        Map<String, Integer> tablaDeRotor = new HashMap<>();
+        for (int carril = 0; carril < carriles; carril++) {
+            EnigmaKey clave = externalKeys[carril];
+            //! En la M4 el primer rotor es la rueda griega, que se combina con el reflector
+            int primero = EnigmaMachineImplementation.primerRotorMovil(clave);
+            if (clave.indicators.length < clave.rotors.length || clave.rings.length < clave.rotors.length) {
+                throw new IllegalArgumentException("Every key must define one indicator and one ring per rotor");
+            }
+            for (int i = primero; i < clave.rotors.length; i++) {
+                if (!tablaDeRotor.containsKey(clave.rotors[i])) {
+                    tablaDeRotor.put(clave.rotors[i], tablaDeRotor.size() * TAMANO_DE_TABLA);
+                }
+            }
+            this.e_tablaIzquierda[carril] = tablaDeRotor.get(clave.rotors[primero]);
+            this.e_tablaMedia[carril] = tablaDeRotor.get(clave.rotors[primero + 1]);
+            this.e_tablaDerecha[carril] = tablaDeRotor.get(clave.rotors[primero + 2]);
+            this.e_anilloIzquierdo[carril] = Math.floorMod(clave.rings[primero], N);
+            this.e_anilloMedio[carril] = Math.floorMod(clave.rings[primero + 1], N);
+            this.e_anilloDerecho[carril] = Math.floorMod(clave.rings[primero + 2], N);
+            this.e_muescasMedio[carril] = RotorCatalog.obtener(clave.rotors[primero + 1]).mascaraDeMuescas();
+            this.e_muescasDerecho[carril] = RotorCatalog.obtener(clave.rotors[primero + 2]).mascaraDeMuescas();
+            //! Los indicadores se reducen modulo 26, igual que en EnigmaKey.canonica()
+            for (int i = 0; i < 3; i++) {
+                this.e_indicadores[carril * 3 + i] = Math.floorMod(clave.indicators[primero + i], N);
+            }
+
+            //! Los UKW-D no se guardan en la cache, cada clave puede traer un cableado distinto
+            ReflectorImplementation reflector = clave.reflector.startsWith(ReflectorImplementation.PREFIJO_UKW_D)
+                    ? ReflectorImplementation.createReflector(clave.reflector)
+                    : REFLECTORES.computeIfAbsent(clave.reflector, ReflectorImplementation::createReflector);
+            if (primero == 1) {
+                reflector = ReflectorImplementation.combinarConRuedaGriega(reflector, clave.rotors[0],
+                        clave.indicators[0], clave.rings[0]);
+            }
+            for (int letra = 0; letra < N; letra++) {
+                this.e_reflectores[carril * N + letra] = (byte) reflector.getForwardLinkBasedOnCharacter(letra);
+            }
+            PlugBoardImplementation.decodificarEn(clave.plugboard, this.e_plugBoards, carril * N);
+        }
+
+        this.e_tablasFrente = new int[tablaDeRotor.size() * TAMANO_DE_TABLA];
+        this.e_tablasRegreso = new int[tablaDeRotor.size() * TAMANO_DE_TABLA];
+        tablaDeRotor.forEach((nombre, inicio) -> {
+            RotorCatalog.Definicion rotor = RotorCatalog.obtener(nombre);
+            System.arraycopy(rotor.tablaFrenteCompartida(), 0, this.e_tablasFrente, inicio, TAMANO_DE_TABLA);
+            System.arraycopy(rotor.tablaRegresoCompartida(), 0, this.e_tablasRegreso, inicio, TAMANO_DE_TABLA);
+        });
+        this.reiniciar();
+    }
+
+    /**
+     * Regresa todos los carriles a las posiciones iniciales de sus claves.
+     */
+    public void reiniciar() {
+        for (int carril = 0; carril < this.e_carriles; carril++) {
+            this.e_posicionIzquierda[carril] = this.e_indicadores[carril * 3];
+            this.e_posicionMedia[carril] = this.e_indicadores[carril * 3 + 1];
+            this.e_posicionDerecha[carril] = this.e_indicadores[carril * 3 + 2];
+        }
+    }
+
+    /**
+     * Retorna el numero de carriles (claves) del lote.
+     * @return Numero de carriles
+     */
+    public int obtenerNumeroDeCarriles() {
+        return this.e_carriles;
+    }
+
+    /**
+     * Encripta un rango de caracteres con la clave de un carril, continuando desde la posicion actual de sus rotores.
+     * Las letras mayusculas ('A'-'Z') se encriptan y rotan la maquina, los espacios en blanco se copian sin modificar
+     * y cualquier otro caracter produce una IllegalStateException.
+     *
+     * @param carril: Carril (indice de la clave) a usar
+     * @param src: Arreglo de origen
+     * @param srcOff: Inicio del rango dentro del origen
+     * @param dst: Arreglo de destino (puede ser el mismo origen)
+     * @param dstOff: Inicio del rango dentro del destino
+     * @param len: Numero de caracteres a procesar
+     * @return Numero de letras encriptadas
+     */
+    public int encrypt(int carril, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        final int[] frente = this.e_tablasFrente;
+        final int[] regreso = this.e_tablasRegreso;
+        final byte[] reflectores = this.e_reflectores;
+        final int[] plugBoards = this.e_plugBoards;
+        final int tablaIzquierda = this.e_tablaIzquierda[carril];
+        final int tablaMedia = this.e_tablaMedia[carril];
+        final int tablaDerecha = this.e_tablaDerecha[carril];
+        final int muescasMedio = this.e_muescasMedio[carril];
+        final int muescasDerecho = this.e_muescasDerecho[carril];
+        final int inicioDeCarril = carril * N;
+
+        //! El estado del carril se mantiene en variables locales y se guarda al final
+        int izquierda = this.e_posicionIzquierda[carril];
+        int media = this.e_posicionMedia[carril];
+        int derecha = this.e_posicionDerecha[carril];
+        int filaIzquierda = Math.floorMod(izquierda - this.e_anilloIzquierdo[carril], N) * N;
+        int filaMedia = Math.floorMod(media - this.e_anilloMedio[carril], N) * N;
+        int filaDerecha = Math.floorMod(derecha - this.e_anilloDerecho[carril], N) * N;
+        int letras = 0;
+
+        for (int i = 0; i < len; i++) {
+            char caracter = src[srcOff + i];
+            int letra = caracter - 'A';
+            if (letra < 0 || letra >= N) {
+                if (!Character.isWhitespace(caracter)) {
+                    throw new IllegalStateException("The character '" + caracter + "' is not an uppercase letter");
+                }
+                dst[dstOff + i] = caracter;
+                continue;
+            }
+
+            //! Paso doble, igual que EnigmaMachineImplementation#rotacionRequeridaPorRotoresInternos
+            if ((muescasMedio >>> media & 1) != 0) {
+                if (++media == N) media = 0;
+                if ((filaMedia += N) == TAMANO_DE_TABLA) filaMedia = 0;
+                if (++izquierda == N) izquierda = 0;
+                if ((filaIzquierda += N) == TAMANO_DE_TABLA) filaIzquierda = 0;
+            } else if ((muescasDerecho >>> derecha & 1) != 0) {
+                if (++media == N) media = 0;
+                if ((filaMedia += N) == TAMANO_DE_TABLA) filaMedia = 0;
+            }
+            if (++derecha == N) derecha = 0;
+            if ((filaDerecha += N) == TAMANO_DE_TABLA) filaDerecha = 0;
+
+            int valor = plugBoards[inicioDeCarril + letra];
+            valor = frente[tablaDerecha + filaDerecha + valor];
+            valor = frente[tablaMedia + filaMedia + valor];
+            valor = frente[tablaIzquierda + filaIzquierda + valor];
+            valor = reflectores[inicioDeCarril + valor];
+            valor = regreso[tablaIzquierda + filaIzquierda + valor];
+            valor = regreso[tablaMedia + filaMedia + valor];
+            valor = regreso[tablaDerecha + filaDerecha + valor];
+            dst[dstOff + i] = (char) (plugBoards[inicioDeCarril + valor] + 'A');
+            letras++;
+        }
+
+        this.e_posicionIzquierda[carril] = izquierda;
+        this.e_posicionMedia[carril] = media;
+        this.e_posicionDerecha[carril] = derecha;
+        return letras;
+    }
+
+    /**
+     * Encripta un mensaje por carril, escribiendo el resultado en el arreglo de destino del mismo carril. Los mensajes
+     * pueden tener longitudes distintas; cada destino debe tener al menos la longitud de su mensaje. Usa
+     * {@link #encryptEscalar(char[][], char[][])}: la version vectorial ({@link #encryptVectorial(char[][], char[][])})
+     * fue mas lenta en todas las mediciones, por lo que nunca se selecciona automaticamente.
+     * @param mensajes: Mensajes de origen, uno por carril
+     * @param destinos: Arreglos de destino, uno por carril (pueden ser los mismos mensajes)
+     * @return Numero total de letras encriptadas
+     */
+    public long encrypt(char[][] mensajes, char[][] destinos) {
+        return this.encryptEscalar(mensajes, destinos);
+    }
+
+    /**
+     * Version escalar de {@link #encrypt(char[][], char[][])}: encripta cada carril por separado, con el estado del
+     * carril en variables locales.
+     * Si algun mensaje tiene un caracter distinto a letras mayusculas y espacios en blanco se lanza una
+     * IllegalStateException antes de encriptar cualquier carril.
+     * @param mensajes: Mensajes de origen, uno por carril
+     * @param destinos: Arreglos de destino, uno por carril (pueden ser los mismos mensajes)
+     * @return Numero total de letras encriptadas
+     */
+    public long encryptEscalar(char[][] mensajes, char[][] destinos) {
+        this.validarMensajes(mensajes, destinos);
+        long letras = 0;
+        for (int carril = 0; carril < this.e_carriles; carril++) {
+            letras += this.encrypt(carril, mensajes[carril], 0, destinos[carril], 0, mensajes[carril].length);
+        }
+        return letras;
+    }
+
+    /**
+     * Version vectorial de {@link #encrypt(char[][], char[][])}: los carriles se evaluan en paralelo con la Vector API
+     * (ver {@link VectorBatchEncryptor}). Cada paso del recorrido es una lectura indexada de las tablas del lote que
+     * la plataforma resuelve carril por carril, por lo que con AVX2 resulto entre 3 y 6 veces mas lenta que la
+     * version escalar (8 y 64 carriles de 100,000 letras); solo se usa si se llama explicitamente.
+     * @param mensajes: Mensajes de origen, uno por carril
+     * @param destinos: Arreglos de destino, uno por carril (pueden ser los mismos mensajes)
+     * @return Numero total de letras encriptadas
+     * @throws IllegalStateException si el modulo jdk.incubator.vector no esta habilitado, o si algun mensaje tiene un
+     * caracter invalido (igual que {@link #encryptEscalar(char[][], char[][])}, antes de encriptar cualquier carril)
+     */
+    public long encryptVectorial(char[][] mensajes, char[][] destinos) {
+        if (!VectorSupport.DISPONIBLE) {
+            throw new IllegalStateException("The jdk.incubator.vector module is not available");
+        }
+        this.validarMensajes(mensajes, destinos);
+        return VectorBatchEncryptor.encrypt(this, mensajes, destinos);
+    }
+
+    private void validarMensajes(char[][] mensajes, char[][] destinos) {
+        if (mensajes.length != this.e_carriles || destinos.length != this.e_carriles) {
+            throw new IllegalArgumentException("Expected one message and one destination per key");
+        }
+        for (int carril = 0; carril < this.e_carriles; carril++) {
+            if (destinos[carril].length < mensajes[carril].length) {
+                throw new IllegalArgumentException("The destination of lane " + carril + " is too short");
+            }
+        }
+        //! Los caracteres de todos los carriles se validan antes de escribir, por lo que un caracter invalido deja los
+        //! destinos y las posiciones sin modificar en las versiones escalar y vectorial
+        for (int carril = 0; carril < this.e_carriles; carril++) {
+            char[] mensaje = mensajes[carril];
+            int invalido = EnigmaMachineImplementation.primerCaracterInvalido(mensaje, 0, mensaje.length);
+            if (invalido >= 0) {
+                throw new IllegalStateException("The character '" + mensaje[invalido] + "' is not an uppercase letter");
+            }
+        }
+    }
+
+    /**
+     * Indica si la Vector API esta disponible en tiempo de ejecucion, es decir, si el modulo jdk.incubator.vector
+     * fue agregado a la capa de arranque.
+     * @return Verdadero si {@link #encryptVectorial(char[][], char[][])} se puede usar
+     */
+    public static boolean vectorApiDisponible() {
+        return VectorSupport.DISPONIBLE;
+    }
+
+    /**
+     * Encripta un mensaje por carril en nuevos arreglos.
+     * @param mensajes: Mensajes de origen, uno por carril
+     * @return Mensajes encriptados, uno por carril
+     */
+    public char[][] encrypt(char[][] mensajes) {
+        char[][] destinos = new char[mensajes.length][];
+        for (int carril = 0; carril < mensajes.length; carril++) {
+            destinos[carril] = new char[mensajes[carril].length];
+        }
+        this.encrypt(mensajes, destinos);
+        return destinos;
+    }
+
+    /**
+     * Encripta un lote de mensajes, cada uno desde el inicio de su propia clave.
+     * @param externalKeys: Claves de los mensajes
+     * @param mensajes: Mensajes de origen, en el mismo orden que las claves
+     * @return Mensajes encriptados
+     */
+    public static char[][] encryptAll(EnigmaKey[] externalKeys, char[][] mensajes) {
+        return new BatchEnigmaEngine(externalKeys).encrypt(mensajes);
+    }
+}
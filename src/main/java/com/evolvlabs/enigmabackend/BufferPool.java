@@ -0,0 +1,57 @@
+package com.evolvlabs.enigmabackend;
+
+import java.nio.Buffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.IntFunction;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un pool acotado de buffers de capacidad fija, usado por
+ * {@link EnigmaProcessor} para no reservar un buffer por cada bloque del flujo. Los buffers se devuelven al pool
+ * cuando el consumidor termina de usarlos; si el pool esta vacio se crea uno nuevo y si esta lleno el buffer devuelto
+ * se descarta, por lo que la memoria retenida nunca supera el numero maximo de buffers.
+ */
+final class BufferPool<T extends Buffer> {
+
+    private final ArrayBlockingQueue<T> e_libres;
+    private final IntFunction<T> e_constructor;
+    private final int e_capacidadDeBuffer;
+
+    BufferPool(int maximoDeBuffers, int capacidadDeBuffer, IntFunction<T> constructor) {
+        if (maximoDeBuffers <= 0 || capacidadDeBuffer <= 0) {
+            throw new IllegalArgumentException("The pool size and the buffer capacity must be positive");
+        }
+        this.e_libres = new ArrayBlockingQueue<>(maximoDeBuffers);
+        this.e_constructor = constructor;
+        this.e_capacidadDeBuffer = capacidadDeBuffer;
+    }
+
+    /**
+     * Retorna un buffer vacio con al menos la capacidad pedida; los bloques mas grandes que la capacidad del pool
+     * reciben un buffer propio que no se reutiliza.
+     */
+    T obtener(int capacidadMinima) {
+        if (capacidadMinima > this.e_capacidadDeBuffer) {
+            return this.e_constructor.apply(capacidadMinima);
+        }
+        T buffer = this.e_libres.poll();
+        if (buffer == null) {
+            return this.e_constructor.apply(this.e_capacidadDeBuffer);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Devuelve un buffer al pool si tiene la capacidad del pool y hay espacio.
+     * @return Verdadero si el buffer se guardo para reutilizarse
+     */
+    boolean liberar(T buffer) {
+        return buffer.capacity() == this.e_capacidadDeBuffer && !buffer.isReadOnly() && this.e_libres.offer(buffer);
+    }
+
+    int disponibles() {
+        return this.e_libres.size();
+    }
+}
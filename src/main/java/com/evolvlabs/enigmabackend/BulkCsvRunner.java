@@ -0,0 +1,340 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un ejecutor masivo para archivos CSV con la forma de
+ * basicConfigurationTests.csv (columnas Plaintext, Ciphertext, Rotor Configurations y Ring Configurations). El CSV se
+ * lee como flujo con commons-csv en lotes de filas; cada lote se reparte entre un pool fijo de hilos mientras se lee el
+ * siguiente, y los resultados se escriben en el orden de entrada, por lo que un archivo de millones de filas solo
+ * mantiene dos lotes en memoria.
+ * <br><br>
+ * Las columnas del CSV solo definen las posiciones y los ring settings de cada fila; los rotores, el reflector y el
+ * plugboard vienen de una clave base. Cada hilo tiene su propia {@link EnigmaMachineImplementation} de esa clave y solo
+ * reubica sus rotores en cada fila. En modo {@link Mode#VERIFY} se encripta el plaintext y se compara con el
+ * ciphertext de la fila; en modo {@link Mode#ENCRYPT} se reemplaza el ciphertext por el de la clave base (por ejemplo
+ * para cambiar la clave de registros archivados). La salida conserva las columnas de entrada y agrega la columna
+ * {@value #COLUMNA_RESULTADO}.
+ */
+public final class BulkCsvRunner {
+
+    public static final String COLUMNA_PLAINTEXT = "Plaintext";
+    public static final String COLUMNA_CIPHERTEXT = "Ciphertext";
+    public static final String COLUMNA_POSICIONES = "Rotor Configurations";
+    public static final String COLUMNA_ANILLOS = "Ring Configurations";
+    public static final String COLUMNA_RESULTADO = "Result";
+
+    public static final String RESULTADO_CORRECTO = "OK";
+    public static final String RESULTADO_DISCREPANCIA = "MISMATCH";
+    public static final String RESULTADO_ERROR = "ERROR";
+
+    /**
+     * Numero de filas por lote por defecto
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1 << 16;
+
+    /**
+     * Operacion que se aplica a cada fila.
+     */
+    public enum Mode {
+        /**
+         * Reemplaza el ciphertext de cada fila por el encriptado del plaintext
+         */
+        ENCRYPT,
+        /**
+         * Compara el encriptado del plaintext con el ciphertext de cada fila
+         */
+        VERIFY
+    }
+
+    /**
+     * Resumen de una ejecucion.
+     * @param filas: Filas procesadas
+     * @param correctas: Filas con resultado {@value #RESULTADO_CORRECTO}
+     * @param discrepancias: Filas con resultado {@value #RESULTADO_DISCREPANCIA}
+     * @param errores: Filas con resultado {@value #RESULTADO_ERROR}
+     * @param caracteres: Caracteres de plaintext encriptados
+     * @param nanosegundos: Tiempo total de la ejecucion
+     */
+    public record Resumen(long filas, long correctas, long discrepancias, long errores, long caracteres,
+                          long nanosegundos) {
+
+        /**
+         * Filas procesadas por segundo.
+         * @return Filas por segundo, o cero si el tiempo medido es cero
+         */
+        public double filasPorSegundo() {
+            return this.nanosegundos == 0 ? 0.0 : this.filas * 1e9 / this.nanosegundos;
+        }
+
+        /**
+         * Caracteres encriptados por segundo.
+         * @return Caracteres por segundo, o cero si el tiempo medido es cero
+         */
+        public double caracteresPorSegundo() {
+            return this.nanosegundos == 0 ? 0.0 : this.caracteres * 1e9 / this.nanosegundos;
+        }
+    }
+
+    /**
+     * Estado propio de cada hilo: su maquina y el buffer que reutiliza entre filas
+     */
+    private static final class Trabajador {
+        private final EnigmaMachineImplementation e_maquina;
+        private final RotorImplementation[] e_rotores;
+        private char[] e_buffer = new char[256];
+
+        private Trabajador(EnigmaKey clave) {
+            this.e_maquina = new EnigmaMachineImplementation(clave);
+            this.e_rotores = new RotorImplementation[]{this.e_maquina.getE_rotorIzquierdo(),
+                    this.e_maquina.getE_rotorMedio(), this.e_maquina.getE_rotorDerecho()};
+        }
+    }
+
+    /**
+     * Resultado de una fila: los valores de salida (con la columna de resultado al final) y su numero de caracteres
+     */
+    private record FilaProcesada(String[] valores, int caracteres) {
+    }
+
+    private final EnigmaKey e_claveBase;
+    private final Mode e_modo;
+    private final int e_hilos;
+    private final int e_tamanoDeLote;
+    private final ThreadLocal<Trabajador> e_trabajadores;
+
+    /**
+     * Constructor del ejecutor.
+     * @param claveBase: Clave con los rotores, el reflector y el plugboard (sus posiciones y anillos se reemplazan por
+     *                   los de cada fila)
+     * @param modo: Operacion que se aplica a cada fila
+     * @param hilos: Numero de hilos que procesan cada lote
+     * @param tamanoDeLote: Numero de filas por lote
+     * @throws IllegalArgumentException si el numero de hilos o el tamano de lote no son positivos
+     */
+    public BulkCsvRunner(EnigmaKey claveBase, Mode modo, int hilos, int tamanoDeLote) {
+        if (hilos <= 0 || tamanoDeLote <= 0) {
+            throw new IllegalArgumentException("The number of threads and the batch size must be positive");
+        }
+        this.e_claveBase = new EnigmaKey(claveBase);
+        this.e_modo = modo;
+        this.e_hilos = hilos;
+        this.e_tamanoDeLote = tamanoDeLote;
+        this.e_trabajadores = ThreadLocal.withInitial(() -> new Trabajador(this.e_claveBase));
+    }
+
+    /**
+     * Constructor con un hilo por procesador y el tamano de lote por defecto.
+     * @param claveBase: Clave con los rotores, el reflector y el plugboard
+     * @param modo: Operacion que se aplica a cada fila
+     */
+    public BulkCsvRunner(EnigmaKey claveBase, Mode modo) {
+        this(claveBase, modo, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Ejecuta el modo sobre un CSV y escribe el CSV de resultados. Los flujos no se cierran, pero la salida se vacia
+     * al terminar.
+     * @param entrada: CSV con encabezado y al menos las columnas Plaintext, Ciphertext, Rotor Configurations y Ring
+     *                 Configurations
+     * @param salida: Destino del CSV de resultados
+     * @return Resumen con los conteos y la velocidad de la ejecucion
+     * @throws IOException si ocurre un error de lectura o escritura
+     * @throws IllegalArgumentException si al CSV le falta alguna de las columnas requeridas
+     */
+    public Resumen ejecutar(Reader entrada, Appendable salida) throws IOException {
+        long inicio = System.nanoTime();
+        long[] conteos = new long[5];
+        CSVFormat formatoDeEntrada = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true).build();
+        ExecutorService pool = Executors.newFixedThreadPool(this.e_hilos);
+        try (CSVParser lector = formatoDeEntrada.parse(entrada)) {
+            List<String> encabezado = new ArrayList<>(lector.getHeaderNames());
+            int[] columnas = new int[4];
+            String[] requeridas = {COLUMNA_PLAINTEXT, COLUMNA_CIPHERTEXT, COLUMNA_POSICIONES, COLUMNA_ANILLOS};
+            for (int i = 0; i < requeridas.length; i++) {
+                columnas[i] = encabezado.indexOf(requeridas[i]);
+                if (columnas[i] < 0) {
+                    throw new IllegalArgumentException("The CSV has no '" + requeridas[i] + "' column");
+                }
+            }
+            encabezado.add(COLUMNA_RESULTADO);
+            //! La salida se vacia pero no se cierra, igual que la entrada
+            CSVPrinter impresora = new CSVPrinter(salida, CSVFormat.DEFAULT.builder()
+                    .setHeader(encabezado.toArray(String[]::new)).build());
+
+            //! Mientras el pool procesa un lote, este hilo lee el siguiente
+            List<Future<List<FilaProcesada>>> pendiente = List.of();
+            List<String[]> lote = new ArrayList<>(this.e_tamanoDeLote);
+            for (CSVRecord registro : lector) {
+                lote.add(registro.values());
+                if (lote.size() == this.e_tamanoDeLote) {
+                    escribirLote(pendiente, impresora, conteos);
+                    pendiente = this.enviarLote(pool, lote, columnas);
+                    lote = new ArrayList<>(this.e_tamanoDeLote);
+                }
+            }
+            escribirLote(pendiente, impresora, conteos);
+            escribirLote(this.enviarLote(pool, lote, columnas), impresora, conteos);
+            impresora.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Resumen(conteos[0], conteos[1], conteos[2], conteos[3], conteos[4], System.nanoTime() - inicio);
+    }
+
+    /**
+     * Ejecuta el modo sobre un archivo CSV en UTF-8 y escribe el CSV de resultados en otro archivo.
+     * @param entrada: Ruta del CSV de entrada
+     * @param salida: Ruta del CSV de resultados, se reemplaza si existe
+     * @return Resumen con los conteos y la velocidad de la ejecucion
+     * @throws IOException si ocurre un error de lectura o escritura
+     */
+    public Resumen ejecutar(Path entrada, Path salida) throws IOException {
+        try (Reader lector = Files.newBufferedReader(entrada, StandardCharsets.UTF_8);
+             Writer escritor = Files.newBufferedWriter(salida, StandardCharsets.UTF_8)) {
+            return this.ejecutar(lector, escritor);
+        }
+    }
+
+    /**
+     * Ejecuta el modo sobre un CSV desde la linea de comandos e imprime el resumen.
+     * @param args: encrypt|verify, la clave base con el formato de {@link EnigmaKey#desdeTexto(String)}, el CSV de
+     *              entrada, el CSV de resultados y opcionalmente el numero de hilos
+     * @throws IOException si ocurre un error de lectura o escritura
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: BulkCsvRunner encrypt|verify <key> <input.csv> <output.csv> [threads]");
+            System.exit(2);
+        }
+        Mode modo = Mode.valueOf(args[0].toUpperCase(Locale.ROOT));
+        int hilos = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Resumen resumen = new BulkCsvRunner(EnigmaKey.desdeTexto(args[1]), modo, hilos, DEFAULT_BATCH_SIZE)
+                .ejecutar(Path.of(args[2]), Path.of(args[3]));
+        System.out.printf(Locale.ROOT, "rows=%d ok=%d mismatch=%d error=%d seconds=%.3f rows_per_second=%.0f "
+                        + "chars_per_second=%.0f%n", resumen.filas(), resumen.correctas(), resumen.discrepancias(),
+                resumen.errores(), resumen.nanosegundos() / 1e9, resumen.filasPorSegundo(),
+                resumen.caracteresPorSegundo());
+    }
+
+    /**
+     * Divide un lote en un rango contiguo por hilo y lo envia al pool.
+     */
+    private List<Future<List<FilaProcesada>>> enviarLote(ExecutorService pool, List<String[]> lote, int[] columnas) {
+        List<Future<List<FilaProcesada>>> partes = new ArrayList<>(this.e_hilos);
+        int porParte = Math.max(1, (lote.size() + this.e_hilos - 1) / this.e_hilos);
+        for (int inicio = 0; inicio < lote.size(); inicio += porParte) {
+            List<String[]> parte = lote.subList(inicio, Math.min(lote.size(), inicio + porParte));
+            partes.add(pool.submit(() -> {
+                List<FilaProcesada> procesadas = new ArrayList<>(parte.size());
+                for (String[] valores : parte) {
+                    procesadas.add(this.procesarFila(valores, columnas));
+                }
+                return procesadas;
+            }));
+        }
+        return partes;
+    }
+
+    private static void escribirLote(List<Future<List<FilaProcesada>>> partes, CSVPrinter impresora, long[] conteos)
+            throws IOException {
+        try {
+            for (Future<List<FilaProcesada>> parte : partes) {
+                for (FilaProcesada fila : parte.get()) {
+                    impresora.printRecord((Object[]) fila.valores());
+                    String resultado = fila.valores()[fila.valores().length - 1];
+                    conteos[0]++;
+                    conteos[resultado.equals(RESULTADO_CORRECTO) ? 1
+                            : resultado.equals(RESULTADO_DISCREPANCIA) ? 2 : 3]++;
+                    conteos[4] += fila.caracteres();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing the CSV", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Encripta el plaintext de una fila con la maquina del hilo y arma su fila de salida.
+     */
+    private FilaProcesada procesarFila(String[] valores, int[] columnas) {
+        String[] salida = new String[valores.length + 1];
+        System.arraycopy(valores, 0, salida, 0, valores.length);
+        try {
+            String plaintext = valores[columnas[0]];
+            Trabajador trabajador = this.e_trabajadores.get();
+            int[] posiciones = valoresDeRotores(valores[columnas[2]], trabajador.e_rotores.length);
+            int[] anillos = valoresDeRotores(valores[columnas[3]], trabajador.e_rotores.length);
+            for (int i = 0; i < trabajador.e_rotores.length; i++) {
+                trabajador.e_rotores[i].setE_rotorPosition(posiciones[i]);
+                trabajador.e_rotores[i].setE_RingSetting(anillos[i]);
+            }
+            int longitud = plaintext.length();
+            if (trabajador.e_buffer.length < longitud) {
+                trabajador.e_buffer = new char[Math.max(longitud, trabajador.e_buffer.length * 2)];
+            }
+            char[] buffer = trabajador.e_buffer;
+            for (int i = 0; i < longitud; i++) {
+                buffer[i] = Character.toUpperCase(plaintext.charAt(i));
+            }
+            trabajador.e_maquina.encrypt(buffer, 0, buffer, 0, longitud);
+            String ciphertext = new String(buffer, 0, longitud);
+            if (this.e_modo == Mode.ENCRYPT) {
+                //! Se conserva el uso de minusculas del ciphertext que se reemplaza
+                String anterior = valores[columnas[1]];
+                salida[columnas[1]] = !anterior.isEmpty() && anterior.equals(anterior.toLowerCase(Locale.ROOT))
+                        ? ciphertext.toLowerCase(Locale.ROOT) : ciphertext;
+                salida[valores.length] = RESULTADO_CORRECTO;
+            } else {
+                salida[valores.length] = ciphertext.equalsIgnoreCase(valores[columnas[1]])
+                        ? RESULTADO_CORRECTO : RESULTADO_DISCREPANCIA;
+            }
+            return new FilaProcesada(salida, longitud);
+        } catch (RuntimeException e) {
+            salida[valores.length] = RESULTADO_ERROR + ": " + e.getMessage();
+            return new FilaProcesada(salida, 0);
+        }
+    }
+
+    /**
+     * Lee los valores separados por espacios de una columna de rotores, cada uno entre 0 y 25.
+     */
+    private static int[] valoresDeRotores(String texto, int cantidad) {
+        String[] partes = texto.strip().split(" +");
+        if (partes.length != cantidad) {
+            throw new IllegalArgumentException("Expected " + cantidad + " rotor values but found '" + texto + "'");
+        }
+        int[] valores = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = Integer.parseInt(partes[i]);
+            if (valores[i] < 0 || valores[i] >= RotorImplementation.MAX_ALPHABET_SIZE) {
+                throw new IllegalArgumentException("The rotor value " + valores[i] + " is out of range");
+            }
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,421 @@
+package com.evolvlabs.enigmabackend;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un motor enigma con un alfabeto de tamano configurable (hasta 256
+ * simbolos), pensado para transformar datos binarios con la misma arquitectura de tres rotores con paso doble,
+ * reflector y plugboard. El simbolo de cada byte es su valor sin signo; con un alfabeto de 256 simbolos se transforma
+ * cualquier byte, y con alfabetos menores los bytes fuera del alfabeto se copian sin modificar y no rotan la maquina.
+ * Como en la maquina original, la transformacion es su propia inversa: encriptar dos veces desde las mismas posiciones
+ * regresa los datos originales.
+ * <br><br>
+ * El camino de 26 letras no se puede ampliar sin perder velocidad, por lo que el motor se organiza alrededor de las
+ * corridas del rotor derecho. Entre dos muescas solo gira el rotor derecho, asi que el recorrido rotor medio ->
+ * rotor izquierdo -> reflector -> rotor izquierdo -> rotor medio es una sola permutacion (el nucleo) que se recalcula
+ * unicamente cuando el rotor medio gira (una vez por vuelta del derecho). El plugboard se incorpora en las tablas por
+ * desplazamiento del rotor derecho, por lo que cada byte de una corrida son tres lecturas de tablas de bytes, sin
+ * aritmetica modular ni condiciones de rotacion.
+ * <br><br>
+ * Las tablas son inmutables y se comparten con {@link #copiar()}; las posiciones y el nucleo son propios de cada
+ * instancia, por lo que una instancia no es thread-safe y cada hilo debe usar su propia copia.
+ */
+public final class ByteEnigmaEngine {
+
+    /**
+     * Tamano maximo del alfabeto (todos los valores de un byte)
+     */
+    public static final int MAX_ALPHABET_SIZE = 256;
+
+    /**
+     * Tamano de los bloques intermedios para buffers sin arreglo accesible (directos o mapeados)
+     */
+    private static final int TAMANO_DE_BLOQUE = 8192;
+
+    private final int e_tamanoDelAlfabeto;
+
+    //! Rotor derecho con el plugboard incorporado: frente = rotor(plugboard(c)), regreso = plugboard(inverso(c))
+    private final byte[] e_derechoFrente;
+    private final byte[] e_derechoRegreso;
+    //! Tablas por desplazamiento de los rotores medio e izquierdo, la fila del desplazamiento s inicia en s * tamano
+    private final int[] e_medioFrente;
+    private final int[] e_medioRegreso;
+    private final int[] e_izquierdoFrente;
+    private final int[] e_izquierdoRegreso;
+    private final int[] e_reflector;
+
+    private final int e_muescaMedio;
+    private final int e_muescaDerecho;
+    private final int e_anilloIzquierdo;
+    private final int e_anilloMedio;
+    private final int e_anilloDerecho;
+    private final int[] e_posicionesIniciales;
+
+    private int e_posicionIzquierda;
+    private int e_posicionMedia;
+    private int e_posicionDerecha;
+
+    /**
+     * Recorrido rotor izquierdo -> reflector -> rotor izquierdo, cambia solo cuando gira el rotor izquierdo
+     */
+    private final int[] e_izquierdoYReflector;
+    /**
+     * Recorrido rotor medio -> (izquierdo y reflector) -> rotor medio, cambia solo cuando gira el rotor medio
+     */
+    private final int[] e_nucleo;
+
+    /**
+     * Constructor del motor a partir de sus cableados. Todos los cableados deben tener el mismo tamano, que es el
+     * tamano del alfabeto.
+     * @param rotores: Cableados hacia el frente de los rotores izquierdo, medio y derecho (permutaciones)
+     * @param muescas: Muesca de cada rotor, de izquierda a derecha (la del izquierdo no se usa)
+     * @param reflector: Cableado del reflector (involucion sin puntos fijos)
+     * @param plugBoard: Cableado del plugboard (involucion, la identidad si no hay pares)
+     * @param posiciones: Posiciones iniciales de los rotores, de izquierda a derecha
+     * @param anillos: Ring settings de los rotores, de izquierda a derecha
+     * @throws IllegalArgumentException si algun cableado no es valido para el alfabeto
+     */
+    public ByteEnigmaEngine(int[][] rotores, int[] muescas, int[] reflector, int[] plugBoard, int[] posiciones,
+                            int[] anillos) {
+        int tamano = reflector.length;
+        if (tamano < 2 || tamano > MAX_ALPHABET_SIZE || tamano % 2 != 0) {
+            throw new IllegalArgumentException("The alphabet size must be an even number between 2 and 256");
+        }
+        if (rotores.length != 3 || muescas.length != 3 || posiciones.length != 3 || anillos.length != 3) {
+            throw new IllegalArgumentException("The byte engine needs three rotors, notches, positions and rings");
+        }
+        for (int[] rotor : rotores) {
+            validarPermutacion(rotor, tamano);
+        }
+        validarInvolucion(reflector, tamano, false);
+        validarInvolucion(plugBoard, tamano, true);
+        for (int i = 0; i < 3; i++) {
+            validarSimbolo(muescas[i], tamano);
+            validarSimbolo(posiciones[i], tamano);
+            validarSimbolo(anillos[i], tamano);
+        }
+
+        this.e_tamanoDelAlfabeto = tamano;
+        this.e_izquierdoFrente = tablaPorDesplazamiento(rotores[0]);
+        this.e_izquierdoRegreso = tablaPorDesplazamiento(inversa(rotores[0]));
+        this.e_medioFrente = tablaPorDesplazamiento(rotores[1]);
+        this.e_medioRegreso = tablaPorDesplazamiento(inversa(rotores[1]));
+        int[] derechoFrente = tablaPorDesplazamiento(rotores[2]);
+        int[] derechoRegreso = tablaPorDesplazamiento(inversa(rotores[2]));
+        this.e_derechoFrente = new byte[derechoFrente.length];
+        this.e_derechoRegreso = new byte[derechoRegreso.length];
+        for (int inicio = 0; inicio < derechoFrente.length; inicio += tamano) {
+            for (int simbolo = 0; simbolo < tamano; simbolo++) {
+                this.e_derechoFrente[inicio + simbolo] = (byte) derechoFrente[inicio + plugBoard[simbolo]];
+                this.e_derechoRegreso[inicio + simbolo] = (byte) plugBoard[derechoRegreso[inicio + simbolo]];
+            }
+        }
+        this.e_reflector = reflector.clone();
+        this.e_muescaMedio = muescas[1];
+        this.e_muescaDerecho = muescas[2];
+        this.e_anilloIzquierdo = anillos[0];
+        this.e_anilloMedio = anillos[1];
+        this.e_anilloDerecho = anillos[2];
+        this.e_posicionesIniciales = posiciones.clone();
+        this.e_izquierdoYReflector = new int[tamano];
+        this.e_nucleo = new int[tamano];
+        this.reiniciar();
+    }
+
+    /**
+     * Constructor de copia: comparte las tablas y copia las posiciones actuales.
+     */
+    private ByteEnigmaEngine(ByteEnigmaEngine otro) {
+        this.e_tamanoDelAlfabeto = otro.e_tamanoDelAlfabeto;
+        this.e_derechoFrente = otro.e_derechoFrente;
+        this.e_derechoRegreso = otro.e_derechoRegreso;
+        this.e_medioFrente = otro.e_medioFrente;
+        this.e_medioRegreso = otro.e_medioRegreso;
+        this.e_izquierdoFrente = otro.e_izquierdoFrente;
+        this.e_izquierdoRegreso = otro.e_izquierdoRegreso;
+        this.e_reflector = otro.e_reflector;
+        this.e_muescaMedio = otro.e_muescaMedio;
+        this.e_muescaDerecho = otro.e_muescaDerecho;
+        this.e_anilloIzquierdo = otro.e_anilloIzquierdo;
+        this.e_anilloMedio = otro.e_anilloMedio;
+        this.e_anilloDerecho = otro.e_anilloDerecho;
+        this.e_posicionesIniciales = otro.e_posicionesIniciales;
+        this.e_posicionIzquierda = otro.e_posicionIzquierda;
+        this.e_posicionMedia = otro.e_posicionMedia;
+        this.e_posicionDerecha = otro.e_posicionDerecha;
+        this.e_izquierdoYReflector = otro.e_izquierdoYReflector.clone();
+        this.e_nucleo = otro.e_nucleo.clone();
+    }
+
+    /**
+     * Genera un motor con cableados aleatorios reproducibles: la misma semilla y el mismo tamano producen siempre los
+     * mismos rotores, muescas, reflector y plugboard (con la mitad del alfabeto conectada en pares).
+     * @param tamanoDelAlfabeto: Numero de simbolos, par y entre 2 y 256
+     * @param semilla: Semilla de los cableados
+     * @param posiciones: Posiciones iniciales de los rotores, de izquierda a derecha
+     * @param anillos: Ring settings de los rotores, de izquierda a derecha
+     * @return Motor nuevo en las posiciones iniciales
+     */
+    public static ByteEnigmaEngine generar(int tamanoDelAlfabeto, long semilla, int[] posiciones, int[] anillos) {
+        if (tamanoDelAlfabeto < 2 || tamanoDelAlfabeto > MAX_ALPHABET_SIZE || tamanoDelAlfabeto % 2 != 0) {
+            throw new IllegalArgumentException("The alphabet size must be an even number between 2 and 256");
+        }
+        SplittableRandom aleatorio = new SplittableRandom(semilla);
+        int[][] rotores = new int[3][];
+        int[] muescas = new int[3];
+        for (int i = 0; i < 3; i++) {
+            rotores[i] = permutacionAleatoria(tamanoDelAlfabeto, aleatorio);
+            muescas[i] = aleatorio.nextInt(tamanoDelAlfabeto);
+        }
+        int[] reflector = new int[tamanoDelAlfabeto];
+        int[] orden = permutacionAleatoria(tamanoDelAlfabeto, aleatorio);
+        for (int i = 0; i < tamanoDelAlfabeto; i += 2) {
+            reflector[orden[i]] = orden[i + 1];
+            reflector[orden[i + 1]] = orden[i];
+        }
+        int[] plugBoard = new int[tamanoDelAlfabeto];
+        orden = permutacionAleatoria(tamanoDelAlfabeto, aleatorio);
+        for (int i = 0; i < tamanoDelAlfabeto; i++) {
+            plugBoard[i] = i;
+        }
+        for (int i = 0; i + 1 < tamanoDelAlfabeto / 2; i += 2) {
+            plugBoard[orden[i]] = orden[i + 1];
+            plugBoard[orden[i + 1]] = orden[i];
+        }
+        return new ByteEnigmaEngine(rotores, muescas, reflector, plugBoard, posiciones, anillos);
+    }
+
+    /**
+     * Crea una copia que comparte las tablas de este motor y parte de sus posiciones actuales, para usarla en otro
+     * hilo o para otro flujo de datos.
+     * @return Copia independiente del motor
+     */
+    public ByteEnigmaEngine copiar() {
+        return new ByteEnigmaEngine(this);
+    }
+
+    /**
+     * Regresa los rotores a sus posiciones iniciales.
+     */
+    public void reiniciar() {
+        this.e_posicionIzquierda = this.e_posicionesIniciales[0];
+        this.e_posicionMedia = this.e_posicionesIniciales[1];
+        this.e_posicionDerecha = this.e_posicionesIniciales[2];
+        this.recalcularIzquierdoYReflector();
+    }
+
+    public int getE_tamanoDelAlfabeto() {
+        return this.e_tamanoDelAlfabeto;
+    }
+
+    /**
+     * Retorna las posiciones actuales de los rotores, de izquierda a derecha.
+     * @return Arreglo nuevo con las tres posiciones
+     */
+    public int[] obtenerPosiciones() {
+        return new int[]{this.e_posicionIzquierda, this.e_posicionMedia, this.e_posicionDerecha};
+    }
+
+    /**
+     * Encripta los bytes restantes de src (entre position y limit) escribiendolos en dst. Al terminar, la position de
+     * ambos buffers avanza en el numero de bytes procesados; src y dst pueden ser el mismo buffer. Los buffers en heap
+     * se procesan directamente sobre su arreglo, y los directos o mapeados por bloques intermedios.
+     * @param src: Buffer de origen
+     * @param dst: Buffer de destino, con al menos src.remaining() bytes disponibles
+     * @return Numero de simbolos encriptados (bytes que rotaron la maquina)
+     */
+    public int encrypt(ByteBuffer src, ByteBuffer dst) {
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new BufferOverflowException();
+        }
+        int srcPos = src.position();
+        int dstPos = dst.position();
+        int procesados;
+        if (src.hasArray() && dst.hasArray()) {
+            procesados = this.encrypt(src.array(), src.arrayOffset() + srcPos, dst.array(),
+                    dst.arrayOffset() + dstPos, len);
+        } else {
+            procesados = 0;
+            byte[] bloque = new byte[Math.min(len, TAMANO_DE_BLOQUE)];
+            for (int i = 0; i < len; i += bloque.length) {
+                int cantidad = Math.min(bloque.length, len - i);
+                src.get(srcPos + i, bloque, 0, cantidad);
+                procesados += this.encrypt(bloque, 0, bloque, 0, cantidad);
+                dst.put(dstPos + i, bloque, 0, cantidad);
+            }
+        }
+        src.position(srcPos + len);
+        if (dst != src) {
+            dst.position(dstPos + len);
+        }
+        return procesados;
+    }
+
+    /**
+     * Encripta un rango de bytes avanzando los rotores.
+     * @param src: Arreglo de origen
+     * @param srcOff: Inicio del rango dentro del origen
+     * @param dst: Arreglo de destino (puede ser el mismo origen)
+     * @param dstOff: Inicio del rango dentro del destino
+     * @param len: Numero de bytes a procesar
+     * @return Numero de simbolos encriptados (bytes que rotaron la maquina)
+     */
+    public int encrypt(byte[] src, int srcOff, byte[] dst, int dstOff, int len) {
+        final int n = this.e_tamanoDelAlfabeto;
+        final byte[] frente = this.e_derechoFrente;
+        final byte[] regreso = this.e_derechoRegreso;
+        final int[] nucleo = this.e_nucleo;
+        int procesados = 0;
+        int i = 0;
+        while (i < len) {
+            int derecha = this.e_posicionDerecha;
+            int desplazamiento = Math.floorMod(derecha - this.e_anilloDerecho, n);
+            //! Pulsaciones hasta el siguiente giro del rotor medio, sin que la fila del derecho de la vuelta
+            int corrida = this.e_posicionMedia == this.e_muescaMedio ? 0
+                    : Math.min(Math.floorMod(this.e_muescaDerecho - derecha, n), n - 1 - desplazamiento);
+            if (corrida == 0) {
+                int simbolo = src[srcOff + i] & 0xFF;
+                if (simbolo < n) {
+                    this.rotar();
+                    int fila = Math.floorMod(this.e_posicionDerecha - this.e_anilloDerecho, n) * n;
+                    dst[dstOff + i] = regreso[fila + nucleo[frente[fila + simbolo] & 0xFF]];
+                    procesados++;
+                } else {
+                    dst[dstOff + i] = (byte) simbolo;
+                }
+                i++;
+                continue;
+            }
+
+            //! Dentro de la corrida solo gira el rotor derecho: cada simbolo son tres lecturas de tablas
+            int fila = desplazamiento * n;
+            int pulsaciones = 0;
+            if (n == MAX_ALPHABET_SIZE) {
+                //! Con 256 simbolos todos los bytes rotan la maquina, la corrida no necesita revisar cada byte
+                pulsaciones = Math.min(corrida, len - i);
+                for (int fin = i + pulsaciones; i < fin; i++) {
+                    fila += n;
+                    dst[dstOff + i] = regreso[fila + nucleo[frente[fila + (src[srcOff + i] & 0xFF)] & 0xFF]];
+                }
+            }
+            for (; pulsaciones < corrida && i < len; i++) {
+                int simbolo = src[srcOff + i] & 0xFF;
+                if (simbolo < n) {
+                    fila += n;
+                    dst[dstOff + i] = regreso[fila + nucleo[frente[fila + simbolo] & 0xFF]];
+                    pulsaciones++;
+                } else {
+                    dst[dstOff + i] = (byte) simbolo;
+                }
+            }
+            this.e_posicionDerecha = (derecha + pulsaciones) % n;
+            procesados += pulsaciones;
+        }
+        return procesados;
+    }
+
+    /**
+     * Paso doble completo, usado en las pulsaciones que giran el rotor medio o que dan la vuelta a la tabla del
+     * derecho.
+     */
+    private void rotar() {
+        final int n = this.e_tamanoDelAlfabeto;
+        if (this.e_posicionMedia == this.e_muescaMedio) {
+            this.e_posicionMedia = (this.e_posicionMedia + 1) % n;
+            this.e_posicionIzquierda = (this.e_posicionIzquierda + 1) % n;
+            this.recalcularIzquierdoYReflector();
+        } else if (this.e_posicionDerecha == this.e_muescaDerecho) {
+            this.e_posicionMedia = (this.e_posicionMedia + 1) % n;
+            this.recalcularNucleo();
+        }
+        this.e_posicionDerecha = (this.e_posicionDerecha + 1) % n;
+    }
+
+    private void recalcularIzquierdoYReflector() {
+        final int n = this.e_tamanoDelAlfabeto;
+        int fila = Math.floorMod(this.e_posicionIzquierda - this.e_anilloIzquierdo, n) * n;
+        for (int simbolo = 0; simbolo < n; simbolo++) {
+            this.e_izquierdoYReflector[simbolo] = this.e_izquierdoRegreso[fila
+                    + this.e_reflector[this.e_izquierdoFrente[fila + simbolo]]];
+        }
+        this.recalcularNucleo();
+    }
+
+    private void recalcularNucleo() {
+        final int n = this.e_tamanoDelAlfabeto;
+        int fila = Math.floorMod(this.e_posicionMedia - this.e_anilloMedio, n) * n;
+        for (int simbolo = 0; simbolo < n; simbolo++) {
+            this.e_nucleo[simbolo] = this.e_medioRegreso[fila
+                    + this.e_izquierdoYReflector[this.e_medioFrente[fila + simbolo]]];
+        }
+    }
+
+    private static int[] tablaPorDesplazamiento(int[] cableado) {
+        int n = cableado.length;
+        int[] tabla = new int[n * n];
+        for (int desplazamiento = 0; desplazamiento < n; desplazamiento++) {
+            for (int simbolo = 0; simbolo < n; simbolo++) {
+                tabla[desplazamiento * n + simbolo] =
+                        Math.floorMod(cableado[(simbolo + desplazamiento) % n] - desplazamiento, n);
+            }
+        }
+        return tabla;
+    }
+
+    private static int[] inversa(int[] permutacion) {
+        int[] inversa = new int[permutacion.length];
+        for (int i = 0; i < permutacion.length; i++) {
+            inversa[permutacion[i]] = i;
+        }
+        return inversa;
+    }
+
+    private static int[] permutacionAleatoria(int tamano, SplittableRandom aleatorio) {
+        int[] permutacion = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            permutacion[i] = i;
+        }
+        for (int i = tamano - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int temporal = permutacion[i];
+            permutacion[i] = permutacion[j];
+            permutacion[j] = temporal;
+        }
+        return permutacion;
+    }
+
+    private static void validarSimbolo(int simbolo, int tamano) {
+        if (simbolo < 0 || simbolo >= tamano) {
+            throw new IllegalArgumentException("The value " + simbolo + " is outside the alphabet of size " + tamano);
+        }
+    }
+
+    private static void validarPermutacion(int[] cableado, int tamano) {
+        if (cableado.length != tamano) {
+            throw new IllegalArgumentException("Every wiring must have " + tamano + " symbols");
+        }
+        boolean[] vistos = new boolean[tamano];
+        for (int salida : cableado) {
+            validarSimbolo(salida, tamano);
+            if (vistos[salida]) {
+                throw new IllegalArgumentException("The rotor wiring is not a permutation of the alphabet");
+            }
+            vistos[salida] = true;
+        }
+    }
+
+    private static void validarInvolucion(int[] cableado, int tamano, boolean permitePuntosFijos) {
+        validarPermutacion(cableado, tamano);
+        for (int simbolo = 0; simbolo < tamano; simbolo++) {
+            if (cableado[cableado[simbolo]] != simbolo || (!permitePuntosFijos && cableado[simbolo] == simbolo)) {
+                throw new IllegalArgumentException("The reflector and plugboard wirings must be involutions, and the "
+                        + "reflector must not map a symbol to itself");
+            }
+        }
+    }
+}
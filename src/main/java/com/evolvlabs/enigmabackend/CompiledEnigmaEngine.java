@@ -0,0 +1,88 @@
+package com.evolvlabs.enigmabackend;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el motor de {@link EnigmaEngine} basado en {@link CompiledEnigmaKey}: la
+ * secuencia de rotacion de la maquina se compila en su tabla de permutaciones y cada caracter es una sola lectura.
+ * Compilar recorre un periodo completo de la maquina, por lo que solo se selecciona para mensajes largos, y la clave
+ * compilada se guarda en la maquina: mientras su configuracion no cambie, las siguientes llamadas empiezan en la fila
+ * que corresponde a las posiciones actuales (ver {@link StepSchedule}) sin compilar ni reservar memoria. Los rangos con
+ * caracteres invalidos se delegan al motor de referencia, que lanza la excepcion con la maquina en la misma posicion
+ * que la maquina original.
+ */
+public class CompiledEnigmaEngine implements EnigmaEngine {
+
+    /**
+     * Nombre del motor en la propiedad enigma.engine
+     */
+    public static final String NOMBRE = "compiled";
+
+    /**
+     * Longitud minima del mensaje para seleccionar este motor automaticamente
+     */
+    static final int LONGITUD_MINIMA = 262_144;
+
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public int prioridad(int longitudDelMensaje) {
+        return longitudDelMensaje >= LONGITUD_MINIMA ? 30 : -1;
+    }
+
+    /**
+     * Clave compilada de una maquina junto con lo necesario para reutilizarla: la configuracion con la que se compilo
+     * (para confirmar que la maquina no cambio), su estructura de rotacion y el estado de los rotores al compilarla.
+     */
+    record ClaveDeMaquina(EnigmaMachineConfiguration configuracion, StepSchedule schedule, int estadoInicial,
+                          CompiledEnigmaKey clave) {
+
+        static ClaveDeMaquina compilar(EnigmaMachineImplementation machine) {
+            EnigmaMachineConfiguration configuracion = EnigmaMachineConfiguration.desdeMaquina(machine);
+            EnigmaMachineCursor cursor = EnigmaMachineCursor.desdeMaquina(machine);
+            return new ClaveDeMaquina(configuracion, configuracion.obtenerStepSchedule(), cursor.snapshot(),
+                    CompiledEnigmaKey.compile(configuracion, cursor));
+        }
+
+        /**
+         * Indice de la clave compilada desde el que se encripta con la maquina en un estado, o -1 si la maquina cambio
+         * de configuracion o el estado no aparece en la tabla.
+         */
+        long indiceParaEstado(EnigmaMachineImplementation machine, int estado) {
+            if (!this.configuracion.coincideCon(machine)) {
+                return -1;
+            }
+            return this.schedule.pasosHasta(this.estadoInicial, estado);
+        }
+    }
+
+    @Override
+    public int encrypt(EnigmaMachineImplementation machine, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        if (!RegistroDeMotores.soloLetrasYEspacios(src, srcOff, len)) {
+            return machine.encryptDeReferencia(src, srcOff, dst, dstOff, len);
+        }
+        int estado = RegistroDeMotores.estadoDeMaquina(machine);
+        ClaveDeMaquina compilada = machine.claveCompilada();
+        long indice = compilada == null ? -1 : compilada.indiceParaEstado(machine, estado);
+        if (indice < 0) {
+            //! Primera llamada, otra configuracion o un estado transitorio que no se recorrio al compilar
+            compilada = ClaveDeMaquina.compilar(machine);
+            machine.guardarClaveCompilada(compilada);
+            indice = 0;
+        }
+        int letras = (int) (this.encriptar(compilada.clave(), indice, src, srcOff, dst, dstOff, len) - indice);
+        RegistroDeMotores.actualizarMaquina(machine, compilada.schedule().avanzar(estado, letras));
+        return letras;
+    }
+
+    /**
+     * Encripta el rango desde un indice de la clave compilada.
+     * @return Indice de la clave luego de encriptar el rango
+     */
+    long encriptar(CompiledEnigmaKey clave, long indice, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        return clave.encryptEscalar(indice, src, srcOff, dst, dstOff, len);
+    }
+}
@@ -0,0 +1,292 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye una version compilada de una clave de la maquina enigma. Dada una
+ * {@link EnigmaKey}, se recorre una sola vez la secuencia de posiciones generada por
+ * {@link EnigmaMachineConfiguration#rotar(EnigmaMachineCursor)}, es decir, por el {@link StepSchedule} del mecanismo de
+ * rotacion de la configuracion, y para cada paso se guarda la permutacion completa plugboard -> rotores -> reflector
+ * -> rotores -> plugboard como una fila de 26 bytes.
+ * <br><br>
+ * Como la secuencia de posiciones es determinista y tiene un numero finito de estados (26^3), siempre termina en un
+ * ciclo (16,900 pasos para rotores con una sola muesca). La tabla guarda los pasos previos al ciclo (si existen) y un
+ * periodo completo; el encriptado de cada caracter pasa a ser una sola lectura de la tabla. Cada fila se construye
+ * como inversa(reflector(entrada)), donde la entrada es el recorrido por el plugboard y los rotores, de tal forma que
+ * ese recorrido se puede reutilizar con varios reflectores. Las instancias son inmutables, por lo que una clave
+ * compilada se puede reutilizar entre solicitudes e hilos; el estado de cada mensaje es simplemente el indice (offset)
+ * del siguiente caracter a encriptar.
+ */
+@Getter(AccessLevel.PUBLIC)
+public final class CompiledEnigmaKey {
+
+    /**
+     * Total de estados posibles para las posiciones de tres rotores
+     */
+    static final int TOTAL_DE_ESTADOS = RotorImplementation.MAX_ALPHABET_SIZE * RotorImplementation.MAX_ALPHABET_SIZE
+            * RotorImplementation.MAX_ALPHABET_SIZE;
+
+    /**
+     * Longitud minima de un rango para usar la version vectorial
+     */
+    private static final int RANGO_MINIMO_VECTORIAL = 64;
+
+    /**
+     * Tabla plana de permutaciones, la fila del paso k inicia en k * 26. La fila k corresponde al caracter con
+     * indice k (la rotacion ocurre antes de encriptar, por lo que es el estado luego de k + 1 rotaciones).
+     */
+    @Getter(AccessLevel.NONE)
+    private final byte[] e_stepPermutationTable;
+    /**
+     * Copia de la tabla en enteros para la version vectorial, se construye al primer uso
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile int[] e_tablaDeEnteros;
+    /**
+     * Numero de filas previas al ciclo (pasos que no se repiten)
+     */
+    private final int e_preperiodo;
+    /**
+     * Longitud del ciclo de posiciones de los rotores
+     */
+    private final int e_periodo;
+
+    private CompiledEnigmaKey(byte[] stepPermutationTable, int preperiodo, int periodo) {
+        this.e_stepPermutationTable = stepPermutationTable;
+        this.e_preperiodo = preperiodo;
+        this.e_periodo = periodo;
+    }
+
+    /**
+     * Metodo factory que compila una clave de la maquina enigma en su tabla de permutaciones por paso.
+     * @param externalKey: Clave (rotores, posiciones iniciales, anillos, reflector y plugboard) a compilar
+     * @return Instancia inmutable de CompiledEnigmaKey
+     */
+    public static CompiledEnigmaKey compile(EnigmaKey externalKey) {
+        return compile(EnigmaMachineConfiguration.desdeClave(externalKey), EnigmaMachineCursor.desdeClave(externalKey));
+    }
+
+    /**
+     * Compila una configuracion a partir de las posiciones de un cursor (el inicio del mensaje). El cursor recibido
+     * no se modifica.
+     * @param externalConfiguration: Configuracion inmutable de la maquina
+     * @param externalCursor: Posiciones de los rotores al inicio del mensaje
+     * @return Instancia inmutable de CompiledEnigmaKey
+     */
+    public static CompiledEnigmaKey compile(EnigmaMachineConfiguration externalConfiguration,
+                                            EnigmaMachineCursor externalCursor) {
+        RecorridoDeRotores recorrido = RecorridoDeRotores.recorrer(externalConfiguration, externalCursor);
+        return recorrido.componer(externalConfiguration.e_reflector);
+    }
+
+    /**
+     * Compila la misma configuracion con varios reflectores (por ejemplo, todos los cableados de UKW-D de una
+     * busqueda). La secuencia de rotacion y el recorrido por el plugboard y los rotores se calculan una sola vez; para
+     * cada reflector solo se compone su cableado de 26 entradas con ese recorrido.
+     * @param externalConfiguration: Configuracion inmutable de la maquina (su reflector se ignora)
+     * @param externalCursor: Posiciones de los rotores al inicio del mensaje
+     * @param externalReflectors: Reflectores a compilar
+     * @return Una clave compilada por reflector, en el mismo orden
+     */
+    public static CompiledEnigmaKey[] compile(EnigmaMachineConfiguration externalConfiguration,
+                                              EnigmaMachineCursor externalCursor,
+                                              ReflectorImplementation... externalReflectors) {
+        RecorridoDeRotores recorrido = RecorridoDeRotores.recorrer(externalConfiguration, externalCursor);
+        CompiledEnigmaKey[] claves = new CompiledEnigmaKey[externalReflectors.length];
+        int[] reflector = new int[RotorImplementation.MAX_ALPHABET_SIZE];
+        for (int i = 0; i < claves.length; i++) {
+            for (int letra = 0; letra < reflector.length; letra++) {
+                reflector[letra] = externalReflectors[i].getForwardLinkBasedOnCharacter(letra);
+            }
+            claves[i] = recorrido.componer(reflector);
+        }
+        return claves;
+    }
+
+    /**
+     * Recorrido hacia el frente (plugboard y rotores, sin el reflector) de cada paso de la secuencia de rotacion. El
+     * recorrido de regreso es su inversa, por lo que la permutacion de cada fila es inversa(reflector(entrada)).
+     */
+    private record RecorridoDeRotores(byte[] entradas, int preperiodo, int periodo) {
+
+        static RecorridoDeRotores recorrer(EnigmaMachineConfiguration configuracion, EnigmaMachineCursor inicio) {
+            EnigmaMachineCursor cursor = new EnigmaMachineCursor(inicio);
+            //! Fila (mas uno) en la que se vio cada estado por primera vez, cero si no se ha visto
+            int[] filaDeEstado = new int[TOTAL_DE_ESTADOS];
+            byte[] entradas = new byte[TOTAL_DE_ESTADOS * RotorImplementation.MAX_ALPHABET_SIZE];
+
+            int filas = 0;
+            while (true) {
+                configuracion.rotar(cursor);
+                int estado = cursor.snapshot();
+                if (filaDeEstado[estado] != 0) {
+                    //! El estado ya aparecio: las filas previas forman el preperiodo y el resto el ciclo
+                    int inicioDelCiclo = filaDeEstado[estado] - 1;
+                    return new RecorridoDeRotores(
+                            Arrays.copyOf(entradas, filas * RotorImplementation.MAX_ALPHABET_SIZE),
+                            inicioDelCiclo, filas - inicioDelCiclo);
+                }
+                filaDeEstado[estado] = filas + 1;
+                int inicioDeFila = filas * RotorImplementation.MAX_ALPHABET_SIZE;
+                for (int letra = 0; letra < RotorImplementation.MAX_ALPHABET_SIZE; letra++) {
+                    entradas[inicioDeFila + letra] = (byte) configuracion.entradaAlReflector(cursor, letra);
+                }
+                filas++;
+            }
+        }
+
+        CompiledEnigmaKey componer(int[] reflector) {
+            byte[] tabla = new byte[this.entradas.length];
+            int[] inversa = new int[RotorImplementation.MAX_ALPHABET_SIZE];
+            for (int inicioDeFila = 0; inicioDeFila < tabla.length;
+                 inicioDeFila += RotorImplementation.MAX_ALPHABET_SIZE) {
+                for (int letra = 0; letra < RotorImplementation.MAX_ALPHABET_SIZE; letra++) {
+                    inversa[this.entradas[inicioDeFila + letra]] = letra;
+                }
+                for (int letra = 0; letra < RotorImplementation.MAX_ALPHABET_SIZE; letra++) {
+                    tabla[inicioDeFila + letra] = (byte) inversa[reflector[this.entradas[inicioDeFila + letra]]];
+                }
+            }
+            return new CompiledEnigmaKey(tabla, this.preperiodo, this.periodo);
+        }
+    }
+
+    /**
+     * Estimacion de la memoria de la clave compilada, incluyendo la copia en enteros si ya se construyo.
+     * @return Bytes aproximados que ocupa la clave compilada
+     */
+    long pesoEnBytes() {
+        int[] enteros = this.e_tablaDeEnteros;
+        return 64L + this.e_stepPermutationTable.length + (enteros == null ? 0L : 4L * enteros.length);
+    }
+
+    /**
+     * Retorna la tabla de permutaciones con cada valor como entero, construyendola la primera vez que se solicita.
+     * Ocupa cuatro veces la memoria de la tabla original, por lo que solo se construye para la version vectorial.
+     * @return Tabla de permutaciones en enteros, con la misma organizacion que la tabla original
+     */
+    int[] tablaDeEnteros() {
+        int[] tabla = this.e_tablaDeEnteros;
+        if (tabla == null) {
+            tabla = new int[this.e_stepPermutationTable.length];
+            for (int i = 0; i < tabla.length; i++) {
+                tabla[i] = this.e_stepPermutationTable[i];
+            }
+            this.e_tablaDeEnteros = tabla;
+        }
+        return tabla;
+    }
+
+    /**
+     * Retorna la fila de la tabla que corresponde al caracter con el indice dado, tomando en cuenta el ciclo.
+     * @param externalCharacterOffset: Indice (base cero) del caracter dentro del mensaje, sin contar espacios
+     * @return Fila de la tabla de permutaciones
+     */
+    public int filaParaIndice(long externalCharacterOffset) {
+        if (externalCharacterOffset < 0) {
+            throw new IllegalArgumentException("The character offset must not be negative");
+        }
+        if (externalCharacterOffset < this.e_preperiodo + this.e_periodo) {
+            return (int) externalCharacterOffset;
+        }
+        return this.e_preperiodo + (int) ((externalCharacterOffset - this.e_preperiodo) % this.e_periodo);
+    }
+
+    /**
+     * Encripta un caracter (0-25) conociendo su indice dentro del mensaje.
+     * @param externalCharacterOffset: Indice (base cero) del caracter dentro del mensaje, sin contar espacios
+     * @param externalCharacterMarkerZeroBased: Posicion del caracter en el alfabeto (0-25)
+     * @return Posicion del caracter encriptado en el alfabeto (0-25)
+     */
+    public int encriptadoDeCaracter(long externalCharacterOffset, int externalCharacterMarkerZeroBased) {
+        if (externalCharacterMarkerZeroBased < 0 || externalCharacterMarkerZeroBased > 25) {
+            throw new IllegalStateException("The integer value passed for character is incorrect");
+        }
+        return this.e_stepPermutationTable[this.filaParaIndice(externalCharacterOffset)
+                * RotorImplementation.MAX_ALPHABET_SIZE + externalCharacterMarkerZeroBased];
+    }
+
+    /**
+     * Encripta un rango de caracteres en mayuscula ('A'-'Z') empezando en el indice dado del mensaje. Los espacios en
+     * blanco se copian sin modificar y no avanzan el indice, igual que en la maquina original. Cualquier otro caracter
+     * produce una IllegalStateException.
+     *
+     * @param externalCharacterOffset: Indice (base cero) del primer caracter del rango dentro del mensaje
+     * @param src: Arreglo de origen
+     * @param srcOff: Inicio del rango dentro del origen
+     * @param dst: Arreglo de destino (puede ser el mismo origen)
+     * @param dstOff: Inicio del rango dentro del destino
+     * @param len: Numero de caracteres a procesar
+     * @return Indice del mensaje luego de procesar el rango (para continuar en la siguiente llamada)
+     */
+    public long encrypt(long externalCharacterOffset, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        //! Con la Vector API habilitada los rangos largos se encriptan por bloques de 8 o 16 caracteres
+        if (len >= RANGO_MINIMO_VECTORIAL && VectorSupport.DISPONIBLE && VectorCompiledEncryptor.CONVENIENTE) {
+            return VectorCompiledEncryptor.encrypt(this, externalCharacterOffset, src, srcOff, dst, dstOff, len);
+        }
+        return this.encryptEscalar(externalCharacterOffset, src, srcOff, dst, dstOff, len);
+    }
+
+    /**
+     * Version escalar de {@link #encrypt(long, char[], int, char[], int, int)}, usada cuando la Vector API no esta
+     * disponible y para los rangos cortos.
+     * @param externalCharacterOffset: Indice (base cero) del primer caracter del rango dentro del mensaje
+     * @param src: Arreglo de origen
+     * @param srcOff: Inicio del rango dentro del origen
+     * @param dst: Arreglo de destino (puede ser el mismo origen)
+     * @param dstOff: Inicio del rango dentro del destino
+     * @param len: Numero de caracteres a procesar
+     * @return Indice del mensaje luego de procesar el rango
+     */
+    public long encryptEscalar(long externalCharacterOffset, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        final byte[] tabla = this.e_stepPermutationTable;
+        final int filasTotales = this.e_preperiodo + this.e_periodo;
+        int fila = this.filaParaIndice(externalCharacterOffset);
+        int inicioDeFila = fila * RotorImplementation.MAX_ALPHABET_SIZE;
+        long procesados = 0;
+
+        for (int i = 0; i < len; i++) {
+            char caracter = src[srcOff + i];
+            int letra = caracter - 'A';
+            if (letra >= 0 && letra < RotorImplementation.MAX_ALPHABET_SIZE) {
+                dst[dstOff + i] = (char) (tabla[inicioDeFila + letra] + 'A');
+                procesados++;
+                //! Avanzamos a la siguiente fila, regresando al inicio del ciclo al final de la tabla
+                if (++fila == filasTotales) {
+                    fila = this.e_preperiodo;
+                    inicioDeFila = fila * RotorImplementation.MAX_ALPHABET_SIZE;
+                } else {
+                    inicioDeFila += RotorImplementation.MAX_ALPHABET_SIZE;
+                }
+            } else if (Character.isWhitespace(caracter)) {
+                dst[dstOff + i] = caracter;
+            } else {
+                throw new IllegalStateException("The character '" + caracter + "' is not an uppercase letter");
+            }
+        }
+        return externalCharacterOffset + procesados;
+    }
+
+    /**
+     * Equivalente compilado de {@link EnigmaMachineImplementation#encriptadodeCaracter(char[])}: encripta un mensaje
+     * completo desde el inicio de la clave y reemplaza los espacios en blanco por ' '.
+     * @param externalCharactersMarkerZeroBased: Mensaje en mayusculas
+     * @return Arreglo con el mensaje encriptado
+     */
+    public char[] encriptadodeCaracter(char[] externalCharactersMarkerZeroBased) {
+        char[] retornoDeEncriptado = new char[externalCharactersMarkerZeroBased.length];
+        this.encrypt(0, externalCharactersMarkerZeroBased, 0, retornoDeEncriptado, 0, retornoDeEncriptado.length);
+        for (int i = 0; i < retornoDeEncriptado.length; i++) {
+            if (Character.isWhitespace(retornoDeEncriptado[i])) {
+                retornoDeEncriptado[i] = ' ';
+            }
+        }
+        return retornoDeEncriptado;
+    }
+}
@@ -0,0 +1,335 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un trabajo que encripta (o desencripta, la maquina es reciproca) todos
+ * los archivos de un arbol de directorios, cada uno con la clave que le asigna un manifiesto, y escribe el resultado en
+ * un arbol de salida con la misma estructura. Los archivos se procesan en un pool acotado de hilos, y dentro de cada
+ * archivo las lecturas y escrituras se hacen con {@link AsynchronousFileChannel} sobre tres buffers que rotan: mientras
+ * se encripta un bloque, el siguiente se esta leyendo y el anterior se esta escribiendo, por lo que el disco y los
+ * nucleos trabajan al mismo tiempo.
+ * <br><br>
+ * El manifiesto es un CSV con encabezado file,key: la ruta relativa de cada archivo (con '/' como separador) y su clave
+ * en el formato de {@link EnigmaKey#desdeTexto(String)}; la ruta "*" define la clave de los archivos no listados. Los
+ * archivos sin clave se omiten y se reportan en el resumen. Las configuraciones se toman de
+ * {@link EnigmaMachineCache#COMPARTIDA}, por lo que muchos archivos con la clave del dia la construyen una sola vez. El
+ * contenido sigue las reglas de {@link EnigmaMachineConfiguration#encrypt(EnigmaMachineCursor, ByteBuffer,
+ * ByteBuffer)}; un archivo con otros caracteres se reporta con su error sin detener a los demas.
+ */
+public final class DirectoryEncryptionJob {
+
+    /**
+     * Ruta del manifiesto que define la clave de los archivos no listados
+     */
+    public static final String CLAVE_POR_DEFECTO = "*";
+
+    /**
+     * Tamano por defecto de cada bloque de lectura (1 MiB)
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    /**
+     * Numero de buffers por archivo: uno en lectura, uno en encriptado y uno en escritura
+     */
+    private static final int BUFFERS_POR_ARCHIVO = 3;
+
+    /**
+     * Resultado del procesamiento de un archivo.
+     * @param archivo: Ruta relativa del archivo
+     * @param bytes: Bytes procesados
+     * @param letras: Letras encriptadas
+     * @param nanosegundos: Tiempo que tomo el archivo
+     * @param error: Mensaje de error, o null si el archivo se proceso completo
+     */
+    public record ResultadoDeArchivo(String archivo, long bytes, long letras, long nanosegundos, String error) {
+
+        /**
+         * Velocidad del archivo en bytes por segundo.
+         * @return Bytes por segundo, o cero si el tiempo medido es cero
+         */
+        public double bytesPorSegundo() {
+            return this.nanosegundos == 0 ? 0.0 : this.bytes * 1e9 / this.nanosegundos;
+        }
+    }
+
+    /**
+     * Resumen del trabajo completo.
+     * @param archivos: Resultado de cada archivo procesado, en el orden del recorrido
+     * @param sinClave: Rutas relativas de los archivos que el manifiesto no cubre
+     * @param nanosegundos: Tiempo total del trabajo
+     */
+    public record Resumen(List<ResultadoDeArchivo> archivos, List<String> sinClave, long nanosegundos) {
+
+        /**
+         * Bytes procesados en todos los archivos.
+         * @return Total de bytes
+         */
+        public long bytes() {
+            return this.archivos.stream().mapToLong(ResultadoDeArchivo::bytes).sum();
+        }
+
+        /**
+         * Velocidad total del trabajo en bytes por segundo.
+         * @return Bytes por segundo, o cero si el tiempo medido es cero
+         */
+        public double bytesPorSegundo() {
+            return this.nanosegundos == 0 ? 0.0 : this.bytes() * 1e9 / this.nanosegundos;
+        }
+
+        /**
+         * Escribe el resumen como CSV con encabezado file,bytes,letters,seconds,bytes_per_second,error.
+         * @param destino: Destino del CSV
+         * @throws IOException si ocurre un error al escribir
+         */
+        public void escribirCsv(Appendable destino) throws IOException {
+            CSVFormat formato = CSVFormat.DEFAULT.builder()
+                    .setHeader("file", "bytes", "letters", "seconds", "bytes_per_second", "error").build();
+            try (CSVPrinter impresora = new CSVPrinter(destino, formato)) {
+                for (ResultadoDeArchivo resultado : this.archivos) {
+                    impresora.printRecord(resultado.archivo(), resultado.bytes(), resultado.letras(),
+                            resultado.nanosegundos() / 1e9, Math.round(resultado.bytesPorSegundo()),
+                            resultado.error() == null ? "" : resultado.error());
+                }
+                for (String archivo : this.sinClave) {
+                    impresora.printRecord(archivo, 0, 0, 0, 0, "no key in the manifest");
+                }
+            }
+        }
+    }
+
+    private final Path e_origen;
+    private final Path e_destino;
+    private final Map<String, EnigmaKey> e_manifiesto;
+    private final int e_hilos;
+    private final int e_tamanoDeBloque;
+    /**
+     * Buffers de cada hilo del pool; se reutilizan entre archivos, ya que la memoria directa solo se libera con el GC
+     */
+    private final ThreadLocal<ByteBuffer[]> e_buffersPorHilo = ThreadLocal.withInitial(this::crearBuffers);
+
+    /**
+     * Constructor del trabajo.
+     * @param origen: Directorio raiz de los archivos a procesar
+     * @param destino: Directorio raiz de la salida, se crea si no existe
+     * @param manifiesto: Clave de cada ruta relativa (ver {@link #leerManifiesto(Reader)})
+     * @param hilos: Numero maximo de archivos procesados al mismo tiempo
+     * @param tamanoDeBloque: Tamano de cada bloque de lectura en bytes
+     * @throws IllegalArgumentException si el numero de hilos o el tamano de bloque no son positivos
+     */
+    public DirectoryEncryptionJob(Path origen, Path destino, Map<String, EnigmaKey> manifiesto, int hilos,
+                                  int tamanoDeBloque) {
+        if (hilos <= 0 || tamanoDeBloque <= 0) {
+            throw new IllegalArgumentException("The number of threads and the block size must be positive");
+        }
+        this.e_origen = origen.toAbsolutePath().normalize();
+        this.e_destino = destino.toAbsolutePath().normalize();
+        this.e_manifiesto = Map.copyOf(manifiesto);
+        this.e_hilos = hilos;
+        this.e_tamanoDeBloque = tamanoDeBloque;
+    }
+
+    /**
+     * Constructor con un hilo por procesador y el tamano de bloque por defecto.
+     * @param origen: Directorio raiz de los archivos a procesar
+     * @param destino: Directorio raiz de la salida, se crea si no existe
+     * @param manifiesto: Clave de cada ruta relativa
+     */
+    public DirectoryEncryptionJob(Path origen, Path destino, Map<String, EnigmaKey> manifiesto) {
+        this(origen, destino, manifiesto, Runtime.getRuntime().availableProcessors(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Lee un manifiesto CSV con encabezado file,key. El lector no se cierra.
+     * @param lector: Fuente del CSV
+     * @return Clave de cada ruta relativa, en el orden del manifiesto
+     * @throws IOException si ocurre un error de lectura
+     * @throws IllegalArgumentException si una clave no tiene el formato esperado
+     */
+    public static Map<String, EnigmaKey> leerManifiesto(Reader lector) throws IOException {
+        Map<String, EnigmaKey> manifiesto = new LinkedHashMap<>();
+        CSVFormat formato = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true)
+                .setIgnoreSurroundingSpaces(true).setIgnoreEmptyLines(true).setCommentMarker('#').build();
+        for (CSVRecord registro : formato.parse(lector)) {
+            manifiesto.put(registro.get("file"), EnigmaKey.desdeTexto(registro.get("key")));
+        }
+        return manifiesto;
+    }
+
+    /**
+     * Procesa todos los archivos regulares del directorio de origen (excepto los que esten dentro del destino) y
+     * espera a que terminen.
+     * @return Resumen con la velocidad de cada archivo
+     * @throws IOException si no se puede recorrer el directorio de origen
+     */
+    public Resumen ejecutar() throws IOException {
+        long inicio = System.nanoTime();
+        List<Path> archivos;
+        try (Stream<Path> recorrido = Files.walk(this.e_origen)) {
+            archivos = recorrido.filter(Files::isRegularFile).filter(archivo -> !archivo.startsWith(this.e_destino))
+                    .sorted().toList();
+        }
+        List<String> sinClave = new ArrayList<>();
+        List<Callable<ResultadoDeArchivo>> tareas = new ArrayList<>();
+        for (Path archivo : archivos) {
+            String relativo = this.e_origen.relativize(archivo).toString().replace(archivo.getFileSystem()
+                    .getSeparator(), "/");
+            EnigmaKey clave = this.e_manifiesto.getOrDefault(relativo, this.e_manifiesto.get(CLAVE_POR_DEFECTO));
+            if (clave == null) {
+                sinClave.add(relativo);
+            } else {
+                tareas.add(() -> this.procesarArchivo(relativo, archivo, clave));
+            }
+        }
+
+        List<ResultadoDeArchivo> resultados = new ArrayList<>(tareas.size());
+        ExecutorService pool = Executors.newFixedThreadPool(this.e_hilos);
+        try {
+            for (Future<ResultadoDeArchivo> resultado : pool.invokeAll(tareas)) {
+                resultados.add(resultado.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while encrypting the directory", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Resumen(Collections.unmodifiableList(resultados), Collections.unmodifiableList(sinClave),
+                System.nanoTime() - inicio);
+    }
+
+    /**
+     * Encripta un archivo con los tres buffers del hilo actual, que rotan entre lectura, encriptado y escritura.
+     */
+    private ResultadoDeArchivo procesarArchivo(String relativo, Path archivo, EnigmaKey clave) {
+        long inicio = System.nanoTime();
+        long bytes = 0;
+        long letras = 0;
+        String error = null;
+        Path salida = this.e_destino.resolve(relativo);
+        ByteBuffer[] buffers = this.e_buffersPorHilo.get();
+        for (ByteBuffer buffer : buffers) {
+            buffer.clear();
+        }
+        //! Escritura pendiente de cada buffer y la posicion del archivo en la que inicia
+        List<Future<Integer>> escrituras = new ArrayList<>(Collections.nCopies(BUFFERS_POR_ARCHIVO, null));
+        long[] posicionDeEscritura = new long[BUFFERS_POR_ARCHIVO];
+        try {
+            Files.createDirectories(salida.getParent());
+            EnigmaMachineConfiguration configuracion = EnigmaMachineCache.COMPARTIDA.configuracion(clave);
+            EnigmaMachineCursor cursor = EnigmaMachineCursor.desdeClave(clave);
+            try (AsynchronousFileChannel entrada = AsynchronousFileChannel.open(archivo, StandardOpenOption.READ);
+                 AsynchronousFileChannel escritor = AsynchronousFileChannel.open(salida, StandardOpenOption.WRITE,
+                         StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                int actual = 0;
+                Future<Integer> lectura = entrada.read(buffers[actual], 0);
+                try {
+                    while (true) {
+                        int leidos = leerCompleto(entrada, buffers[actual], bytes, lectura);
+                        if (leidos <= 0) {
+                            break;
+                        }
+                        //! Antes de leer en el siguiente buffer, su escritura anterior debe haber terminado
+                        int siguiente = (actual + 1) % BUFFERS_POR_ARCHIVO;
+                        terminarEscritura(escritor, buffers[siguiente], posicionDeEscritura[siguiente],
+                                escrituras.set(siguiente, null));
+                        buffers[siguiente].clear();
+                        lectura = entrada.read(buffers[siguiente], bytes + leidos);
+
+                        ByteBuffer bloque = buffers[actual].flip();
+                        letras += configuracion.encrypt(cursor, bloque, bloque);
+                        bloque.flip();
+                        posicionDeEscritura[actual] = bytes;
+                        escrituras.set(actual, escritor.write(bloque, bytes));
+                        bytes += leidos;
+                        actual = siguiente;
+                    }
+                } finally {
+                    for (int i = 0; i < BUFFERS_POR_ARCHIVO; i++) {
+                        terminarEscritura(escritor, buffers[i], posicionDeEscritura[i], escrituras.get(i));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        } catch (ExecutionException e) {
+            error = String.valueOf(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted";
+        }
+        if (error != null) {
+            //! Tras un error puede quedar una operacion pendiente sobre los buffers, por lo que no se reutilizan
+            this.e_buffersPorHilo.remove();
+        }
+        return new ResultadoDeArchivo(relativo, bytes, letras, System.nanoTime() - inicio, error);
+    }
+
+    private ByteBuffer[] crearBuffers() {
+        ByteBuffer[] buffers = new ByteBuffer[BUFFERS_POR_ARCHIVO];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(this.e_tamanoDeBloque);
+        }
+        return buffers;
+    }
+
+    /**
+     * Espera una lectura y, si no lleno el buffer, lee hasta llenarlo o llegar al final del archivo.
+     * @return Bytes leidos en el buffer, o -1 si el archivo termino antes de la posicion
+     */
+    private static int leerCompleto(AsynchronousFileChannel entrada, ByteBuffer buffer, long posicion,
+                                    Future<Integer> lectura) throws ExecutionException, InterruptedException {
+        int leidos = lectura.get();
+        if (leidos < 0) {
+            return -1;
+        }
+        while (buffer.hasRemaining()) {
+            int mas = entrada.read(buffer, posicion + buffer.position()).get();
+            if (mas < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    /**
+     * Espera una escritura pendiente y escribe lo que haya quedado del buffer.
+     */
+    private static void terminarEscritura(AsynchronousFileChannel escritor, ByteBuffer buffer, long posicion,
+                                          Future<Integer> escritura)
+            throws ExecutionException, InterruptedException {
+        if (escritura == null) {
+            return;
+        }
+        escritura.get();
+        while (buffer.hasRemaining()) {
+            escritor.write(buffer, posicion + buffer.position()).get();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.evolvlabs.enigmabackend;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el tipo base de los encriptadores generados por
+ * {@link SpecializedEnigmaMachine}. Cada subclase es una clase oculta definida para una sola configuracion, con sus
+ * tablas y muescas como constantes; esta clase solo define el punto de entrada comun.
+ */
+abstract class EncriptadorEspecializado {
+
+    /**
+     * Encripta un rango de caracteres con la misma semantica que
+     * {@link EnigmaMachineConfiguration#encrypt(EnigmaMachineCursor, char[], int, char[], int, int)}.
+     */
+    abstract int encrypt(EnigmaMachineCursor cursor, char[] src, int srcOff, char[] dst, int dstOff, int len);
+}
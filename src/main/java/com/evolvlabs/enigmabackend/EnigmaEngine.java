@@ -0,0 +1,90 @@
+package com.evolvlabs.enigmabackend;
+
+import java.util.List;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la interfaz de los motores de encriptado que usa
+ * {@link EnigmaMachineImplementation} para sus metodos en bloque. Los motores se registran con
+ * {@link java.util.ServiceLoader} (provides en module-info.java y META-INF/services), por lo que se pueden agregar
+ * motores nuevos sin cambiar a los que llaman a la maquina (por ejemplo Collosus o EnigmaThroughConsole).
+ * <br><br>
+ * El motor se elige con la propiedad de sistema {@value #PROPIEDAD_DE_MOTOR} (por ejemplo -Denigma.engine=reference) o,
+ * si no esta definida (o nombra un motor desconocido, caso en el que se imprime un aviso), por la prioridad que cada motor disponible declara para la longitud del mensaje: la maquina de
+ * referencia para mensajes cortos, la clase especializada por clave para mensajes medianos y la tabla compilada
+ * (vectorial si la Vector API esta habilitada y el procesador tiene vectores de al menos 256 bits) para mensajes
+ * largos. El motor de referencia recorre los rotores uno por uno y es el oraculo contra el cual se prueban los demas.
+ */
+public interface EnigmaEngine {
+
+    /**
+     * Propiedad de sistema con el nombre del motor a usar siempre
+     */
+    String PROPIEDAD_DE_MOTOR = "enigma.engine";
+
+    /**
+     * Nombre con el que se selecciona el motor en {@value #PROPIEDAD_DE_MOTOR}
+     * @return Nombre del motor
+     */
+    String nombre();
+
+    /**
+     * Indica si el motor puede ejecutarse en esta JVM (por ejemplo, si la Vector API esta habilitada).
+     * @return Verdadero si el motor esta disponible
+     */
+    default boolean disponible() {
+        return true;
+    }
+
+    /**
+     * Prioridad del motor para un mensaje de la longitud dada; la seleccion automatica usa el motor disponible con
+     * la prioridad mas alta.
+     * @param longitudDelMensaje: Numero de caracteres a encriptar
+     * @return Prioridad del motor, negativa si el motor no es conveniente para esa longitud
+     */
+    int prioridad(int longitudDelMensaje);
+
+    /**
+     * Encripta un rango de caracteres desde las posiciones actuales de la maquina, con la misma semantica que
+     * {@link EnigmaMachineImplementation#encrypt(char[], int, char[], int, int)}: las letras mayusculas se encriptan y
+     * rotan la maquina, los espacios en blanco se copian sin rotarla y cualquier otro caracter produce una
+     * IllegalStateException. Al terminar, los rotores de la maquina quedan en la posicion del ultimo caracter
+     * procesado.
+     * @param machine: Maquina con la configuracion y las posiciones actuales
+     * @param src: Arreglo de origen
+     * @param srcOff: Inicio del rango dentro del origen
+     * @param dst: Arreglo de destino (puede ser el mismo origen)
+     * @param dstOff: Inicio del rango dentro del destino
+     * @param len: Numero de caracteres a procesar
+     * @return Numero de letras encriptadas
+     */
+    int encrypt(EnigmaMachineImplementation machine, char[] src, int srcOff, char[] dst, int dstOff, int len);
+
+    /**
+     * Retorna el motor a usar para un mensaje de la longitud dada.
+     * @param longitudDelMensaje: Numero de caracteres a encriptar
+     * @return Motor seleccionado
+     */
+    static EnigmaEngine seleccionar(int longitudDelMensaje) {
+        return RegistroDeMotores.seleccionar(longitudDelMensaje);
+    }
+
+    /**
+     * Retorna un motor registrado por su nombre.
+     * @param nombre: Nombre del motor
+     * @return Motor con ese nombre
+     * @throws IllegalArgumentException si no existe un motor disponible con ese nombre
+     */
+    static EnigmaEngine porNombre(String nombre) {
+        return RegistroDeMotores.porNombre(nombre);
+    }
+
+    /**
+     * Retorna los motores registrados que estan disponibles en esta JVM.
+     * @return Lista inmutable de motores
+     */
+    static List<EnigmaEngine> disponibles() {
+        return RegistroDeMotores.MOTORES;
+    }
+}
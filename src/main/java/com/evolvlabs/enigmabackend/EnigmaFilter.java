@@ -0,0 +1,166 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el filtro de flujos de la maquina enigma, usado por el modo no
+ * interactivo de la consola (enigma encrypt --key ... &lt; entrada &gt; salida). El texto se lee de un canal en bloques
+ * grandes, se decodifica como UTF-8, se normaliza con {@link TextNormalizer} (minusculas y acentos a su letra base, y
+ * la politica elegida para lo que no es una letra), se encripta y se escribe en otro canal; la memoria usada depende
+ * solo del tamano de los buffers y no del tamano del flujo.
+ * <br><br>
+ * Con un solo hilo cada bloque se encripta con {@link EnigmaMachineConfiguration#encryptNormalizado(
+ * EnigmaMachineCursor, CharBuffer, CharBuffer)}; con varios hilos el bloque se divide entre ellos y cada parte ubica
+ * su cursor con seek (ver {@link ParallelFileEncryptor#encryptNormalizado(EnigmaMachineCursor, CharBuffer,
+ * CharBuffer)}). El resultado es el mismo
+ * en ambos casos, y como la maquina es reciproca el mismo filtro desencripta.
+ */
+public final class EnigmaFilter {
+
+    /**
+     * Capacidad por defecto de los buffers, en caracteres (4 Mi)
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4 << 20;
+
+    /**
+     * Tamano minimo de un bloque para dividirlo entre varios hilos
+     */
+    private static final int BLOQUE_MINIMO_PARALELO = 1 << 16;
+
+    private final EnigmaMachineConfiguration e_configuracion;
+    private final EnigmaMachineCursor e_cursor;
+    private final TextNormalizer e_normalizador;
+    private final int e_hilos;
+    private final int e_capacidad;
+
+    /**
+     * Constructor del filtro.
+     * @param externalKey: Clave de la maquina, el flujo se encripta desde sus indicadores
+     * @param policy: Politica para los caracteres que no son letras
+     * @param threads: Numero de hilos con los que se encripta cada bloque
+     * @param bufferSize: Capacidad de los buffers en caracteres
+     * @throws IllegalArgumentException si el numero de hilos o el tamano de los buffers no son positivos
+     */
+    public EnigmaFilter(EnigmaKey externalKey, TextNormalizer.NonLetterPolicy policy, int threads, int bufferSize) {
+        if (threads <= 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("The number of threads and the buffer size must be positive");
+        }
+        this.e_configuracion = EnigmaMachineCache.COMPARTIDA.configuracion(externalKey);
+        this.e_cursor = EnigmaMachineCursor.desdeClave(externalKey);
+        this.e_normalizador = new TextNormalizer(policy);
+        this.e_hilos = threads;
+        this.e_capacidad = bufferSize;
+    }
+
+    /**
+     * Constructor con un solo hilo y los buffers por defecto.
+     * @param externalKey: Clave de la maquina, el flujo se encripta desde sus indicadores
+     * @param policy: Politica para los caracteres que no son letras
+     */
+    public EnigmaFilter(EnigmaKey externalKey, TextNormalizer.NonLetterPolicy policy) {
+        this(externalKey, policy, 1, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Lee el canal de entrada hasta su final y escribe el texto encriptado en el canal de salida. Los canales no se
+     * cierran. El cursor del filtro avanza con el flujo, por lo que una segunda llamada continua el mismo mensaje.
+     * @param entrada: Canal de entrada (por ejemplo, la entrada estandar)
+     * @param salida: Canal de salida (por ejemplo, la salida estandar)
+     * @return Numero de letras encriptadas
+     * @throws IOException si ocurre un error al leer o escribir los canales
+     */
+    public long filtrar(ReadableByteChannel entrada, WritableByteChannel salida) throws IOException {
+        CharsetDecoder decodificador = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytesDeEntrada = ByteBuffer.allocateDirect(this.e_capacidad);
+        ByteBuffer bytesDeSalida = ByteBuffer.allocateDirect(this.e_capacidad);
+        CharBuffer texto = CharBuffer.allocate(this.e_capacidad);
+        CharBuffer normalizado = CharBuffer.allocate(this.e_capacidad);
+
+        ForkJoinPool pool = this.e_hilos > 1 ? new ForkJoinPool(this.e_hilos) : null;
+        ParallelFileEncryptor paralelo = pool == null ? null : new ParallelFileEncryptor(this.e_configuracion, pool,
+                (this.e_capacidad + this.e_hilos - 1) / this.e_hilos);
+        long letras = 0;
+        try {
+            boolean fin = false;
+            while (!fin) {
+                fin = entrada.read(bytesDeEntrada) < 0;
+                bytesDeEntrada.flip();
+                CoderResult resultado;
+                do {
+                    resultado = decodificador.decode(bytesDeEntrada, texto, fin);
+                    letras += this.procesar(texto, normalizado, paralelo, codificador, bytesDeSalida, salida);
+                } while (resultado.isOverflow());
+                bytesDeEntrada.compact();
+            }
+            decodificador.flush(texto);
+            letras += this.procesar(texto, normalizado, paralelo, codificador, bytesDeSalida, salida);
+            //! Lo que el codificador no pudo consumir (por ejemplo un surrogate sin pareja) se codifica al final
+            normalizado.flip();
+            while (codificador.encode(normalizado, bytesDeSalida, true).isOverflow()) {
+                escribir(bytesDeSalida, salida);
+            }
+            while (codificador.flush(bytesDeSalida).isOverflow()) {
+                escribir(bytesDeSalida, salida);
+            }
+            escribir(bytesDeSalida, salida);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        return letras;
+    }
+
+    /**
+     * Normaliza, encripta y escribe el texto decodificado; al terminar el buffer de texto queda vacio. Los caracteres
+     * que el codificador deja pendientes (la primera mitad de un surrogate) se conservan al inicio del buffer
+     * normalizado; no son letras, por lo que volver a pasarlos por el encriptado no los modifica.
+     */
+    private long procesar(CharBuffer texto, CharBuffer normalizado, ParallelFileEncryptor paralelo,
+                          CharsetEncoder codificador, ByteBuffer bytesDeSalida, WritableByteChannel salida)
+            throws IOException {
+        long letras = 0;
+        texto.flip();
+        do {
+            this.e_normalizador.normalize(texto, normalizado);
+            normalizado.flip();
+            if (paralelo != null && normalizado.remaining() >= BLOQUE_MINIMO_PARALELO) {
+                letras += paralelo.encryptNormalizado(this.e_cursor, normalizado, normalizado);
+            } else {
+                letras += this.e_configuracion.encryptNormalizado(this.e_cursor, normalizado, normalizado);
+            }
+            normalizado.rewind();
+            while (codificador.encode(normalizado, bytesDeSalida, false).isOverflow()) {
+                escribir(bytesDeSalida, salida);
+            }
+            normalizado.compact();
+        } while (texto.hasRemaining());
+        texto.clear();
+        return letras;
+    }
+
+    private static void escribir(ByteBuffer bytes, WritableByteChannel salida) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            salida.write(bytes);
+        }
+        bytes.clear();
+    }
+}
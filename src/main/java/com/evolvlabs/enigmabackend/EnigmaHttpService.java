@@ -0,0 +1,220 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un servicio HTTP local de encriptado construido sobre jdk.httpserver. Cada
+ * solicitud se atiende en su propio hilo virtual, por lo que un cliente lento no ocupa un hilo de plataforma. Las
+ * rutas {@value #RUTA_ENCRIPTAR} y {@value #RUTA_DESENCRIPTAR} reciben por POST el mensaje en el cuerpo y la clave en
+ * el encabezado {@value #ENCABEZADO_DE_CLAVE} (con el formato de {@link EnigmaKey#desdeTexto(String)}); como la
+ * maquina es reciproca, ambas rutas hacen la misma operacion. La ruta {@value #RUTA_ESTADISTICAS} retorna los
+ * contadores del servicio.
+ * <br><br>
+ * Las configuraciones inmutables se comparten entre solicitudes a traves de una {@link EnigmaMachineCache} y cada
+ * solicitud solo crea su propio {@link EnigmaMachineCursor}; el cuerpo se encripta en el mismo arreglo en el que se
+ * leyo y ese arreglo es la respuesta. El mensaje sigue las reglas de
+ * {@link EnigmaMachineConfiguration#encrypt(EnigmaMachineCursor, ByteBuffer, ByteBuffer)}: las letras 'A'-'Z' se
+ * encriptan, los espacios en blanco se copian y cualquier otro byte produce una respuesta 400.
+ */
+public final class EnigmaHttpService implements AutoCloseable {
+
+    public static final String RUTA_ENCRIPTAR = "/encrypt";
+    public static final String RUTA_DESENCRIPTAR = "/decrypt";
+    public static final String RUTA_ESTADISTICAS = "/stats";
+    public static final String ENCABEZADO_DE_CLAVE = "X-Enigma-Key";
+
+    /**
+     * Tamano maximo del cuerpo de una solicitud (16 MiB)
+     */
+    public static final int TAMANO_MAXIMO_DE_MENSAJE = 16 << 20;
+
+    /**
+     * Contadores del servicio desde que se inicio.
+     * @param solicitudes: Solicitudes de encriptado atendidas
+     * @param errores: Solicitudes de encriptado rechazadas
+     * @param bytes: Bytes encriptados
+     * @param p50Nanosegundos: Mediana de la latencia de las solicitudes de encriptado (hasta que la respuesta se
+     *                       termina de enviar)
+     * @param p99Nanosegundos: Percentil 99 de la latencia de las solicitudes de encriptado
+     * @param segundosActivo: Tiempo transcurrido desde que se inicio el servicio
+     */
+    public record Estadisticas(long solicitudes, long errores, long bytes, long p50Nanosegundos,
+                               long p99Nanosegundos, double segundosActivo) {
+
+        /**
+         * Solicitudes atendidas por segundo desde que se inicio el servicio.
+         * @return Solicitudes por segundo, o cero si no ha transcurrido tiempo
+         */
+        public double solicitudesPorSegundo() {
+            return this.segundosActivo == 0 ? 0.0 : (this.solicitudes + this.errores) / this.segundosActivo;
+        }
+
+        /**
+         * Bytes encriptados por segundo desde que se inicio el servicio.
+         * @return Bytes por segundo, o cero si no ha transcurrido tiempo
+         */
+        public double bytesPorSegundo() {
+            return this.segundosActivo == 0 ? 0.0 : this.bytes / this.segundosActivo;
+        }
+    }
+
+    private final HttpServer e_servidor;
+    private final ExecutorService e_hilos;
+    private final EnigmaMachineCache e_cache;
+    private final long e_inicio = System.nanoTime();
+    private final LongAdder e_solicitudes = new LongAdder();
+    private final LongAdder e_errores = new LongAdder();
+    private final LongAdder e_bytes = new LongAdder();
+    private final HistogramaDeLatencias e_latencias = new HistogramaDeLatencias();
+
+    private EnigmaHttpService(HttpServer servidor, EnigmaMachineCache cache) {
+        this.e_servidor = servidor;
+        this.e_cache = cache;
+        this.e_hilos = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(this.e_hilos);
+        servidor.createContext(RUTA_ENCRIPTAR, this::atenderEncriptado);
+        servidor.createContext(RUTA_DESENCRIPTAR, this::atenderEncriptado);
+        servidor.createContext(RUTA_ESTADISTICAS, this::atenderEstadisticas);
+        servidor.start();
+    }
+
+    /**
+     * Inicia el servicio en una direccion.
+     * @param direccion: Direccion y puerto en los que escucha el servicio (puerto 0 para uno libre)
+     * @param cache: Cache de configuraciones compartida por las solicitudes
+     * @return Servicio iniciado
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public static EnigmaHttpService iniciar(InetSocketAddress direccion, EnigmaMachineCache cache) throws IOException {
+        return new EnigmaHttpService(HttpServer.create(direccion, 0), cache);
+    }
+
+    /**
+     * Inicia el servicio en la interfaz local (loopback) con la cache compartida.
+     * @param puerto: Puerto en el que escucha el servicio (0 para uno libre)
+     * @return Servicio iniciado
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public static EnigmaHttpService iniciar(int puerto) throws IOException {
+        return iniciar(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), EnigmaMachineCache.COMPARTIDA);
+    }
+
+    /**
+     * Inicia el servicio en la interfaz local, en el puerto del primer argumento (8080 por defecto).
+     * @param args: Argumentos de la linea de comandos
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public static void main(String[] args) throws IOException {
+        EnigmaHttpService servicio = iniciar(args.length > 0 ? Integer.parseInt(args[0]) : 8080);
+        System.out.println("Enigma service listening on http://" + servicio.getE_direccion().getHostString() + ":"
+                + servicio.getE_direccion().getPort());
+    }
+
+    private void atenderEncriptado(HttpExchange intercambio) throws IOException {
+        long inicio = System.nanoTime();
+        boolean atendida = false;
+        try (intercambio) {
+            if (!intercambio.getRequestMethod().equals("POST")) {
+                responder(intercambio, 405, "Only POST is supported");
+                return;
+            }
+            String textoDeClave = intercambio.getRequestHeaders().getFirst(ENCABEZADO_DE_CLAVE);
+            if (textoDeClave == null) {
+                responder(intercambio, 400, "The " + ENCABEZADO_DE_CLAVE + " header is required");
+                return;
+            }
+            byte[] mensaje;
+            try (InputStream cuerpo = intercambio.getRequestBody()) {
+                mensaje = cuerpo.readNBytes(TAMANO_MAXIMO_DE_MENSAJE + 1);
+            }
+            if (mensaje.length > TAMANO_MAXIMO_DE_MENSAJE) {
+                responder(intercambio, 413, "The message exceeds " + TAMANO_MAXIMO_DE_MENSAJE + " bytes");
+                return;
+            }
+            try {
+                EnigmaKey clave = EnigmaKey.desdeTexto(textoDeClave);
+                //! La configuracion se comparte; el cursor es el unico estado propio de la solicitud
+                ByteBuffer buffer = ByteBuffer.wrap(mensaje);
+                this.e_cache.configuracion(clave).encrypt(EnigmaMachineCursor.desdeClave(clave), buffer, buffer);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                responder(intercambio, 400, e.getMessage());
+                return;
+            }
+            intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=US-ASCII");
+            intercambio.sendResponseHeaders(200, mensaje.length == 0 ? -1 : mensaje.length);
+            try (OutputStream respuesta = intercambio.getResponseBody()) {
+                respuesta.write(mensaje);
+            }
+            this.e_bytes.add(mensaje.length);
+            atendida = true;
+        } finally {
+            //! Se cuenta despues de enviar la respuesta: una escritura fallida es un error y la latencia incluye el envio
+            (atendida ? this.e_solicitudes : this.e_errores).increment();
+            this.e_latencias.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    private void atenderEstadisticas(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            Estadisticas estadisticas = this.estadisticas();
+            responder(intercambio, 200, "requests=" + estadisticas.solicitudes()
+                    + "\nerrors=" + estadisticas.errores()
+                    + "\nbytes=" + estadisticas.bytes()
+                    + "\np50_ns=" + estadisticas.p50Nanosegundos()
+                    + "\np99_ns=" + estadisticas.p99Nanosegundos()
+                    + "\nrequests_per_second=" + estadisticas.solicitudesPorSegundo()
+                    + "\nbytes_per_second=" + estadisticas.bytesPorSegundo() + "\n");
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int codigo, String texto) throws IOException {
+        byte[] cuerpo = String.valueOf(texto).getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        intercambio.sendResponseHeaders(codigo, cuerpo.length == 0 ? -1 : cuerpo.length);
+        try (OutputStream respuesta = intercambio.getResponseBody()) {
+            respuesta.write(cuerpo);
+        }
+    }
+
+    /**
+     * Retorna una copia de los contadores actuales.
+     * @return Estadisticas del servicio
+     */
+    public Estadisticas estadisticas() {
+        return new Estadisticas(this.e_solicitudes.sum(), this.e_errores.sum(), this.e_bytes.sum(),
+                this.e_latencias.percentil(50), this.e_latencias.percentil(99),
+                (System.nanoTime() - this.e_inicio) / 1e9);
+    }
+
+    /**
+     * Direccion en la que escucha el servicio (con el puerto asignado si se pidio el puerto 0).
+     * @return Direccion del servicio
+     */
+    public InetSocketAddress getE_direccion() {
+        return this.e_servidor.getAddress();
+    }
+
+    /**
+     * Detiene el servicio sin esperar a las solicitudes en curso.
+     */
+    @Override
+    public void close() {
+        this.e_servidor.stop(0);
+        this.e_hilos.shutdown();
+    }
+}
@@ -0,0 +1,137 @@
+package com.evolvlabs.enigmabackend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la version en bytes ASCII de {@link EnigmaReader}: un
+ * {@link InputStream} que encripta lo que lee de otro InputStream en un buffer interno de tamano fijo, con las mismas
+ * reglas que {@link EnigmaMachineImplementation#encrypt(byte[], int, byte[], int, int)}. La maquina conserva sus
+ * posiciones entre bloques; si el flujo contiene un byte que no es una letra mayuscula ni un espacio en blanco, primero
+ * se entregan los bytes anteriores y luego la lectura produce una IOException.
+ */
+public final class EnigmaInputStream extends InputStream {
+
+    /**
+     * Tamano por defecto del buffer interno en bytes
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final InputStream e_entrada;
+    private final EnigmaMachineImplementation e_maquina;
+    private final byte[] e_buffer;
+    private int e_posicion;
+    /**
+     * Fin de los bytes ya encriptados dentro del buffer
+     */
+    private int e_limite;
+    /**
+     * Verdadero si el bloque actual termina en un byte que no se puede encriptar
+     */
+    private boolean e_hayByteInvalido;
+    private byte e_byteInvalido;
+    private boolean e_cerrado;
+
+    /**
+     * Constructor con el tamano de buffer por defecto.
+     * @param externalStream: Flujo de entrada
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra leida
+     */
+    public EnigmaInputStream(InputStream externalStream, EnigmaMachineImplementation externalMachine) {
+        this(externalStream, externalMachine, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor con un tamano de buffer especifico.
+     * @param externalStream: Flujo de entrada
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra leida
+     * @param bufferSize: Tamano del buffer interno en bytes
+     * @throws IllegalArgumentException si el tamano no es positivo
+     */
+    public EnigmaInputStream(InputStream externalStream, EnigmaMachineImplementation externalMachine, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive: " + bufferSize);
+        }
+        this.e_entrada = Objects.requireNonNull(externalStream);
+        this.e_maquina = Objects.requireNonNull(externalMachine);
+        this.e_buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        this.asegurarAbierto();
+        if (this.e_posicion == this.e_limite && !this.llenar()) {
+            return -1;
+        }
+        return this.e_buffer[this.e_posicion++] & 0xFF;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        this.asegurarAbierto();
+        if (len == 0) {
+            return 0;
+        }
+        if (this.e_posicion == this.e_limite && !this.llenar()) {
+            return -1;
+        }
+        int copiados = Math.min(len, this.e_limite - this.e_posicion);
+        System.arraycopy(this.e_buffer, this.e_posicion, b, off, copiados);
+        this.e_posicion += copiados;
+        return copiados;
+    }
+
+    /**
+     * Lee y encripta el siguiente bloque, hasta el primer byte invalido si lo hay.
+     * @return Falso si el flujo termino
+     */
+    private boolean llenar() throws IOException {
+        if (this.e_hayByteInvalido) {
+            throw new IOException("The byte " + (this.e_byteInvalido & 0xFF) + " is not an uppercase ASCII letter");
+        }
+        int leidos;
+        do {
+            leidos = this.e_entrada.read(this.e_buffer, 0, this.e_buffer.length);
+        } while (leidos == 0);
+        if (leidos < 0) {
+            return false;
+        }
+        int invalido = EnigmaMachineImplementation.primerCaracterInvalido(this.e_buffer, 0, leidos);
+        int validos = invalido < 0 ? leidos : invalido;
+        this.e_maquina.encrypt(this.e_buffer, 0, validos);
+        this.e_posicion = 0;
+        this.e_limite = validos;
+        if (invalido >= 0) {
+            this.e_hayByteInvalido = true;
+            this.e_byteInvalido = this.e_buffer[invalido];
+            if (validos == 0) {
+                return this.llenar();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        this.asegurarAbierto();
+        return this.e_limite - this.e_posicion;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!this.e_cerrado) {
+            this.e_cerrado = true;
+            this.e_entrada.close();
+        }
+    }
+
+    private void asegurarAbierto() throws IOException {
+        if (this.e_cerrado) {
+            throw new IOException("The stream is closed");
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye una cache LRU de maquinas compiladas por clave. Construir una
+ * {@link EnigmaMachineConfiguration} desde una {@link EnigmaKey} busca los rotores en el catalogo, calcula las filas
+ * por ring setting y decodifica el reflector y el plugboard; compilar una {@link CompiledEnigmaKey} ademas recorre un
+ * periodo completo de la maquina. Un servicio que recibe las mismas claves del dia una y otra vez puede reutilizar
+ * ambos resultados, ya que son inmutables y se comparten entre hilos.
+ * <br><br>
+ * Las llaves son la forma canonica de la clave ({@link EnigmaKey#canonica()}), por lo que "BA DC" y "AB CD" comparten
+ * la entrada. Las configuraciones no dependen de los indicadores y se guardan sin ellos; las claves compiladas si
+ * dependen de ellos. La cache tiene un limite en bytes (las claves compiladas pesan cientos de kilobytes y las
+ * configuraciones menos de uno) y al superarlo desaloja las entradas usadas hace mas tiempo. La construccion de una
+ * entrada ocurre fuera del candado, por lo que una clave lenta no bloquea las consultas de las demas.
+ */
+public final class EnigmaMachineCache {
+
+    /**
+     * Limite en bytes de la cache compartida
+     */
+    public static final long PESO_MAXIMO_POR_DEFECTO = 64L * 1024 * 1024;
+
+    /**
+     * Cache compartida por los metodos que reciben una clave (por ejemplo {@link SpecializedEnigmaMachine} y
+     * {@link ParallelFileEncryptor})
+     */
+    public static final EnigmaMachineCache COMPARTIDA = new EnigmaMachineCache(PESO_MAXIMO_POR_DEFECTO);
+
+    /**
+     * Estadisticas acumuladas de la cache.
+     * @param aciertos: Consultas que encontraron su entrada
+     * @param fallos: Consultas que construyeron su entrada
+     * @param desalojos: Entradas eliminadas por el limite de memoria
+     * @param entradas: Entradas actuales
+     * @param pesoEnBytes: Memoria aproximada de las entradas actuales
+     */
+    public record Estadisticas(long aciertos, long fallos, long desalojos, int entradas, long pesoEnBytes) {
+
+        /**
+         * Proporcion de consultas que encontraron su entrada, o cero si no hubo consultas.
+         * @return Tasa de aciertos entre 0 y 1
+         */
+        public double tasaDeAciertos() {
+            long consultas = this.aciertos + this.fallos;
+            return consultas == 0 ? 0.0 : (double) this.aciertos / consultas;
+        }
+    }
+
+    /**
+     * Llave de una entrada: la clave canonica y el tipo de valor (las configuraciones se guardan sin indicadores). La
+     * forma canonica y el hash se calculan una sola vez, fuera del candado, y la comparacion es campo por campo.
+     */
+    private static final class Llave {
+        private final EnigmaKey e_clave;
+        private final boolean e_compilada;
+        private final int e_hash;
+
+        private Llave(EnigmaKey canonica, boolean compilada) {
+            this.e_clave = canonica;
+            this.e_compilada = compilada;
+            this.e_hash = 31 * canonica.hashCode() + Objects.hashCode(canonica.plugboard)
+                    + Boolean.hashCode(compilada);
+        }
+
+        EnigmaKey clave() {
+            return this.e_clave;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (this == otro) {
+                return true;
+            }
+            if (!(otro instanceof Llave otra) || this.e_hash != otra.e_hash || this.e_compilada != otra.e_compilada) {
+                return false;
+            }
+            EnigmaKey primera = this.e_clave;
+            EnigmaKey segunda = otra.e_clave;
+            return Arrays.equals(primera.rotors, segunda.rotors)
+                    && Arrays.equals(primera.indicators, segunda.indicators)
+                    && Arrays.equals(primera.rings, segunda.rings)
+                    && primera.reflector.equals(segunda.reflector) && primera.plugboard.equals(segunda.plugboard);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.e_hash;
+        }
+    }
+
+    private record Entrada(Object valor, long peso) {
+    }
+
+    private final long e_pesoMaximoEnBytes;
+    private final LinkedHashMap<Llave, Entrada> e_entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long e_pesoActual;
+    private long e_aciertos;
+    private long e_fallos;
+    private long e_desalojos;
+
+    /**
+     * Constructor de una cache con un limite de memoria.
+     * @param pesoMaximoEnBytes: Memoria maxima aproximada de las entradas
+     * @throws IllegalArgumentException si el limite no es positivo
+     */
+    public EnigmaMachineCache(long pesoMaximoEnBytes) {
+        if (pesoMaximoEnBytes <= 0) {
+            throw new IllegalArgumentException("The cache weight limit must be positive: " + pesoMaximoEnBytes);
+        }
+        this.e_pesoMaximoEnBytes = pesoMaximoEnBytes;
+    }
+
+    /**
+     * Retorna la configuracion inmutable de una clave, construyendola solo si no esta en la cache.
+     * @param externalKey: Clave de la maquina (los indicadores no se usan)
+     * @return Configuracion compartida
+     */
+    public EnigmaMachineConfiguration configuracion(EnigmaKey externalKey) {
+        EnigmaKey canonica = externalKey.canonica();
+        canonica.indicators = new int[canonica.indicators.length];
+        return (EnigmaMachineConfiguration) this.obtener(new Llave(canonica, false),
+                llave -> EnigmaMachineConfiguration.desdeClave(llave.clave()));
+    }
+
+    /**
+     * Retorna la clave compilada desde los indicadores de una clave, compilandola solo si no esta en la cache. La
+     * configuracion se toma de {@link #configuracion(EnigmaKey)}. Si la version vectorial esta habilitada, la copia
+     * en enteros de la tabla se construye antes de pesar la entrada, ya que el peso solo se calcula al insertarla.
+     * @param externalKey: Clave de la maquina
+     * @return Clave compilada compartida
+     */
+    public CompiledEnigmaKey compilada(EnigmaKey externalKey) {
+        return (CompiledEnigmaKey) this.obtener(new Llave(externalKey.canonica(), true), llave -> {
+            CompiledEnigmaKey compilada = CompiledEnigmaKey.compile(this.configuracion(llave.clave()),
+                    EnigmaMachineCursor.desdeClave(llave.clave()));
+            if (VectorSupport.DISPONIBLE && VectorCompiledEncryptor.CONVENIENTE) {
+                compilada.tablaDeEnteros();
+            }
+            return compilada;
+        });
+    }
+
+    private Object obtener(Llave llave, Function<Llave, Object> constructor) {
+        synchronized (this.e_entradas) {
+            Entrada entrada = this.e_entradas.get(llave);
+            if (entrada != null) {
+                this.e_aciertos++;
+                return entrada.valor();
+            }
+            this.e_fallos++;
+        }
+        Object valor = constructor.apply(llave);
+        long peso = valor instanceof CompiledEnigmaKey compilada
+                ? compilada.pesoEnBytes() : ((EnigmaMachineConfiguration) valor).pesoEnBytes();
+        synchronized (this.e_entradas) {
+            //! Si otro hilo construyo la misma entrada mientras tanto, se conserva la suya
+            Entrada existente = this.e_entradas.putIfAbsent(llave, new Entrada(valor, peso));
+            if (existente != null) {
+                return existente.valor();
+            }
+            this.e_pesoActual += peso;
+            this.desalojar();
+            return valor;
+        }
+    }
+
+    /**
+     * Elimina las entradas usadas hace mas tiempo hasta respetar el limite; la entrada recien agregada se conserva
+     * aunque por si sola supere el limite.
+     */
+    private void desalojar() {
+        Iterator<Entrada> iterador = this.e_entradas.values().iterator();
+        while (this.e_pesoActual > this.e_pesoMaximoEnBytes && this.e_entradas.size() > 1) {
+            Entrada entrada = iterador.next();
+            iterador.remove();
+            this.e_pesoActual -= entrada.peso();
+            this.e_desalojos++;
+        }
+    }
+
+    /**
+     * Elimina todas las entradas; las estadisticas se conservan.
+     */
+    public void limpiar() {
+        synchronized (this.e_entradas) {
+            this.e_entradas.clear();
+            this.e_pesoActual = 0;
+        }
+    }
+
+    /**
+     * Retorna una copia de las estadisticas actuales.
+     * @return Estadisticas de la cache
+     */
+    public Estadisticas estadisticas() {
+        synchronized (this.e_entradas) {
+            return new Estadisticas(this.e_aciertos, this.e_fallos, this.e_desalojos, this.e_entradas.size(),
+                    this.e_pesoActual);
+        }
+    }
+
+    public long getE_pesoMaximoEnBytes() {
+        return this.e_pesoMaximoEnBytes;
+    }
+}
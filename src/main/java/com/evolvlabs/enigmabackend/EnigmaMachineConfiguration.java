@@ -0,0 +1,471 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la configuracion inmutable de una maquina enigma: los cableados de los
+ * tres rotores (como tablas precalculadas por desplazamiento), sus ring settings y muescas, el mecanismo de rotacion,
+ * el reflector y el plugboard.
+ * A diferencia de {@link EnigmaMachineImplementation}, esta clase no guarda las posiciones de los rotores; estas viven
+ * en un {@link EnigmaMachineCursor} por mensaje.
+ * <br><br>
+ * Ningun campo cambia luego de la construccion, por lo que una sola instancia se puede compartir entre cualquier
+ * numero de hilos, y cada solicitud solo necesita crear su propio cursor de tres enteros. Los arreglos no son copias
+ * privadas: las tablas de los rotores se comparten con {@link RotorCatalog}, la tabla de estados siguientes con
+ * {@link StepSchedule}, y las configuraciones creadas con {@link #conReflector(ReflectorImplementation)} comparten
+ * todas las tablas con su original. Ningun arreglo de esta clase se debe escribir nunca.
+ */
+public final class EnigmaMachineConfiguration {
+
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+
+    /**
+     * Nombres de los rotores usados, de izquierda a derecha
+     */
+    private final String[] e_nombresDeRotores;
+    /**
+     * Ring settings de los rotores, de izquierda a derecha
+     */
+    private final int[] e_ringSettings;
+    /**
+     * Nombre del reflector usado
+     */
+    private final String e_nombreDelReflector;
+
+    //! Tablas precalculadas por desplazamiento (ver RotorImplementation), compartidas con RotorCatalog
+    final int[] e_izquierdoFrente;
+    final int[] e_izquierdoRegreso;
+    final int[] e_medioFrente;
+    final int[] e_medioRegreso;
+    final int[] e_derechoFrente;
+    final int[] e_derechoRegreso;
+
+    /**
+     * Para cada posicion posible del rotor, inicio de la fila activa en las tablas precalculadas. Incorpora el ring
+     * setting, por lo que el camino de encriptado no necesita aritmetica modular.
+     */
+    final int[] e_filaIzquierda;
+    final int[] e_filaMedia;
+    final int[] e_filaDerecha;
+
+    /**
+     * Muescas de cada rotor como mascaras de 26 bits
+     */
+    final int e_muescasIzquierdo;
+    final int e_muescasMedio;
+    final int e_muescasDerecho;
+
+    /**
+     * Mecanismo de rotacion y su tabla de estados siguientes (compartida con {@link StepSchedule})
+     */
+    private final SteppingMechanism e_mecanismoDeRotacion;
+    final int[] e_estadoSiguiente;
+
+    /**
+     * Cableado del reflector y del plugboard
+     */
+    final int[] e_reflector;
+    final int[] e_plugBoard;
+
+    private EnigmaMachineConfiguration(RotorImplementation rotorIzquierdo, RotorImplementation rotorMedio,
+                                       RotorImplementation rotorDerecho, ReflectorImplementation reflector,
+                                       PlugBoardImplementation plugBoard, SteppingMechanism mecanismo) {
+        this.e_nombresDeRotores = new String[]{rotorIzquierdo.getE_rotorName(), rotorMedio.getE_rotorName(),
+                rotorDerecho.getE_rotorName()};
+        this.e_ringSettings = new int[]{rotorIzquierdo.getE_RingSetting(), rotorMedio.getE_RingSetting(),
+                rotorDerecho.getE_RingSetting()};
+        this.e_nombreDelReflector = reflector.getE_rotorName();
+
+        this.e_izquierdoFrente = rotorIzquierdo.tablaFrenteCompartida();
+        this.e_izquierdoRegreso = rotorIzquierdo.tablaRegresoCompartida();
+        this.e_medioFrente = rotorMedio.tablaFrenteCompartida();
+        this.e_medioRegreso = rotorMedio.tablaRegresoCompartida();
+        this.e_derechoFrente = rotorDerecho.tablaFrenteCompartida();
+        this.e_derechoRegreso = rotorDerecho.tablaRegresoCompartida();
+
+        this.e_filaIzquierda = filasPorPosicion(rotorIzquierdo.getE_RingSetting());
+        this.e_filaMedia = filasPorPosicion(rotorMedio.getE_RingSetting());
+        this.e_filaDerecha = filasPorPosicion(rotorDerecho.getE_RingSetting());
+
+        this.e_muescasIzquierdo = rotorIzquierdo.obtenerMascaraDeMuescas();
+        this.e_muescasMedio = rotorMedio.obtenerMascaraDeMuescas();
+        this.e_muescasDerecho = rotorDerecho.obtenerMascaraDeMuescas();
+        this.e_mecanismoDeRotacion = mecanismo;
+        this.e_estadoSiguiente = StepSchedule.paraMecanismo(mecanismo, this.e_muescasMedio, this.e_muescasDerecho)
+                .tablaDeSiguientes();
+
+        this.e_reflector = new int[N];
+        this.e_plugBoard = new int[N];
+        for (int letra = 0; letra < N; letra++) {
+            this.e_reflector[letra] = reflector.getForwardLinkBasedOnCharacter(letra);
+            this.e_plugBoard[letra] = plugBoard.getForwardWiringBasedOnCharacter(letra);
+        }
+    }
+
+    /**
+     * Constructor de copia que reemplaza el reflector. Las tablas de los rotores, las filas por posicion y la tabla de
+     * rotacion se comparten con la configuracion original.
+     */
+    private EnigmaMachineConfiguration(EnigmaMachineConfiguration base, ReflectorImplementation reflector) {
+        this.e_nombresDeRotores = base.e_nombresDeRotores;
+        this.e_ringSettings = base.e_ringSettings;
+        this.e_nombreDelReflector = reflector.getE_rotorName();
+        this.e_izquierdoFrente = base.e_izquierdoFrente;
+        this.e_izquierdoRegreso = base.e_izquierdoRegreso;
+        this.e_medioFrente = base.e_medioFrente;
+        this.e_medioRegreso = base.e_medioRegreso;
+        this.e_derechoFrente = base.e_derechoFrente;
+        this.e_derechoRegreso = base.e_derechoRegreso;
+        this.e_filaIzquierda = base.e_filaIzquierda;
+        this.e_filaMedia = base.e_filaMedia;
+        this.e_filaDerecha = base.e_filaDerecha;
+        this.e_muescasIzquierdo = base.e_muescasIzquierdo;
+        this.e_muescasMedio = base.e_muescasMedio;
+        this.e_muescasDerecho = base.e_muescasDerecho;
+        this.e_mecanismoDeRotacion = base.e_mecanismoDeRotacion;
+        this.e_estadoSiguiente = base.e_estadoSiguiente;
+        this.e_plugBoard = base.e_plugBoard;
+        this.e_reflector = new int[N];
+        for (int letra = 0; letra < N; letra++) {
+            this.e_reflector[letra] = reflector.getForwardLinkBasedOnCharacter(letra);
+        }
+    }
+
+    /**
+     * Crea una configuracion inmutable con los rotores, reflector y plugboard de una maquina existente. Las posiciones
+     * actuales de la maquina no forman parte de la configuracion (ver {@link EnigmaMachineCursor#desdeMaquina}).
+     * @param externalMachine: Maquina de la cual se copia la configuracion
+     * @return Configuracion inmutable
+     */
+    public static EnigmaMachineConfiguration desdeMaquina(EnigmaMachineImplementation externalMachine) {
+        return new EnigmaMachineConfiguration(externalMachine.getE_rotorIzquierdo(), externalMachine.getE_rotorMedio(),
+                externalMachine.getE_rotorDerecho(), externalMachine.getE_reflectorInterno(),
+                externalMachine.getE_plugBoardInterno(), externalMachine.getE_mecanismoDeRotacion());
+    }
+
+    /**
+     * Crea una configuracion inmutable a partir de una clave. Los indicadores de la clave no forman parte de la
+     * configuracion (ver {@link EnigmaMachineCursor#desdeClave}).
+     * @param externalKey: Clave de la cual se toman rotores, anillos, reflector y plugboard
+     * @return Configuracion inmutable
+     */
+    public static EnigmaMachineConfiguration desdeClave(EnigmaKey externalKey) {
+        return desdeClave(externalKey, SteppingMechanism.DOUBLE_STEPPING);
+    }
+
+    /**
+     * Crea una configuracion inmutable a partir de una clave para una variante con otro mecanismo de rotacion.
+     * @param externalKey: Clave de la cual se toman rotores, anillos, reflector y plugboard
+     * @param mecanismo: Mecanismo de rotacion de la variante
+     * @return Configuracion inmutable
+     */
+    public static EnigmaMachineConfiguration desdeClave(EnigmaKey externalKey, SteppingMechanism mecanismo) {
+        EnigmaMachineImplementation machine = new EnigmaMachineImplementation(externalKey);
+        machine.setE_mecanismoDeRotacion(mecanismo);
+        return desdeMaquina(machine);
+    }
+
+    /**
+     * Retorna una configuracion igual a esta con otro reflector (por ejemplo, otro cableado de UKW-D). Las tablas de
+     * los rotores no se recalculan; solo se copia el cableado de 26 entradas del reflector.
+     * @param externalReflector: Reflector de la nueva configuracion
+     * @return Configuracion inmutable con el reflector reemplazado
+     */
+    public EnigmaMachineConfiguration conReflector(ReflectorImplementation externalReflector) {
+        return new EnigmaMachineConfiguration(this, externalReflector);
+    }
+
+    private static int[] filasPorPosicion(int ringSetting) {
+        int[] filas = new int[N];
+        for (int posicion = 0; posicion < N; posicion++) {
+            filas[posicion] = Math.floorMod(posicion - ringSetting, N) * N;
+        }
+        return filas;
+    }
+
+    /**
+     * Estimacion de la memoria propia de la configuracion; las tablas de los rotores y la tabla de rotacion se
+     * comparten con {@link RotorCatalog} y {@link StepSchedule}, por lo que no se cuentan.
+     * @return Bytes aproximados que ocupa la configuracion
+     */
+    long pesoEnBytes() {
+        return 256L + 4L * (this.e_filaIzquierda.length + this.e_filaMedia.length + this.e_filaDerecha.length
+                + this.e_reflector.length + this.e_plugBoard.length);
+    }
+
+    public String[] getE_nombresDeRotores() {
+        return this.e_nombresDeRotores.clone();
+    }
+
+    public int[] getE_ringSettings() {
+        return this.e_ringSettings.clone();
+    }
+
+    /**
+     * Nombre de un rotor sin copiar el arreglo, para comparaciones dentro del paquete.
+     */
+    String nombreDeRotor(int indice) {
+        return this.e_nombresDeRotores[indice];
+    }
+
+    /**
+     * Ring setting de un rotor sin copiar el arreglo, para comparaciones dentro del paquete.
+     */
+    int ringSetting(int indice) {
+        return this.e_ringSettings[indice];
+    }
+
+    /**
+     * Indica si la configuracion es la de una maquina (rotores, anillos, cableados del reflector y del plugboard y
+     * mecanismo de rotacion). Las posiciones de los rotores no forman parte de la comparacion, que lee los campos de
+     * la maquina sin reservar memoria.
+     */
+    boolean coincideCon(EnigmaMachineImplementation maquina) {
+        for (int i = 0; i < this.e_nombresDeRotores.length; i++) {
+            RotorImplementation rotor = rotor(maquina, i);
+            if (!this.e_nombresDeRotores[i].equals(rotor.getE_rotorName())
+                    || this.e_ringSettings[i] != rotor.getE_RingSetting()) {
+                return false;
+            }
+        }
+        ReflectorImplementation reflector = maquina.getE_reflectorInterno();
+        PlugBoardImplementation plugBoard = maquina.getE_plugBoardInterno();
+        for (int letra = 0; letra < N; letra++) {
+            if (this.e_reflector[letra] != reflector.getForwardLinkBasedOnCharacter(letra)
+                    || this.e_plugBoard[letra] != plugBoard.getForwardWiringBasedOnCharacter(letra)) {
+                return false;
+            }
+        }
+        return this.e_mecanismoDeRotacion == maquina.getE_mecanismoDeRotacion();
+    }
+
+    /**
+     * Rotor de una maquina por indice: 0 el izquierdo, 1 el medio y 2 el derecho.
+     */
+    static RotorImplementation rotor(EnigmaMachineImplementation maquina, int indice) {
+        return switch (indice) {
+            case 0 -> maquina.getE_rotorIzquierdo();
+            case 1 -> maquina.getE_rotorMedio();
+            default -> maquina.getE_rotorDerecho();
+        };
+    }
+
+    public String getE_nombreDelReflector() {
+        return this.e_nombreDelReflector;
+    }
+
+    public SteppingMechanism getE_mecanismoDeRotacion() {
+        return this.e_mecanismoDeRotacion;
+    }
+
+    /**
+     * Aplica al cursor la rotacion previa a cada caracter segun el mecanismo de la configuracion. La rotacion es una
+     * lectura de la tabla compilada de estados siguientes, sin condiciones, por lo que todas las variantes cuestan lo
+     * mismo que la maquina estandar.
+     * @param cursor: Cursor del mensaje a rotar
+     */
+    public void rotar(EnigmaMachineCursor cursor) {
+        cursor.restore(this.e_estadoSiguiente[cursor.snapshot()]);
+    }
+
+    /**
+     * Retorna la estructura ciclica de rotacion de esta configuracion (compartida entre configuraciones con el mismo
+     * mecanismo y las mismas muescas).
+     * @return Instancia de StepSchedule
+     */
+    public StepSchedule obtenerStepSchedule() {
+        return StepSchedule.paraMecanismo(this.e_mecanismoDeRotacion, this.e_muescasMedio, this.e_muescasDerecho);
+    }
+
+    /**
+     * Avanza el cursor como si se hubieran encriptado el numero de letras indicado, sin recorrerlas una por una.
+     * @param cursor: Cursor del mensaje
+     * @param letras: Numero de letras a saltar (mayor o igual a cero)
+     */
+    public void seek(EnigmaMachineCursor cursor, long letras) {
+        cursor.restore(this.obtenerStepSchedule().avanzar(cursor.snapshot(), letras));
+    }
+
+    /**
+     * Realiza la mitad del recorrido de un caracter (plugboard y rotores hacia el frente) hasta la entrada del
+     * reflector. El recorrido de regreso es la permutacion inversa, por lo que el recorrido completo es
+     * inversa(reflector(entrada(letra))).
+     * @param cursor: Cursor del mensaje
+     * @param letra: Posicion del caracter en el alfabeto (0-25)
+     * @return Letra que llega al reflector (0-25)
+     */
+    int entradaAlReflector(EnigmaMachineCursor cursor, int letra) {
+        int valor = this.e_plugBoard[letra];
+        valor = this.e_derechoFrente[this.e_filaDerecha[cursor.e_posicionDerecha] + valor];
+        valor = this.e_medioFrente[this.e_filaMedia[cursor.e_posicionMedia] + valor];
+        return this.e_izquierdoFrente[this.e_filaIzquierda[cursor.e_posicionIzquierda] + valor];
+    }
+
+    /**
+     * Realiza el recorrido completo de un caracter con las posiciones actuales del cursor, sin rotarlo.
+     * @param cursor: Cursor del mensaje
+     * @param letra: Posicion del caracter en el alfabeto (0-25)
+     * @return Posicion del caracter encriptado en el alfabeto (0-25)
+     */
+    public int encriptadoSinRotacion(EnigmaMachineCursor cursor, int letra) {
+        int filaIzquierda = this.e_filaIzquierda[cursor.e_posicionIzquierda];
+        int filaMedia = this.e_filaMedia[cursor.e_posicionMedia];
+        int filaDerecha = this.e_filaDerecha[cursor.e_posicionDerecha];
+
+        int valor = this.e_plugBoard[letra];
+        valor = this.e_derechoFrente[filaDerecha + valor];
+        valor = this.e_medioFrente[filaMedia + valor];
+        valor = this.e_izquierdoFrente[filaIzquierda + valor];
+        valor = this.e_reflector[valor];
+        valor = this.e_izquierdoRegreso[filaIzquierda + valor];
+        valor = this.e_medioRegreso[filaMedia + valor];
+        valor = this.e_derechoRegreso[filaDerecha + valor];
+        return this.e_plugBoard[valor];
+    }
+
+    /**
+     * Rota el cursor y encripta un caracter, equivalente a {@link EnigmaMachineImplementation#encriptadoDeCaracter(int)}
+     * pero sin modificar ningun estado compartido.
+     * @param cursor: Cursor del mensaje
+     * @param letra: Posicion del caracter en el alfabeto (0-25)
+     * @return Posicion del caracter encriptado en el alfabeto (0-25)
+     */
+    public int encriptadoDeCaracter(EnigmaMachineCursor cursor, int letra) {
+        if (letra < 0 || letra >= N) {
+            throw new IllegalStateException("The integer value passed for character is incorrect");
+        }
+        this.rotar(cursor);
+        return this.encriptadoSinRotacion(cursor, letra);
+    }
+
+    /**
+     * Encripta un rango de caracteres en mayuscula ('A'-'Z') avanzando el cursor. Los espacios en blanco se copian sin
+     * modificar y no rotan los rotores. Cualquier otro caracter produce una IllegalStateException.
+     *
+     * @param cursor: Cursor del mensaje
+     * @param src: Arreglo de origen
+     * @param srcOff: Inicio del rango dentro del origen
+     * @param dst: Arreglo de destino (puede ser el mismo origen)
+     * @param dstOff: Inicio del rango dentro del destino
+     * @param len: Numero de caracteres a procesar
+     * @return Numero de letras encriptadas (caracteres que rotaron el cursor)
+     */
+    public int encrypt(EnigmaMachineCursor cursor, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        int procesados = 0;
+        for (int i = 0; i < len; i++) {
+            char caracter = src[srcOff + i];
+            int letra = caracter - 'A';
+            if (letra >= 0 && letra < N) {
+                this.rotar(cursor);
+                dst[dstOff + i] = (char) (this.encriptadoSinRotacion(cursor, letra) + 'A');
+                procesados++;
+            } else if (Character.isWhitespace(caracter)) {
+                dst[dstOff + i] = caracter;
+            } else {
+                throw new IllegalStateException("The character '" + caracter + "' is not an uppercase letter");
+            }
+        }
+        return procesados;
+    }
+
+    /**
+     * Encripta los bytes ASCII restantes de src (entre position y limit) escribiendolos en dst, con las mismas reglas
+     * que {@link #encrypt(EnigmaMachineCursor, char[], int, char[], int, int)}. Al terminar, la position de ambos
+     * buffers avanza en el numero de bytes procesados; src y dst pueden ser el mismo buffer. Funciona con buffers en
+     * heap, directos o mapeados a archivos.
+     *
+     * @param cursor: Cursor del mensaje
+     * @param src: Buffer de origen
+     * @param dst: Buffer de destino, con al menos src.remaining() bytes disponibles
+     * @return Numero de letras encriptadas
+     */
+    public int encrypt(EnigmaMachineCursor cursor, ByteBuffer src, ByteBuffer dst) {
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new BufferOverflowException();
+        }
+        int srcPos = src.position();
+        int dstPos = dst.position();
+        int procesados = 0;
+        for (int i = 0; i < len; i++) {
+            byte caracter = src.get(srcPos + i);
+            int letra = caracter - 'A';
+            if (letra >= 0 && letra < N) {
+                this.rotar(cursor);
+                dst.put(dstPos + i, (byte) (this.encriptadoSinRotacion(cursor, letra) + 'A'));
+                procesados++;
+            } else if (Character.isWhitespace((char) (caracter & 0xFF))) {
+                dst.put(dstPos + i, caracter);
+            } else {
+                throw new IllegalStateException("The byte " + (caracter & 0xFF) + " is not an uppercase ASCII letter");
+            }
+        }
+        src.position(srcPos + len);
+        if (dst != src) {
+            dst.position(dstPos + len);
+        }
+        return procesados;
+    }
+
+    /**
+     * Encripta los caracteres restantes de src escribiendolos en dst, pensado para consumir directamente la salida de
+     * {@link TextNormalizer}: las letras 'A'-'Z' se encriptan y rotan el cursor, y cualquier otro caracter (espacios o
+     * caracteres que la politica PASS_THROUGH deja pasar) se copia sin modificar y no rota los rotores. Al terminar, la
+     * posicion de ambos buffers avanza en el numero de caracteres procesados; src y dst pueden ser el mismo buffer.
+     * A diferencia de los metodos encrypt, que rechazan lo que no es una letra o un espacio en blanco, este metodo
+     * nunca falla por el contenido del texto, por lo que tiene su propio nombre.
+     *
+     * @param cursor: Cursor del mensaje
+     * @param src: Buffer de origen, normalmente la salida de un TextNormalizer
+     * @param dst: Buffer de destino, con al menos src.remaining() caracteres disponibles
+     * @return Numero de letras encriptadas
+     */
+    public int encryptNormalizado(EnigmaMachineCursor cursor, CharBuffer src, CharBuffer dst) {
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new BufferOverflowException();
+        }
+        int srcPos = src.position();
+        int dstPos = dst.position();
+        int procesados = 0;
+        for (int i = 0; i < len; i++) {
+            char caracter = src.get(srcPos + i);
+            int letra = caracter - 'A';
+            if (letra >= 0 && letra < N) {
+                this.rotar(cursor);
+                caracter = (char) (this.encriptadoSinRotacion(cursor, letra) + 'A');
+                procesados++;
+            }
+            dst.put(dstPos + i, caracter);
+        }
+        src.position(srcPos + len);
+        if (dst != src) {
+            dst.position(dstPos + len);
+        }
+        return procesados;
+    }
+
+    /**
+     * Equivalente a {@link EnigmaMachineImplementation#encriptadodeCaracter(char[])} usando un cursor: encripta el
+     * mensaje completo y reemplaza los espacios en blanco por ' '.
+     * @param cursor: Cursor del mensaje
+     * @param externalCharactersMarkerZeroBased: Mensaje en mayusculas
+     * @return Arreglo con el mensaje encriptado
+     */
+    public char[] encriptadodeCaracter(EnigmaMachineCursor cursor, char[] externalCharactersMarkerZeroBased) {
+        char[] retornoDeEncriptado = new char[externalCharactersMarkerZeroBased.length];
+        this.encrypt(cursor, externalCharactersMarkerZeroBased, 0, retornoDeEncriptado, 0, retornoDeEncriptado.length);
+        for (int i = 0; i < retornoDeEncriptado.length; i++) {
+            if (Character.isWhitespace(retornoDeEncriptado[i])) {
+                retornoDeEncriptado[i] = ' ';
+            }
+        }
+        return retornoDeEncriptado;
+    }
+}
@@ -0,0 +1,100 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el estado por mensaje de una maquina enigma: unicamente las posiciones de
+ * los tres rotores. Toda la informacion estatica de la maquina (cableados, anillos, reflector y plugboard) vive en una
+ * {@link EnigmaMachineConfiguration} inmutable que se puede compartir entre hilos, mientras que cada mensaje o
+ * solicitud usa su propio cursor.
+ * <br><br>
+ * El cursor no es thread-safe; cada hilo debe usar su propia instancia. Permite guardar y restaurar su estado como un
+ * solo entero en el rango [0, 26^3) para poder regresar a un punto conocido del mensaje sin crear objetos nuevos.
+ */
+@Getter(AccessLevel.PUBLIC)
+@Setter(AccessLevel.PUBLIC)
+public final class EnigmaMachineCursor {
+
+    /**
+     * Posicion actual del rotor izquierdo (aquel que rota mas lento)
+     */
+    int e_posicionIzquierda;
+    /**
+     * Posicion actual del rotor medio
+     */
+    int e_posicionMedia;
+    /**
+     * Posicion actual del rotor derecho (aquel que rota en cada caracter)
+     */
+    int e_posicionDerecha;
+
+    /**
+     * Constructor del cursor a partir de las posiciones de los rotores, de izquierda a derecha.
+     * @param posicionIzquierda: Posicion del rotor izquierdo [0,25]
+     * @param posicionMedia: Posicion del rotor medio [0,25]
+     * @param posicionDerecha: Posicion del rotor derecho [0,25]
+     */
+    public EnigmaMachineCursor(int posicionIzquierda, int posicionMedia, int posicionDerecha) {
+        this.e_posicionIzquierda = posicionIzquierda;
+        this.e_posicionMedia = posicionMedia;
+        this.e_posicionDerecha = posicionDerecha;
+    }
+
+    /**
+     * Constructor de copia del cursor.
+     * @param anotherCursor: Cursor del cual se copian las posiciones
+     */
+    public EnigmaMachineCursor(EnigmaMachineCursor anotherCursor) {
+        this(anotherCursor.e_posicionIzquierda, anotherCursor.e_posicionMedia, anotherCursor.e_posicionDerecha);
+    }
+
+    /**
+     * Crea un cursor ubicado en las posiciones iniciales (indicadores) de una clave. Los indicadores se reducen
+     * modulo 26, igual que en {@link EnigmaKey#canonica()}.
+     * @param externalKey: Clave de la cual se toman los indicadores
+     * @return Cursor nuevo en el inicio del mensaje
+     */
+    public static EnigmaMachineCursor desdeClave(EnigmaKey externalKey) {
+        int primero = EnigmaMachineImplementation.primerRotorMovil(externalKey.rotors);
+        return new EnigmaMachineCursor(
+                Math.floorMod(externalKey.indicators[primero], RotorImplementation.MAX_ALPHABET_SIZE),
+                Math.floorMod(externalKey.indicators[primero + 1], RotorImplementation.MAX_ALPHABET_SIZE),
+                Math.floorMod(externalKey.indicators[primero + 2], RotorImplementation.MAX_ALPHABET_SIZE));
+    }
+
+    /**
+     * Crea un cursor con las posiciones actuales de los rotores de una maquina.
+     * @param externalMachine: Maquina de la cual se toman las posiciones
+     * @return Cursor nuevo con las posiciones de la maquina
+     */
+    public static EnigmaMachineCursor desdeMaquina(EnigmaMachineImplementation externalMachine) {
+        return new EnigmaMachineCursor(externalMachine.getE_rotorIzquierdo().getE_rotorPosition(),
+                externalMachine.getE_rotorMedio().getE_rotorPosition(),
+                externalMachine.getE_rotorDerecho().getE_rotorPosition());
+    }
+
+    /**
+     * Guarda el estado actual del cursor como un entero (izquierda * 676 + media * 26 + derecha).
+     * @return Estado empaquetado del cursor
+     */
+    public int snapshot() {
+        return (this.e_posicionIzquierda * RotorImplementation.MAX_ALPHABET_SIZE + this.e_posicionMedia)
+                * RotorImplementation.MAX_ALPHABET_SIZE + this.e_posicionDerecha;
+    }
+
+    /**
+     * Restaura un estado guardado previamente con {@link #snapshot()}.
+     * @param externalSnapshot: Estado empaquetado del cursor
+     */
+    public void restore(int externalSnapshot) {
+        this.e_posicionDerecha = externalSnapshot % RotorImplementation.MAX_ALPHABET_SIZE;
+        externalSnapshot /= RotorImplementation.MAX_ALPHABET_SIZE;
+        this.e_posicionMedia = externalSnapshot % RotorImplementation.MAX_ALPHABET_SIZE;
+        this.e_posicionIzquierda = externalSnapshot / RotorImplementation.MAX_ALPHABET_SIZE;
+    }
+}
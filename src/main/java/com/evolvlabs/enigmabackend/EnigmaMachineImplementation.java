@@ -5,6 +5,11 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
 /**
  * @author : Santiago Arellano
  * @Date: December 2nd, 2024
@@ -39,6 +44,32 @@ public class EnigmaMachineImplementation {
      * Instancia interna usada para representar el Plug board (si se usa) de la maquina
      */
     private PlugBoardImplementation e_plugBoardInterno;
+    /**
+     * Posiciones de los rotores al inicio del mensaje, empaquetadas como en {@link EnigmaMachineCursor#snapshot()}.
+     * Es el punto de referencia de {@link #seek(long)}; vale -1 si aun no se ha fijado.
+     */
+    @Setter(AccessLevel.NONE)
+    private int e_posicionInicial = -1;
+    /**
+     * Mecanismo de rotacion de la variante de la maquina (paso doble por defecto)
+     */
+    private SteppingMechanism e_mecanismoDeRotacion = SteppingMechanism.DOUBLE_STEPPING;
+    /**
+     * Tabla de rotacion del mecanismo con las muescas de los rotores medio y derecho actuales. Se actualiza con los
+     * setters del mecanismo y de esos rotores, por lo que rotar no busca la tabla en cada caracter; si se cambian las
+     * muescas de un rotor ya instalado, se debe volver a asignar con su setter
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private StepSchedule e_stepSchedule;
+    /**
+     * Ultima clave compilada por {@link CompiledEnigmaEngine} para esta maquina. Se reutiliza mientras la
+     * configuracion de la maquina no cambie, por lo que un mensaje largo procesado en varias llamadas solo se compila
+     * una vez
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CompiledEnigmaEngine.ClaveDeMaquina e_claveCompilada;
 
     //! Constructores
     /**
@@ -55,27 +86,33 @@ public class EnigmaMachineImplementation {
         this.setE_rotorDerecho(rotorDerecho);
         this.setE_reflectorInterno(reflector);
         this.setE_plugBoardInterno(plugBoard);
+        this.fijarPosicionInicial();
     }
 
     /**
      * Constructor de copia para la maquina Enigma.
      * Este constructor crea una nueva instancia de EnigmaMachineImplementation
-     * copiando las configuraciones de otra instancia existente.
+     * copiando las configuraciones de otra instancia existente. Los rotores y el plugboard se copian (no se
+     * comparten), de tal forma que ambas maquinas pueden rotar y modificar su plugboard de manera independiente; el
+     * reflector no cambia y se comparte.
      *
      * @param anotherEnigmaMachine Otra instancia de EnigmaMachineImplementation
      *                             de la cual se copiaran las configuraciones internas.
      */
     public EnigmaMachineImplementation(EnigmaMachineImplementation anotherEnigmaMachine){
-        this.setE_rotorIzquierdo(anotherEnigmaMachine.getE_rotorIzquierdo());
-        this.setE_rotorMedio(anotherEnigmaMachine.getE_rotorMedio());
-        this.setE_rotorDerecho(anotherEnigmaMachine.getE_rotorDerecho());
+        this.setE_rotorIzquierdo(anotherEnigmaMachine.getE_rotorIzquierdo().copiar());
+        this.setE_rotorMedio(anotherEnigmaMachine.getE_rotorMedio().copiar());
+        this.setE_rotorDerecho(anotherEnigmaMachine.getE_rotorDerecho().copiar());
         this.setE_reflectorInterno(anotherEnigmaMachine.getE_reflectorInterno());
-        this.setE_plugBoardInterno(anotherEnigmaMachine.getE_plugBoardInterno());
+        this.setE_plugBoardInterno(new PlugBoardImplementation(anotherEnigmaMachine.getE_plugBoardInterno()));
+        this.e_posicionInicial = anotherEnigmaMachine.e_posicionInicial;
+        this.setE_mecanismoDeRotacion(anotherEnigmaMachine.e_mecanismoDeRotacion);
     }
 
     /**
      * Constructor de la maquina de enigma, recibe los 5 parametros para inicializar las instancias internas de todas las variables
-     * en una sola instanciacion.
+     * en una sola instanciacion. Si se reciben cuatro rotores (maquina M4), el primero es la rueda griega y se combina
+     * con el reflector (ver {@link ReflectorImplementation#combinarConRuedaGriega}).
      * @param externalRotorConfigurations: Arreglo de strings con las configuraciones de los rotores
      * @param externalReflectorConfiguration: String con la configuracion del reflector
      * @param externalInitialRotorPositions: Arreglo de enteros con las posiciones iniciales de los rotores
@@ -86,18 +123,8 @@ public class EnigmaMachineImplementation {
                                        int[] externalInitialRotorPositions, int[] externalInitialRingPositions,
                                        String externalPlugBoardConfiguration)
     {
-        this.setE_rotorIzquierdo(RotorImplementation.createRotor(externalRotorConfigurations[0],
-                externalInitialRotorPositions[0],externalInitialRingPositions[0]));
-        this.setE_rotorMedio(RotorImplementation.createRotor(externalRotorConfigurations[1],
-                externalInitialRotorPositions[1],externalInitialRingPositions[1]));
-        this.setE_rotorDerecho(RotorImplementation.createRotor(externalRotorConfigurations[2],
-                externalInitialRotorPositions[2],externalInitialRingPositions[2]));
-
-        //! Create Reflectors
-        this.setE_reflectorInterno(ReflectorImplementation.createReflector(externalReflectorConfiguration));
-
-        //! Pass in the plugboard
-        this.setE_plugBoardInterno(new PlugBoardImplementation(externalPlugBoardConfiguration));
+        this(new EnigmaKey(externalRotorConfigurations, externalInitialRotorPositions, externalInitialRingPositions,
+                externalPlugBoardConfiguration, externalReflectorConfiguration));
     }
 
     public EnigmaMachineImplementation() {
@@ -105,18 +132,70 @@ public class EnigmaMachineImplementation {
     }
 
     public EnigmaMachineImplementation(EnigmaKey newKey) {
-        this.setE_rotorIzquierdo(RotorImplementation.createRotor(newKey.rotors[0],
-                newKey.indicators[0],newKey.rings[0]));
-        this.setE_rotorMedio(RotorImplementation.createRotor(newKey.rotors[1],
-                newKey.indicators[1],newKey.rings[1]));
-        this.setE_rotorDerecho(RotorImplementation.createRotor(newKey.rotors[2],
-                newKey.indicators[2],newKey.rings[2]));
+        //! En la M4 el primer rotor es la rueda griega, que se combina con el reflector
+        int primero = primerRotorMovil(newKey);
+        this.setE_rotorIzquierdo(RotorImplementation.createRotor(newKey.rotors[primero],
+                newKey.indicators[primero],newKey.rings[primero]));
+        this.setE_rotorMedio(RotorImplementation.createRotor(newKey.rotors[primero + 1],
+                newKey.indicators[primero + 1],newKey.rings[primero + 1]));
+        this.setE_rotorDerecho(RotorImplementation.createRotor(newKey.rotors[primero + 2],
+                newKey.indicators[primero + 2],newKey.rings[primero + 2]));
 
         //! Create Reflectors
-        this.setE_reflectorInterno(ReflectorImplementation.createReflector("B"));
+        this.setE_reflectorInterno(ReflectorImplementation.createReflector(newKey));
 
         //! Pass in the plugboard
         this.setE_plugBoardInterno(new PlugBoardImplementation(newKey.plugboard));
+        this.fijarPosicionInicial();
+    }
+
+
+    /**
+     * Retorna el indice del rotor izquierdo (el primero que puede rotar) dentro de los rotores de una clave: 0 para una
+     * maquina de tres rotores y 1 para una M4, cuyo primer rotor es la rueda griega. Las ruedas griegas (Beta y Gamma)
+     * solo pueden ocupar la primera posicion de una M4, y esa posicion solo puede ser una rueda griega.
+     * @param externalRotors: Nombres de los rotores de la clave
+     * @return Indice del rotor izquierdo
+     * @throws IllegalArgumentException si la clave no tiene tres o cuatro rotores o sus ruedas griegas estan fuera de
+     * lugar
+     */
+    public static int primerRotorMovil(String[] externalRotors) {
+        if (externalRotors.length != 3 && externalRotors.length != 4) {
+            throw new IllegalArgumentException("An Enigma key must have three rotors, or four for the M4");
+        }
+        int primero = externalRotors.length - 3;
+        if (primero == 1 && !RotorCatalog.esRuedaGriega(externalRotors[0])) {
+            throw new IllegalArgumentException("The first rotor of an M4 key must be the Beta or Gamma greek wheel, "
+                    + "not " + externalRotors[0]);
+        }
+        for (int i = primero; i < externalRotors.length; i++) {
+            if (RotorCatalog.esRuedaGriega(externalRotors[i])) {
+                throw new IllegalArgumentException("The greek wheel " + externalRotors[i]
+                        + " can only be the first rotor of an M4 key");
+            }
+        }
+        return primero;
+    }
+
+    /**
+     * Igual que {@link #primerRotorMovil(String[])}, validando ademas el reflector: una M4 solo usa los reflectores
+     * delgados B-THIN o C-THIN, y estos solo existen en la M4.
+     * @param externalKey: Clave de la maquina
+     * @return Indice del rotor izquierdo
+     * @throws IllegalArgumentException si la combinacion de rotores y reflector no existio en ninguna maquina
+     */
+    public static int primerRotorMovil(EnigmaKey externalKey) {
+        int primero = primerRotorMovil(externalKey.rotors);
+        boolean delgado = ReflectorImplementation.esReflectorDelgado(externalKey.reflector);
+        if (primero == 1 && !delgado) {
+            throw new IllegalArgumentException("An M4 key must use the B-THIN or C-THIN reflector, not "
+                    + externalKey.reflector);
+        }
+        if (primero == 0 && delgado) {
+            throw new IllegalArgumentException("The thin reflector " + externalKey.reflector
+                    + " requires an M4 key with a greek wheel");
+        }
+        return primero;
     }
 
 
@@ -126,9 +205,30 @@ public class EnigmaMachineImplementation {
      * especificamente si el rotor medio o el derecho están en la posicion de muesca.<br><br>
      * - Si el rotor medio esta en la muesca, se activa el giro del rotor medio e izquierdo.<br>
      * - Si solo el rotor derecho esta en la muesca, se activa el giro del rotor medio.<br>
-     * - Independientemente de las posiciones de los otros rotores, el rotor derecho siempre girara.<br>
+     * - Independientemente de las posiciones de los otros rotores, el rotor derecho siempre girara.<br><br>
+     * Si la maquina usa otro mecanismo de rotacion ({@link #setE_mecanismoDeRotacion}), las posiciones se toman de
+     * su tabla compilada en {@link StepSchedule}, sin reservar memoria, y solo giran los rotores que cambian.
      */
     public void rotacionRequeridaPorRotoresInternos(){
+        if (this.e_mecanismoDeRotacion != SteppingMechanism.DOUBLE_STEPPING){
+            //! El estado se empaqueta desde los rotores, ya que sus posiciones se pueden cambiar directamente
+            int izquierda = this.e_rotorIzquierdo.getE_rotorPosition();
+            int media = this.e_rotorMedio.getE_rotorPosition();
+            int derecha = this.e_rotorDerecho.getE_rotorPosition();
+            int giros = this.e_stepSchedule.giros(
+                    (izquierda * RotorImplementation.MAX_ALPHABET_SIZE + media) * RotorImplementation.MAX_ALPHABET_SIZE
+                            + derecha);
+            if ((giros & 1) != 0) {
+                this.e_rotorDerecho.turnover();
+            }
+            if ((giros & 2) != 0) {
+                this.e_rotorMedio.turnover();
+            }
+            if ((giros & 4) != 0) {
+                this.e_rotorIzquierdo.turnover();
+            }
+            return;
+        }
         //! Simulacion de double stepping si la seccion interna de la maquina enigma tiene que rotar
         if (this.e_rotorMedio.isANotch()){
             this.e_rotorMedio.turnover();
@@ -142,6 +242,75 @@ public class EnigmaMachineImplementation {
         this.e_rotorDerecho.turnover();
     }
 
+    /**
+     * Registra las posiciones actuales de los rotores como el inicio del mensaje, es decir, el punto de referencia de
+     * {@link #seek(long)}. Los constructores que reciben rotores lo llaman automaticamente; si las posiciones se
+     * cambian luego (por ejemplo, con los setters de cada rotor) se debe volver a llamar.
+     */
+    public void fijarPosicionInicial(){
+        this.e_posicionInicial = EnigmaMachineCursor.desdeMaquina(this).snapshot();
+    }
+
+    /**
+     * Ubica los rotores en el estado que tendrian luego de encriptar el numero de letras indicado desde la posicion
+     * inicial, sin rotarlos uno por uno. Toma en cuenta el paso doble y las muescas de cada rotor a traves de la
+     * estructura ciclica de la secuencia de rotacion ({@link StepSchedule}), por lo que el costo no depende del
+     * offset. Permite retomar un mensaje a la mitad, desencriptar solo una parte o dividirlo entre hilos.
+     *
+     * @param externalCharacterOffset numero de letras (sin contar espacios) desde el inicio del mensaje
+     */
+    public void seek(long externalCharacterOffset){
+        if (this.e_posicionInicial < 0) {
+            throw new IllegalStateException("The initial rotor positions have not been set");
+        }
+        EnigmaMachineCursor cursor = new EnigmaMachineCursor(0, 0, 0);
+        cursor.restore(this.e_stepSchedule.avanzar(this.e_posicionInicial, externalCharacterOffset));
+        this.e_rotorIzquierdo.setE_rotorPosition(cursor.getE_posicionIzquierda());
+        this.e_rotorMedio.setE_rotorPosition(cursor.getE_posicionMedia());
+        this.e_rotorDerecho.setE_rotorPosition(cursor.getE_posicionDerecha());
+    }
+
+    /**
+     * Modifica el rotor medio y actualiza la tabla de rotacion con sus muescas.
+     * @param externalRotor: Nuevo rotor medio
+     */
+    public void setE_rotorMedio(RotorImplementation externalRotor){
+        this.e_rotorMedio = externalRotor;
+        this.actualizarStepSchedule();
+    }
+
+    /**
+     * Modifica el rotor derecho y actualiza la tabla de rotacion con sus muescas.
+     * @param externalRotor: Nuevo rotor derecho
+     */
+    public void setE_rotorDerecho(RotorImplementation externalRotor){
+        this.e_rotorDerecho = externalRotor;
+        this.actualizarStepSchedule();
+    }
+
+    /**
+     * Modifica el mecanismo de rotacion y actualiza la tabla de rotacion.
+     * @param externalMechanism: Mecanismo de rotacion de la variante
+     */
+    public void setE_mecanismoDeRotacion(SteppingMechanism externalMechanism){
+        this.e_mecanismoDeRotacion = externalMechanism;
+        this.actualizarStepSchedule();
+    }
+
+    CompiledEnigmaEngine.ClaveDeMaquina claveCompilada(){
+        return this.e_claveCompilada;
+    }
+
+    void guardarClaveCompilada(CompiledEnigmaEngine.ClaveDeMaquina claveCompilada){
+        this.e_claveCompilada = claveCompilada;
+    }
+
+    private void actualizarStepSchedule(){
+        this.e_stepSchedule = this.e_rotorMedio == null || this.e_rotorDerecho == null ? null
+                : StepSchedule.paraMecanismo(this.e_mecanismoDeRotacion, this.e_rotorMedio.obtenerMascaraDeMuescas(),
+                        this.e_rotorDerecho.obtenerMascaraDeMuescas());
+    }
+
     //! Implementaciones para el encriptado de cadenas basadas en la configuracion de la maquina enigma
 
 
@@ -188,25 +357,259 @@ public class EnigmaMachineImplementation {
      * @return arreglo de caracteres encriptados resultantes
      */
     public char[] encriptadodeCaracter(char[] externalCharactersMarkerZeroBased){
-        int[] retornoDeEncriptado = new int[externalCharactersMarkerZeroBased.length];
-        for (int i = 0; i < externalCharactersMarkerZeroBased.length; i++){
-            if (!Character.isWhitespace(externalCharactersMarkerZeroBased[i])) {
-                retornoDeEncriptado[i] = this.encriptadoDeCaracterHelper(externalCharactersMarkerZeroBased[i] - 65);
+        char[] retornoDeEncriptadoChar = new char[externalCharactersMarkerZeroBased.length];
+        this.encrypt(externalCharactersMarkerZeroBased, 0, retornoDeEncriptadoChar, 0, retornoDeEncriptadoChar.length);
+        for (int i = 0; i < retornoDeEncriptadoChar.length; i++){
+            if (Character.isWhitespace(retornoDeEncriptadoChar[i])) {
+                retornoDeEncriptadoChar[i] = ' ';
+            }
+        }
+        return retornoDeEncriptadoChar;
+    }
+
+    //! Implementaciones de encriptado en bloque sobre buffers del usuario (sin reservar memoria en el camino caliente)
+
+    /**
+     * Encripta un rango de caracteres escribiendo el resultado en un arreglo provisto por el usuario. Las letras
+     * mayusculas ('A'-'Z') se encriptan y rotan la maquina; los espacios en blanco se copian sin modificar y no rotan
+     * la maquina; cualquier otro caracter produce una IllegalStateException (la maquina no rota para ese caracter).
+     * <br><br>
+     * El metodo no reserva memoria, por lo que puede usarse repetidamente sobre los mismos buffers para procesar
+     * mensajes de cualquier tamano. El origen y el destino pueden ser el mismo arreglo.
+     * <br><br>
+     * El rango se encripta con el {@link EnigmaEngine} seleccionado para su longitud (ver
+     * {@link EnigmaEngine#seleccionar(int)}); todos los motores producen el mismo resultado y dejan la maquina en la
+     * misma posicion. La excepcion a la regla anterior es la primera llamada larga con cada configuracion, en la que
+     * {@link CompiledEnigmaEngine} compila la clave y la guarda en la maquina; las siguientes llamadas la reutilizan.
+     *
+     * @param src arreglo de origen
+     * @param srcOff inicio del rango dentro del origen
+     * @param dst arreglo de destino
+     * @param dstOff inicio del rango dentro del destino
+     * @param len numero de caracteres a procesar
+     * @return numero de letras encriptadas (caracteres que rotaron la maquina)
+     */
+    public int encrypt(char[] src, int srcOff, char[] dst, int dstOff, int len){
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        return EnigmaEngine.seleccionar(len).encrypt(this, src, srcOff, dst, dstOff, len);
+    }
+
+    /**
+     * Implementacion de referencia de {@link #encrypt(char[], int, char[], int, int)}: rota la maquina y recorre sus
+     * rotores caracter por caracter. Es el motor {@link ReferenceEnigmaEngine}.
+     */
+    int encryptDeReferencia(char[] src, int srcOff, char[] dst, int dstOff, int len){
+        int procesados = 0;
+        for (int i = 0; i < len; i++){
+            char caracter = src[srcOff + i];
+            int letra = caracter - 'A';
+            if (letra >= 0 && letra < RotorImplementation.MAX_ALPHABET_SIZE) {
+                dst[dstOff + i] = (char) (this.encriptadoDeLetraValida(letra) + 'A');
+                procesados++;
+            }
+            else if (Character.isWhitespace(caracter)) {
+                dst[dstOff + i] = caracter;
             }
             else {
-                retornoDeEncriptado[i] = -1;
+                throw new IllegalStateException("The character '" + caracter + "' is not an uppercase letter");
             }
         }
-        char[] retornoDeEncriptadoChar = new char[retornoDeEncriptado.length];
-        for (int i = 0; i < retornoDeEncriptado.length; i++){
-            if (retornoDeEncriptado[i] != -1) {
-                retornoDeEncriptadoChar[i] = (char) (retornoDeEncriptado[i] + 65);
+        return procesados;
+    }
+
+    /**
+     * Variante en sitio de {@link #encrypt(char[], int, char[], int, int)}: el resultado reemplaza al rango original.
+     *
+     * @param buffer arreglo a encriptar
+     * @param off inicio del rango
+     * @param len numero de caracteres a procesar
+     * @return numero de letras encriptadas
+     */
+    public int encrypt(char[] buffer, int off, int len){
+        return this.encrypt(buffer, off, buffer, off, len);
+    }
+
+    /**
+     * Encripta un rango de bytes ASCII escribiendo el resultado en un arreglo provisto por el usuario, con las mismas
+     * reglas que {@link #encrypt(char[], int, char[], int, int)}.
+     *
+     * @param src arreglo de origen
+     * @param srcOff inicio del rango dentro del origen
+     * @param dst arreglo de destino
+     * @param dstOff inicio del rango dentro del destino
+     * @param len numero de bytes a procesar
+     * @return numero de letras encriptadas
+     */
+    public int encrypt(byte[] src, int srcOff, byte[] dst, int dstOff, int len){
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        int procesados = 0;
+        for (int i = 0; i < len; i++){
+            byte caracter = src[srcOff + i];
+            if (esLetra(caracter)) {
+                procesados++;
             }
-            else {
-                retornoDeEncriptadoChar[i] = ' ';
+            dst[dstOff + i] = this.encriptadoDeByte(caracter);
+        }
+        return procesados;
+    }
+
+    /**
+     * Variante en sitio de {@link #encrypt(byte[], int, byte[], int, int)}.
+     *
+     * @param buffer arreglo a encriptar
+     * @param off inicio del rango
+     * @param len numero de bytes a procesar
+     * @return numero de letras encriptadas
+     */
+    public int encrypt(byte[] buffer, int off, int len){
+        return this.encrypt(buffer, off, buffer, off, len);
+    }
+
+    /**
+     * Encripta los bytes restantes de src (entre position y limit) y los escribe en dst a partir de su position. Al
+     * terminar, la position de ambos buffers avanza en el numero de bytes procesados. Funciona tanto con buffers en
+     * heap como directos o mapeados a archivos.
+     *
+     * @param src buffer de origen
+     * @param dst buffer de destino, debe tener al menos src.remaining() bytes disponibles
+     * @return numero de letras encriptadas
+     * @throws BufferOverflowException si dst no tiene espacio suficiente
+     */
+    public int encrypt(ByteBuffer src, ByteBuffer dst){
+        if (src == dst) {
+            return this.encrypt(src);
+        }
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new BufferOverflowException();
+        }
+        int srcPos = src.position();
+        int dstPos = dst.position();
+        int procesados = 0;
+        for (int i = 0; i < len; i++){
+            byte caracter = src.get(srcPos + i);
+            if (esLetra(caracter)) {
+                procesados++;
             }
+            dst.put(dstPos + i, this.encriptadoDeByte(caracter));
         }
-        return retornoDeEncriptadoChar;
+        src.position(srcPos + len);
+        dst.position(dstPos + len);
+        return procesados;
+    }
+
+    /**
+     * Variante en sitio de {@link #encrypt(ByteBuffer, ByteBuffer)}: encripta los bytes entre position y limit y deja
+     * la position en el limit.
+     *
+     * @param buffer buffer a encriptar
+     * @return numero de letras encriptadas
+     */
+    public int encrypt(ByteBuffer buffer){
+        int inicio = buffer.position();
+        int fin = buffer.limit();
+        int procesados = 0;
+        for (int i = inicio; i < fin; i++){
+            byte caracter = buffer.get(i);
+            byte resultado = this.encriptadoDeByte(caracter);
+            if (esLetra(caracter)) {
+                procesados++;
+                buffer.put(i, resultado);
+            }
+        }
+        buffer.position(fin);
+        return procesados;
+    }
+
+    /**
+     * Encripta los caracteres restantes de src (entre position y limit) y los escribe en dst a partir de su position,
+     * con las mismas reglas que {@link #encrypt(char[], int, char[], int, int)}. Si ambos buffers tienen un arreglo
+     * accesible se usa directamente el camino de arreglos; en otro caso (por ejemplo CharBuffer.wrap de un String o
+     * buffers directos) se recorre caracter por caracter. Al terminar, la position de ambos buffers avanza en el
+     * numero de caracteres procesados; src y dst pueden ser el mismo buffer.
+     *
+     * @param src buffer de origen
+     * @param dst buffer de destino, debe tener al menos src.remaining() caracteres disponibles
+     * @return numero de letras encriptadas
+     * @throws BufferOverflowException si dst no tiene espacio suficiente
+     */
+    public int encrypt(CharBuffer src, CharBuffer dst){
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new BufferOverflowException();
+        }
+        int srcPos = src.position();
+        int dstPos = dst.position();
+        int procesados = 0;
+        if (src.hasArray() && dst.hasArray()) {
+            procesados = this.encrypt(src.array(), src.arrayOffset() + srcPos, dst.array(), dst.arrayOffset() + dstPos,
+                    len);
+        }
+        else {
+            for (int i = 0; i < len; i++){
+                char caracter = src.get(srcPos + i);
+                int letra = caracter - 'A';
+                if (letra >= 0 && letra < RotorImplementation.MAX_ALPHABET_SIZE) {
+                    caracter = (char) (this.encriptadoDeLetraValida(letra) + 'A');
+                    procesados++;
+                }
+                else if (!Character.isWhitespace(caracter)) {
+                    throw new IllegalStateException("The character '" + caracter + "' is not an uppercase letter");
+                }
+                dst.put(dstPos + i, caracter);
+            }
+        }
+        src.position(srcPos + len);
+        if (dst != src) {
+            dst.position(dstPos + len);
+        }
+        return procesados;
+    }
+
+    private static boolean esLetra(byte caracter){
+        return caracter >= 'A' && caracter <= 'Z';
+    }
+
+    /**
+     * Retorna el indice del primer caracter que no es una letra mayuscula ni un espacio en blanco, o -1 si todo el
+     * rango se puede encriptar.
+     */
+    static int primerCaracterInvalido(char[] src, int srcOff, int len){
+        for (int i = 0; i < len; i++){
+            char caracter = src[srcOff + i];
+            if ((caracter < 'A' || caracter > 'Z') && !Character.isWhitespace(caracter)) {
+                return srcOff + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Variante de {@link #primerCaracterInvalido(char[], int, int)} para bytes ASCII.
+     */
+    static int primerCaracterInvalido(byte[] src, int srcOff, int len){
+        for (int i = 0; i < len; i++){
+            byte caracter = src[srcOff + i];
+            if (!esLetra(caracter) && !Character.isWhitespace((char) (caracter & 0xFF))) {
+                return srcOff + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Encripta un byte ASCII: letras mayusculas se encriptan, espacios en blanco se copian y el resto es un error.
+     */
+    private byte encriptadoDeByte(byte caracter){
+        if (esLetra(caracter)) {
+            return (byte) (this.encriptadoDeLetraValida(caracter - 'A') + 'A');
+        }
+        if (Character.isWhitespace((char) (caracter & 0xFF))) {
+            return caracter;
+        }
+        throw new IllegalStateException("The byte " + (caracter & 0xFF) + " is not an uppercase ASCII letter");
     }
 
     private int encriptadoDeCaracterHelper(int externalCharacterMarkerZerobased) {
@@ -223,6 +626,21 @@ public class EnigmaMachineImplementation {
             throw new IllegalStateException("The integer value passed for character is incorrect");
         }
 
+        return this.recorridoSinRotacion(externalCharacterMarkerZerobased);
+    }
+
+    /**
+     * Rota la maquina y encripta una letra que ya se sabe que esta en el rango [0, 25].
+     */
+    private int encriptadoDeLetraValida(int externalCharacterMarkerZerobased) {
+        this.rotacionRequeridaPorRotoresInternos();
+        return this.recorridoSinRotacion(externalCharacterMarkerZerobased);
+    }
+
+    /**
+     * Recorrido completo plugboard -> rotores -> reflector -> rotores -> plugboard con las posiciones actuales.
+     */
+    private int recorridoSinRotacion(int externalCharacterMarkerZerobased) {
 
         //! Revision de la Plugboard
         var plugBoardVariation = this.e_plugBoardInterno
@@ -0,0 +1,106 @@
+package com.evolvlabs.enigmabackend;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la version en bytes ASCII de {@link EnigmaWriter}: un
+ * {@link OutputStream} que copia cada escritura por bloques a un buffer interno de tamano fijo, la encripta con las
+ * reglas de {@link EnigmaMachineImplementation#encrypt(byte[], int, byte[], int, int)} y la entrega de inmediato a
+ * otro OutputStream. El arreglo del usuario nunca se modifica y la maquina conserva sus posiciones entre escrituras;
+ * si una escritura contiene un byte invalido, se escriben los bytes anteriores y luego se lanza una IOException.
+ */
+public final class EnigmaOutputStream extends OutputStream {
+
+    /**
+     * Tamano por defecto del buffer interno en bytes
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final OutputStream e_salida;
+    private final EnigmaMachineImplementation e_maquina;
+    private final byte[] e_buffer;
+    private boolean e_cerrado;
+
+    /**
+     * Constructor con el tamano de buffer por defecto.
+     * @param externalStream: Flujo de salida
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra escrita
+     */
+    public EnigmaOutputStream(OutputStream externalStream, EnigmaMachineImplementation externalMachine) {
+        this(externalStream, externalMachine, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor con un tamano de buffer especifico.
+     * @param externalStream: Flujo de salida
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra escrita
+     * @param bufferSize: Tamano del buffer interno en bytes
+     * @throws IllegalArgumentException si el tamano no es positivo
+     */
+    public EnigmaOutputStream(OutputStream externalStream, EnigmaMachineImplementation externalMachine,
+                              int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive: " + bufferSize);
+        }
+        this.e_salida = Objects.requireNonNull(externalStream);
+        this.e_maquina = Objects.requireNonNull(externalMachine);
+        this.e_buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        this.asegurarAbierto();
+        this.e_buffer[0] = (byte) b;
+        this.escribirBloque(1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        this.asegurarAbierto();
+        while (len > 0) {
+            int bloque = Math.min(len, this.e_buffer.length);
+            System.arraycopy(b, off, this.e_buffer, 0, bloque);
+            this.escribirBloque(bloque);
+            off += bloque;
+            len -= bloque;
+        }
+    }
+
+    /**
+     * Encripta y escribe los primeros bytes del buffer, hasta el primer byte invalido si lo hay.
+     */
+    private void escribirBloque(int longitud) throws IOException {
+        int invalido = EnigmaMachineImplementation.primerCaracterInvalido(this.e_buffer, 0, longitud);
+        int validos = invalido < 0 ? longitud : invalido;
+        this.e_maquina.encrypt(this.e_buffer, 0, validos);
+        this.e_salida.write(this.e_buffer, 0, validos);
+        if (invalido >= 0) {
+            throw new IOException("The byte " + (this.e_buffer[invalido] & 0xFF) + " is not an uppercase ASCII letter");
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        this.asegurarAbierto();
+        this.e_salida.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!this.e_cerrado) {
+            this.e_cerrado = true;
+            this.e_salida.close();
+        }
+    }
+
+    private void asegurarAbierto() throws IOException {
+        if (this.e_cerrado) {
+            throw new IOException("The stream is closed");
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.evolvlabs.enigmabackend;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye una etapa de encriptado para flujos reactivos
+ * ({@link java.util.concurrent.Flow}): un {@link Flow.Processor} que recibe bloques de texto (CharBuffer o ByteBuffer
+ * ASCII), los encripta con los metodos sin reserva de memoria de una {@link EnigmaMachineImplementation} y publica un
+ * bloque encriptado por cada bloque recibido. Los rotores de la maquina avanzan de un bloque a otro, igual que en una
+ * sola llamada sobre el texto completo.
+ * <br><br>
+ * Como cada bloque de entrada produce exactamente un bloque de salida, la demanda del suscriptor se reenvia tal cual
+ * al publicador: el procesador nunca pide mas bloques de los que el suscriptor solicito, no tiene cola interna y no
+ * bloquea hilos. Los bloques de salida se toman de un pool de buffers; el suscriptor devuelve cada buffer con
+ * {@link #liberar(Buffer)} cuando termina de usarlo (si no lo hace, el pool simplemente crea buffers nuevos). El
+ * procesador acepta un solo suscriptor, y un caracter invalido cancela la suscripcion de entrada y se entrega como
+ * onError.
+ */
+public final class EnigmaProcessor<T extends Buffer> implements Flow.Processor<T, T> {
+
+    /**
+     * Numero de buffers que el pool conserva por defecto
+     */
+    public static final int DEFAULT_POOL_SIZE = 16;
+
+    /**
+     * Capacidad por defecto de los buffers del pool
+     */
+    public static final int DEFAULT_BUFFER_CAPACITY = 8192;
+
+    private final ToIntBiFunction<T, T> e_encriptador;
+    private final BufferPool<T> e_pool;
+
+    //! Estado de las suscripciones, protegido por el candado de la instancia
+    private Flow.Subscription e_entrada;
+    private Flow.Subscriber<? super T> e_suscriptor;
+    private long e_demandaPendiente;
+    private boolean e_terminado;
+    private Throwable e_error;
+
+    private EnigmaProcessor(ToIntBiFunction<T, T> encriptador, BufferPool<T> pool) {
+        this.e_encriptador = encriptador;
+        this.e_pool = pool;
+    }
+
+    /**
+     * Crea un procesador de bloques de caracteres con el pool por defecto.
+     * @param externalMachine: Maquina con la que se encripta
+     * @return Procesador de CharBuffer
+     */
+    public static EnigmaProcessor<CharBuffer> deCaracteres(EnigmaMachineImplementation externalMachine) {
+        return deCaracteres(externalMachine, DEFAULT_POOL_SIZE, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Crea un procesador de bloques de caracteres.
+     * @param externalMachine: Maquina con la que se encripta
+     * @param poolSize: Numero maximo de buffers que conserva el pool
+     * @param bufferCapacity: Capacidad de los buffers del pool
+     * @return Procesador de CharBuffer
+     */
+    public static EnigmaProcessor<CharBuffer> deCaracteres(EnigmaMachineImplementation externalMachine,
+                                                           int poolSize, int bufferCapacity) {
+        Objects.requireNonNull(externalMachine);
+        return new EnigmaProcessor<>(externalMachine::encrypt,
+                new BufferPool<>(poolSize, bufferCapacity, CharBuffer::allocate));
+    }
+
+    /**
+     * Crea un procesador de bloques de bytes ASCII con el pool por defecto.
+     * @param externalMachine: Maquina con la que se encripta
+     * @return Procesador de ByteBuffer
+     */
+    public static EnigmaProcessor<ByteBuffer> deBytes(EnigmaMachineImplementation externalMachine) {
+        return deBytes(externalMachine, DEFAULT_POOL_SIZE, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Crea un procesador de bloques de bytes ASCII.
+     * @param externalMachine: Maquina con la que se encripta
+     * @param poolSize: Numero maximo de buffers que conserva el pool
+     * @param bufferCapacity: Capacidad de los buffers del pool
+     * @return Procesador de ByteBuffer
+     */
+    public static EnigmaProcessor<ByteBuffer> deBytes(EnigmaMachineImplementation externalMachine,
+                                                      int poolSize, int bufferCapacity) {
+        Objects.requireNonNull(externalMachine);
+        return new EnigmaProcessor<>(externalMachine::encrypt,
+                new BufferPool<>(poolSize, bufferCapacity, ByteBuffer::allocate));
+    }
+
+    /**
+     * Devuelve al pool un bloque publicado por este procesador, para reutilizarlo en un bloque siguiente. El bloque
+     * no se debe usar despues de liberarlo.
+     * @param buffer: Bloque recibido en onNext
+     */
+    public void liberar(T buffer) {
+        this.e_pool.liberar(buffer);
+    }
+
+    /**
+     * Retorna el numero de buffers libres en el pool.
+     * @return Buffers listos para reutilizarse
+     */
+    public int buffersDisponibles() {
+        return this.e_pool.disponibles();
+    }
+
+    //! Lado del publicador (hacia el suscriptor)
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        boolean aceptado;
+        Throwable error;
+        boolean terminado;
+        synchronized (this) {
+            aceptado = this.e_suscriptor == null;
+            if (aceptado) {
+                this.e_suscriptor = subscriber;
+            }
+            error = this.e_error;
+            terminado = this.e_terminado;
+        }
+        if (!aceptado) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The Enigma processor accepts a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new SuscripcionDeSalida());
+        if (error != null) {
+            subscriber.onError(error);
+        } else if (terminado) {
+            subscriber.onComplete();
+        }
+    }
+
+    /**
+     * Suscripcion entregada al suscriptor: reenvia la demanda y la cancelacion a la suscripcion de entrada.
+     */
+    private final class SuscripcionDeSalida implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                EnigmaProcessor.this.fallar(new IllegalArgumentException("The requested demand must be positive: " + n));
+                EnigmaProcessor.this.cancelarEntrada();
+                return;
+            }
+            Flow.Subscription entrada;
+            synchronized (EnigmaProcessor.this) {
+                entrada = EnigmaProcessor.this.e_entrada;
+                if (entrada == null) {
+                    //! El publicador aun no se suscribe, la demanda se reenvia en onSubscribe
+                    long demanda = EnigmaProcessor.this.e_demandaPendiente + n;
+                    EnigmaProcessor.this.e_demandaPendiente = demanda < 0 ? Long.MAX_VALUE : demanda;
+                    return;
+                }
+            }
+            entrada.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (EnigmaProcessor.this) {
+                EnigmaProcessor.this.e_terminado = true;
+            }
+            EnigmaProcessor.this.cancelarEntrada();
+        }
+    }
+
+    //! Lado del suscriptor (desde el publicador)
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        long demanda;
+        boolean rechazar;
+        synchronized (this) {
+            rechazar = this.e_entrada != null || this.e_terminado;
+            if (!rechazar) {
+                this.e_entrada = subscription;
+            }
+            demanda = this.e_demandaPendiente;
+            this.e_demandaPendiente = 0;
+        }
+        if (rechazar) {
+            subscription.cancel();
+        } else if (demanda > 0) {
+            subscription.request(demanda);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Flow.Subscriber<? super T> suscriptor;
+        synchronized (this) {
+            if (this.e_terminado) {
+                return;
+            }
+            suscriptor = this.e_suscriptor;
+        }
+        T salida = this.e_pool.obtener(item.remaining());
+        try {
+            this.e_encriptador.applyAsInt(item, salida);
+        } catch (RuntimeException e) {
+            this.e_pool.liberar(salida);
+            this.cancelarEntrada();
+            this.fallar(e);
+            return;
+        }
+        salida.flip();
+        suscriptor.onNext(salida);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.fallar(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        Flow.Subscriber<? super T> suscriptor;
+        synchronized (this) {
+            if (this.e_terminado) {
+                return;
+            }
+            this.e_terminado = true;
+            suscriptor = this.e_suscriptor;
+        }
+        if (suscriptor != null) {
+            suscriptor.onComplete();
+        }
+    }
+
+    private void cancelarEntrada() {
+        Flow.Subscription entrada;
+        synchronized (this) {
+            entrada = this.e_entrada;
+        }
+        if (entrada != null) {
+            entrada.cancel();
+        }
+    }
+
+    private void fallar(Throwable throwable) {
+        Flow.Subscriber<? super T> suscriptor;
+        synchronized (this) {
+            if (this.e_terminado) {
+                return;
+            }
+            this.e_terminado = true;
+            this.e_error = throwable;
+            suscriptor = this.e_suscriptor;
+        }
+        if (suscriptor != null) {
+            suscriptor.onError(throwable);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.evolvlabs.enigmabackend;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un {@link Reader} que encripta (o desencripta) lo que lee de otro
+ * Reader con una {@link EnigmaMachineImplementation}. El texto se procesa en un buffer interno de tamano fijo, por lo
+ * que un flujo de cualquier longitud (un log, un socket) usa memoria constante, y la maquina conserva sus posiciones
+ * entre un bloque y otro: leer todo el flujo produce el mismo resultado que una sola llamada a
+ * {@link EnigmaMachineImplementation#encrypt(char[], int, char[], int, int)} sobre el texto completo.
+ * <br><br>
+ * Las letras mayusculas se encriptan y los espacios en blanco (incluyendo saltos de linea) se copian sin rotar la
+ * maquina. Si el flujo contiene otro caracter, primero se entregan los caracteres anteriores y luego la lectura
+ * produce una IOException; la maquina queda en la posicion del ultimo caracter entregado.
+ */
+public final class EnigmaReader extends Reader {
+
+    /**
+     * Tamano por defecto del buffer interno en caracteres
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader e_entrada;
+    private final EnigmaMachineImplementation e_maquina;
+    private final char[] e_buffer;
+    private int e_posicion;
+    /**
+     * Fin de los caracteres ya encriptados dentro del buffer
+     */
+    private int e_limite;
+    /**
+     * Verdadero si el bloque actual termina en un caracter que no se puede encriptar
+     */
+    private boolean e_hayCaracterInvalido;
+    private char e_caracterInvalido;
+    private boolean e_cerrado;
+
+    /**
+     * Constructor con el tamano de buffer por defecto.
+     * @param externalReader: Flujo de entrada
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra leida
+     */
+    public EnigmaReader(Reader externalReader, EnigmaMachineImplementation externalMachine) {
+        this(externalReader, externalMachine, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor con un tamano de buffer especifico.
+     * @param externalReader: Flujo de entrada
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra leida
+     * @param bufferSize: Tamano del buffer interno en caracteres
+     * @throws IllegalArgumentException si el tamano no es positivo
+     */
+    public EnigmaReader(Reader externalReader, EnigmaMachineImplementation externalMachine, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive: " + bufferSize);
+        }
+        this.e_entrada = Objects.requireNonNull(externalReader);
+        this.e_maquina = Objects.requireNonNull(externalMachine);
+        this.e_buffer = new char[bufferSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        synchronized (this.lock) {
+            this.asegurarAbierto();
+            if (this.e_posicion == this.e_limite && !this.llenar()) {
+                return -1;
+            }
+            return this.e_buffer[this.e_posicion++];
+        }
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        synchronized (this.lock) {
+            this.asegurarAbierto();
+            if (len == 0) {
+                return 0;
+            }
+            if (this.e_posicion == this.e_limite && !this.llenar()) {
+                return -1;
+            }
+            int copiados = Math.min(len, this.e_limite - this.e_posicion);
+            System.arraycopy(this.e_buffer, this.e_posicion, cbuf, off, copiados);
+            this.e_posicion += copiados;
+            return copiados;
+        }
+    }
+
+    /**
+     * Lee y encripta el siguiente bloque, hasta el primer caracter invalido si lo hay.
+     * @return Falso si el flujo termino
+     */
+    private boolean llenar() throws IOException {
+        if (this.e_hayCaracterInvalido) {
+            throw new IOException("The character '" + this.e_caracterInvalido + "' is not an uppercase letter");
+        }
+        int leidos;
+        do {
+            leidos = this.e_entrada.read(this.e_buffer, 0, this.e_buffer.length);
+        } while (leidos == 0);
+        if (leidos < 0) {
+            return false;
+        }
+        int invalido = EnigmaMachineImplementation.primerCaracterInvalido(this.e_buffer, 0, leidos);
+        int validos = invalido < 0 ? leidos : invalido;
+        this.e_maquina.encrypt(this.e_buffer, 0, validos);
+        this.e_posicion = 0;
+        this.e_limite = validos;
+        if (invalido >= 0) {
+            this.e_hayCaracterInvalido = true;
+            this.e_caracterInvalido = this.e_buffer[invalido];
+            if (validos == 0) {
+                return this.llenar();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        synchronized (this.lock) {
+            this.asegurarAbierto();
+            return this.e_posicion < this.e_limite || (!this.e_hayCaracterInvalido && this.e_entrada.ready());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.lock) {
+            if (!this.e_cerrado) {
+                this.e_cerrado = true;
+                this.e_entrada.close();
+            }
+        }
+    }
+
+    private void asegurarAbierto() throws IOException {
+        if (this.e_cerrado) {
+            throw new IOException("The reader is closed");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.evolvlabs.enigmabackend;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un {@link Writer} que encripta (o desencripta) lo que recibe con una
+ * {@link EnigmaMachineImplementation} antes de escribirlo en otro Writer. Cada escritura se copia por bloques a un
+ * buffer interno de tamano fijo (el arreglo del usuario nunca se modifica), se encripta y se entrega de inmediato, por
+ * lo que el Writer no guarda texto pendiente y usa memoria constante. La maquina conserva sus posiciones entre
+ * escrituras, igual que en una sola llamada a {@link EnigmaMachineImplementation#encrypt(char[], int, char[], int, int)}.
+ * <br><br>
+ * Si una escritura contiene un caracter que no es una letra mayuscula ni un espacio en blanco, se escriben los
+ * caracteres anteriores y luego se lanza una IOException.
+ */
+public final class EnigmaWriter extends Writer {
+
+    /**
+     * Tamano por defecto del buffer interno en caracteres
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Writer e_salida;
+    private final EnigmaMachineImplementation e_maquina;
+    private final char[] e_buffer;
+    private boolean e_cerrado;
+
+    /**
+     * Constructor con el tamano de buffer por defecto.
+     * @param externalWriter: Flujo de salida
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra escrita
+     */
+    public EnigmaWriter(Writer externalWriter, EnigmaMachineImplementation externalMachine) {
+        this(externalWriter, externalMachine, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor con un tamano de buffer especifico.
+     * @param externalWriter: Flujo de salida
+     * @param externalMachine: Maquina con la que se encripta, sus rotores avanzan con cada letra escrita
+     * @param bufferSize: Tamano del buffer interno en caracteres
+     * @throws IllegalArgumentException si el tamano no es positivo
+     */
+    public EnigmaWriter(Writer externalWriter, EnigmaMachineImplementation externalMachine, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive: " + bufferSize);
+        }
+        this.e_salida = Objects.requireNonNull(externalWriter);
+        this.e_maquina = Objects.requireNonNull(externalMachine);
+        this.e_buffer = new char[bufferSize];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (this.lock) {
+            this.asegurarAbierto();
+            this.e_buffer[0] = (char) c;
+            this.escribirBloque(1);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        synchronized (this.lock) {
+            this.asegurarAbierto();
+            while (len > 0) {
+                int bloque = Math.min(len, this.e_buffer.length);
+                System.arraycopy(cbuf, off, this.e_buffer, 0, bloque);
+                this.escribirBloque(bloque);
+                off += bloque;
+                len -= bloque;
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, str.length());
+        synchronized (this.lock) {
+            this.asegurarAbierto();
+            while (len > 0) {
+                int bloque = Math.min(len, this.e_buffer.length);
+                str.getChars(off, off + bloque, this.e_buffer, 0);
+                this.escribirBloque(bloque);
+                off += bloque;
+                len -= bloque;
+            }
+        }
+    }
+
+    /**
+     * Encripta y escribe los primeros caracteres del buffer, hasta el primer caracter invalido si lo hay.
+     */
+    private void escribirBloque(int longitud) throws IOException {
+        int invalido = EnigmaMachineImplementation.primerCaracterInvalido(this.e_buffer, 0, longitud);
+        int validos = invalido < 0 ? longitud : invalido;
+        this.e_maquina.encrypt(this.e_buffer, 0, validos);
+        this.e_salida.write(this.e_buffer, 0, validos);
+        if (invalido >= 0) {
+            throw new IOException("The character '" + this.e_buffer[invalido] + "' is not an uppercase letter");
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (this.lock) {
+            this.asegurarAbierto();
+            this.e_salida.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.lock) {
+            if (!this.e_cerrado) {
+                this.e_cerrado = true;
+                this.e_salida.close();
+            }
+        }
+    }
+
+    private void asegurarAbierto() throws IOException {
+        if (this.e_cerrado) {
+            throw new IOException("The writer is closed");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.evolvlabs.enigmabackend;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un histograma de latencias sin candados para {@link EnigmaHttpService}.
+ * Los valores en nanosegundos se agrupan en cubetas logaritmicas con ocho subdivisiones por potencia de dos, por lo
+ * que cada percentil se reporta con un error relativo menor al 12.5% y registrar una solicitud es un solo incremento
+ * atomico, sin reservar memoria.
+ */
+final class HistogramaDeLatencias {
+
+    /**
+     * Subdivisiones por potencia de dos (2^3)
+     */
+    private static final int BITS_DE_SUBDIVISION = 3;
+    private static final int SUBDIVISIONES = 1 << BITS_DE_SUBDIVISION;
+    /**
+     * Los valores menores a este limite tienen una cubeta propia
+     */
+    private static final int LIMITE_LINEAL = 2 * SUBDIVISIONES;
+    private static final int CUBETAS = LIMITE_LINEAL + (63 - 4) * SUBDIVISIONES;
+
+    private final AtomicLongArray e_cubetas = new AtomicLongArray(CUBETAS);
+
+    /**
+     * Registra una latencia.
+     * @param nanosegundos: Duracion de la solicitud, los valores negativos se registran como cero
+     */
+    void registrar(long nanosegundos) {
+        this.e_cubetas.incrementAndGet(indice(Math.max(0, nanosegundos)));
+    }
+
+    /**
+     * Retorna el percentil pedido como el limite superior de su cubeta.
+     * @param percentil: Percentil entre 0 y 100
+     * @return Latencia en nanosegundos, o cero si no hay registros
+     */
+    long percentil(double percentil) {
+        long[] conteos = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            conteos[i] = this.e_cubetas.get(i);
+            total += conteos[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) {
+                return limiteSuperior(i);
+            }
+        }
+        return limiteSuperior(CUBETAS - 1);
+    }
+
+    private static int indice(long valor) {
+        if (valor < LIMITE_LINEAL) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int subdivision = (int) (valor >>> (exponente - BITS_DE_SUBDIVISION)) & (SUBDIVISIONES - 1);
+        return LIMITE_LINEAL + (exponente - 4) * SUBDIVISIONES + subdivision;
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < LIMITE_LINEAL) {
+            return indice;
+        }
+        int exponente = (indice - LIMITE_LINEAL) / SUBDIVISIONES + 4;
+        int subdivision = (indice - LIMITE_LINEAL) % SUBDIVISIONES;
+        long ancho = 1L << (exponente - BITS_DE_SUBDIVISION);
+        return (SUBDIVISIONES + subdivision) * ancho + ancho - 1;
+    }
+}
@@ -0,0 +1,284 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye un motor de encriptado de archivos grandes en paralelo. Los archivos de
+ * entrada y salida se mapean a memoria con {@link FileChannel#map} por bloques, por lo que el tamano del archivo no
+ * esta limitado por el heap, y cada bloque se encripta en un {@link ForkJoinPool} con su propio
+ * {@link EnigmaMachineCursor} sobre una {@link EnigmaMachineConfiguration} compartida.
+ * <br><br>
+ * Como los espacios en blanco no rotan la maquina, la posicion de los rotores al inicio de un bloque depende del
+ * numero de letras (no de bytes) que lo preceden. Por esto el proceso se realiza en dos fases: primero se cuentan las
+ * letras de cada bloque en paralelo, y luego cada bloque ubica su cursor con
+ * {@link EnigmaMachineConfiguration#seek(EnigmaMachineCursor, long)} y se encripta en paralelo. El resultado es
+ * identico al de encriptar el archivo completo de forma secuencial con la misma clave.
+ */
+public final class ParallelFileEncryptor {
+
+    /**
+     * Tamano por defecto de cada bloque (8 MiB)
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private final EnigmaMachineConfiguration e_configuration;
+    private final ForkJoinPool e_pool;
+    private final int e_chunkSize;
+
+    /**
+     * Constructor del motor de encriptado de archivos.
+     * @param configuration: Configuracion inmutable de la maquina
+     * @param pool: Pool en el que se procesan los bloques
+     * @param chunkSize: Tamano en bytes de cada bloque
+     */
+    public ParallelFileEncryptor(EnigmaMachineConfiguration configuration, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive");
+        }
+        this.e_configuration = configuration;
+        this.e_pool = pool;
+        this.e_chunkSize = chunkSize;
+    }
+
+    /**
+     * Constructor con el pool comun y el tamano de bloque por defecto.
+     * @param configuration: Configuracion inmutable de la maquina
+     */
+    public ParallelFileEncryptor(EnigmaMachineConfiguration configuration) {
+        this(configuration, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Encripta (o desencripta) un archivo completo con una clave, empezando en sus indicadores. La configuracion se
+     * toma de {@link EnigmaMachineCache#COMPARTIDA}.
+     * @param externalKey: Clave de la maquina
+     * @param input: Archivo de entrada
+     * @param output: Archivo de salida (se crea o se reemplaza), distinto del archivo de entrada
+     * @return Numero de letras encriptadas
+     * @throws IOException si ocurre un error al leer o escribir los archivos
+     * @throws IllegalArgumentException si la entrada y la salida son el mismo archivo
+     */
+    public static long encryptFile(EnigmaKey externalKey, Path input, Path output) throws IOException {
+        return new ParallelFileEncryptor(EnigmaMachineCache.COMPARTIDA.configuracion(externalKey))
+                .encrypt(input, output, EnigmaMachineCursor.desdeClave(externalKey));
+    }
+
+    /**
+     * Encripta un archivo a partir de la posicion de un cursor. El cursor recibido no se modifica.
+     * @param input: Archivo de entrada
+     * @param output: Archivo de salida (se crea o se reemplaza), distinto del archivo de entrada
+     * @param inicio: Posiciones de los rotores al inicio del archivo
+     * @return Numero de letras encriptadas
+     * @throws IOException si ocurre un error al leer o escribir los archivos
+     * @throws IllegalArgumentException si la entrada y la salida son el mismo archivo
+     */
+    public long encrypt(Path input, Path output, EnigmaMachineCursor inicio) throws IOException {
+        //! La salida se trunca al abrirse, por lo que encriptar un archivo sobre si mismo lo dejaria vacio
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("The input and output must be different files: " + output);
+        }
+        try (FileChannel entrada = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel salida = FileChannel.open(output, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return this.encrypt(entrada, salida, inicio);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long encrypt(FileChannel entrada, FileChannel salida, EnigmaMachineCursor inicio) throws IOException {
+        long tamano = entrada.size();
+        int bloques = (int) ((tamano + this.e_chunkSize - 1) / this.e_chunkSize);
+
+        //! Fase 1: contamos las letras de cada bloque para conocer su offset dentro del mensaje
+        long[] letrasPorBloque = new long[bloques];
+        this.enParalelo(bloques, bloque -> {
+            MappedByteBuffer buffer = entrada.map(FileChannel.MapMode.READ_ONLY, this.inicioDeBloque(bloque),
+                    this.longitudDeBloque(bloque, tamano));
+            letrasPorBloque[bloque] = contarLetras(buffer);
+        });
+        long[] offsetDeBloque = new long[bloques];
+        long totalDeLetras = 0;
+        for (int bloque = 0; bloque < bloques; bloque++) {
+            offsetDeBloque[bloque] = totalDeLetras;
+            totalDeLetras += letrasPorBloque[bloque];
+        }
+
+        //! Fase 2: cada bloque ubica su cursor y se encripta de manera independiente
+        this.enParalelo(bloques, bloque -> {
+            long posicion = this.inicioDeBloque(bloque);
+            int longitud = this.longitudDeBloque(bloque, tamano);
+            MappedByteBuffer origen = entrada.map(FileChannel.MapMode.READ_ONLY, posicion, longitud);
+            MappedByteBuffer destino = salida.map(FileChannel.MapMode.READ_WRITE, posicion, longitud);
+            EnigmaMachineCursor cursor = new EnigmaMachineCursor(inicio);
+            this.e_configuration.seek(cursor, offsetDeBloque[bloque]);
+            this.e_configuration.encrypt(cursor, origen, destino);
+        });
+        return totalDeLetras;
+    }
+
+    /**
+     * Encripta en paralelo los bytes restantes de src escribiendolos en dst, con el mismo resultado que
+     * {@link EnigmaMachineConfiguration#encrypt(EnigmaMachineCursor, ByteBuffer, ByteBuffer)}. Al terminar, el cursor
+     * queda en la posicion final del mensaje y la position de ambos buffers avanza al final del rango.
+     * @param cursor: Cursor del mensaje, se avanza al final del rango
+     * @param src: Buffer de origen
+     * @param dst: Buffer de destino, con al menos src.remaining() bytes disponibles
+     * @return Numero de letras encriptadas
+     */
+    public long encrypt(EnigmaMachineCursor cursor, ByteBuffer src, ByteBuffer dst) {
+        int tamano = src.remaining();
+        int bloques = (tamano + this.e_chunkSize - 1) / this.e_chunkSize;
+        ByteBuffer origen = src.slice();
+        ByteBuffer destino = dst.slice();
+
+        long[] offsetDeBloque = new long[bloques + 1];
+        this.enParalelo(bloques, bloque -> offsetDeBloque[bloque + 1] = contarLetras(
+                origen.slice((int) this.inicioDeBloque(bloque), this.longitudDeBloque(bloque, tamano))));
+        for (int bloque = 0; bloque < bloques; bloque++) {
+            offsetDeBloque[bloque + 1] += offsetDeBloque[bloque];
+        }
+
+        this.enParalelo(bloques, bloque -> {
+            int posicion = (int) this.inicioDeBloque(bloque);
+            int longitud = this.longitudDeBloque(bloque, tamano);
+            EnigmaMachineCursor cursorDelBloque = new EnigmaMachineCursor(cursor);
+            this.e_configuration.seek(cursorDelBloque, offsetDeBloque[bloque]);
+            this.e_configuration.encrypt(cursorDelBloque, origen.slice(posicion, longitud),
+                    destino.slice(posicion, longitud));
+        });
+
+        this.e_configuration.seek(cursor, offsetDeBloque[bloques]);
+        src.position(src.position() + tamano);
+        if (dst != src) {
+            dst.position(dst.position() + tamano);
+        }
+        return offsetDeBloque[bloques];
+    }
+
+    /**
+     * Encripta en paralelo los caracteres restantes de src escribiendolos en dst, con el mismo resultado que
+     * {@link EnigmaMachineConfiguration#encryptNormalizado(EnigmaMachineCursor, CharBuffer, CharBuffer)}: las letras se
+     * encriptan y cualquier otro caracter se copia sin rotar la maquina. Al terminar, el cursor queda en la posicion
+     * final del mensaje y la position de ambos buffers avanza al final del rango.
+     * @param cursor: Cursor del mensaje, se avanza al final del rango
+     * @param src: Buffer de origen, normalmente la salida de un {@link TextNormalizer}
+     * @param dst: Buffer de destino, con al menos src.remaining() caracteres disponibles
+     * @return Numero de letras encriptadas
+     */
+    public long encryptNormalizado(EnigmaMachineCursor cursor, CharBuffer src, CharBuffer dst) {
+        int tamano = src.remaining();
+        int bloques = (tamano + this.e_chunkSize - 1) / this.e_chunkSize;
+        CharBuffer origen = src.slice();
+        CharBuffer destino = dst.slice();
+
+        long[] offsetDeBloque = new long[bloques + 1];
+        this.enParalelo(bloques, bloque -> offsetDeBloque[bloque + 1] = contarLetras(
+                origen.slice((int) this.inicioDeBloque(bloque), this.longitudDeBloque(bloque, tamano))));
+        for (int bloque = 0; bloque < bloques; bloque++) {
+            offsetDeBloque[bloque + 1] += offsetDeBloque[bloque];
+        }
+
+        this.enParalelo(bloques, bloque -> {
+            int posicion = (int) this.inicioDeBloque(bloque);
+            int longitud = this.longitudDeBloque(bloque, tamano);
+            EnigmaMachineCursor cursorDelBloque = new EnigmaMachineCursor(cursor);
+            this.e_configuration.seek(cursorDelBloque, offsetDeBloque[bloque]);
+            this.e_configuration.encryptNormalizado(cursorDelBloque, origen.slice(posicion, longitud),
+                    destino.slice(posicion, longitud));
+        });
+
+        this.e_configuration.seek(cursor, offsetDeBloque[bloques]);
+        src.position(src.position() + tamano);
+        if (dst != src) {
+            dst.position(dst.position() + tamano);
+        }
+        return offsetDeBloque[bloques];
+    }
+
+    /**
+     * Cuenta las letras 'A'-'Z' entre la position y el limit de un buffer de caracteres, sin modificar su position.
+     * @param buffer: Buffer a revisar
+     * @return Numero de caracteres en el rango ['A', 'Z']
+     */
+    public static long contarLetras(CharBuffer buffer) {
+        long letras = 0;
+        for (int i = buffer.position(), fin = buffer.limit(); i < fin; i++) {
+            char caracter = buffer.get(i);
+            if (caracter >= 'A' && caracter <= 'Z') {
+                letras++;
+            }
+        }
+        return letras;
+    }
+
+    /**
+     * Cuenta las letras mayusculas ASCII entre la position y el limit de un buffer, sin modificar su position.
+     * @param buffer: Buffer a revisar
+     * @return Numero de bytes en el rango ['A', 'Z']
+     */
+    public static long contarLetras(ByteBuffer buffer) {
+        long letras = 0;
+        for (int i = buffer.position(), fin = buffer.limit(); i < fin; i++) {
+            byte caracter = buffer.get(i);
+            if (caracter >= 'A' && caracter <= 'Z') {
+                letras++;
+            }
+        }
+        return letras;
+    }
+
+    private long inicioDeBloque(int bloque) {
+        return (long) bloque * this.e_chunkSize;
+    }
+
+    private int longitudDeBloque(int bloque, long tamano) {
+        return (int) Math.min(this.e_chunkSize, tamano - this.inicioDeBloque(bloque));
+    }
+
+    /**
+     * Interfaz funcional interna para tareas por bloque que pueden lanzar IOException
+     */
+    @FunctionalInterface
+    private interface TareaDeBloque {
+        void procesar(int bloque) throws IOException;
+    }
+
+    /**
+     * Ejecuta una tarea por cada bloque dentro del pool configurado y espera a que todas terminen.
+     */
+    private void enParalelo(int bloques, TareaDeBloque tarea) {
+        try {
+            this.e_pool.submit(() -> IntStream.range(0, bloques).parallel().forEach(bloque -> {
+                try {
+                    tarea.procesar(bloque);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while encrypting in parallel", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.evolvlabs.enigmabackend;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la plantilla de los encriptadores especializados. La clase nunca se carga
+ * de forma normal: {@link SpecializedEnigmaMachine} lee su bytecode y lo define como una clase oculta por cada
+ * configuracion, pasando la {@link EnigmaMachineConfiguration} como dato de la clase. Al inicializarse, cada clase
+ * oculta copia las tablas, las filas por posicion (que ya incluyen los ring settings) y las muescas a campos static
+ * final, que el JIT trata como constantes: las referencias a las tablas y las mascaras de muescas se pliegan dentro
+ * del ciclo de encriptado y el paso doble no consulta ningun objeto.
+ */
+final class PlantillaDeEncriptador extends EncriptadorEspecializado {
+
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+
+    private static final int[] IZQUIERDO_FRENTE;
+    private static final int[] IZQUIERDO_REGRESO;
+    private static final int[] MEDIO_FRENTE;
+    private static final int[] MEDIO_REGRESO;
+    private static final int[] DERECHO_FRENTE;
+    private static final int[] DERECHO_REGRESO;
+    private static final int[] FILA_IZQUIERDA;
+    private static final int[] FILA_MEDIA;
+    private static final int[] FILA_DERECHA;
+    private static final int[] REFLECTOR;
+    private static final int[] PLUGBOARD;
+    private static final int MUESCAS_MEDIO;
+    private static final int MUESCAS_DERECHO;
+    /**
+     * Verdadero si la configuracion usa paso doble; en otro caso se usa la tabla compilada del mecanismo
+     */
+    private static final boolean PASO_DOBLE;
+    private static final int[] ESTADO_SIGUIENTE;
+
+    static {
+        EnigmaMachineConfiguration configuracion;
+        try {
+            configuracion = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME,
+                    EnigmaMachineConfiguration.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        IZQUIERDO_FRENTE = configuracion.e_izquierdoFrente;
+        IZQUIERDO_REGRESO = configuracion.e_izquierdoRegreso;
+        MEDIO_FRENTE = configuracion.e_medioFrente;
+        MEDIO_REGRESO = configuracion.e_medioRegreso;
+        DERECHO_FRENTE = configuracion.e_derechoFrente;
+        DERECHO_REGRESO = configuracion.e_derechoRegreso;
+        FILA_IZQUIERDA = configuracion.e_filaIzquierda;
+        FILA_MEDIA = configuracion.e_filaMedia;
+        FILA_DERECHA = configuracion.e_filaDerecha;
+        REFLECTOR = configuracion.e_reflector;
+        PLUGBOARD = configuracion.e_plugBoard;
+        MUESCAS_MEDIO = configuracion.e_muescasMedio;
+        MUESCAS_DERECHO = configuracion.e_muescasDerecho;
+        PASO_DOBLE = configuracion.getE_mecanismoDeRotacion() == SteppingMechanism.DOUBLE_STEPPING;
+        ESTADO_SIGUIENTE = configuracion.e_estadoSiguiente;
+    }
+
+    @Override
+    int encrypt(EnigmaMachineCursor cursor, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        int izquierda = cursor.e_posicionIzquierda;
+        int media = cursor.e_posicionMedia;
+        int derecha = cursor.e_posicionDerecha;
+        int procesados = 0;
+        try {
+            for (int i = 0; i < len; i++) {
+                char caracter = src[srcOff + i];
+                int letra = caracter - 'A';
+                if (letra < 0 || letra >= N) {
+                    if (!Character.isWhitespace(caracter)) {
+                        throw new IllegalStateException("The character '" + caracter + "' is not an uppercase letter");
+                    }
+                    dst[dstOff + i] = caracter;
+                    continue;
+                }
+                if (PASO_DOBLE) {
+                    if ((MUESCAS_MEDIO >>> media & 1) != 0) {
+                        media = media == N - 1 ? 0 : media + 1;
+                        izquierda = izquierda == N - 1 ? 0 : izquierda + 1;
+                    } else if ((MUESCAS_DERECHO >>> derecha & 1) != 0) {
+                        media = media == N - 1 ? 0 : media + 1;
+                    }
+                    derecha = derecha == N - 1 ? 0 : derecha + 1;
+                } else {
+                    int estado = ESTADO_SIGUIENTE[(izquierda * N + media) * N + derecha];
+                    derecha = estado % N;
+                    media = estado / N % N;
+                    izquierda = estado / (N * N);
+                }
+                int filaIzquierda = FILA_IZQUIERDA[izquierda];
+                int filaMedia = FILA_MEDIA[media];
+                int filaDerecha = FILA_DERECHA[derecha];
+                int valor = PLUGBOARD[letra];
+                valor = DERECHO_FRENTE[filaDerecha + valor];
+                valor = MEDIO_FRENTE[filaMedia + valor];
+                valor = IZQUIERDO_FRENTE[filaIzquierda + valor];
+                valor = REFLECTOR[valor];
+                valor = IZQUIERDO_REGRESO[filaIzquierda + valor];
+                valor = MEDIO_REGRESO[filaMedia + valor];
+                valor = DERECHO_REGRESO[filaDerecha + valor];
+                dst[dstOff + i] = (char) (PLUGBOARD[valor] + 'A');
+                procesados++;
+            }
+        } finally {
+            //! El cursor queda en la posicion del ultimo caracter procesado, incluso si hubo un caracter invalido
+            cursor.e_posicionIzquierda = izquierda;
+            cursor.e_posicionMedia = media;
+            cursor.e_posicionDerecha = derecha;
+        }
+        return procesados;
+    }
+}
@@ -14,6 +14,11 @@ import java.util.Set;
  * las letras que entraban o salian de la maquina para incrementar la dificultad de descifrado de una clave que generasen. En este sentido,
  * la clase implementa varios metodos que permiten al usuario (en este caso a traves de la interfaz visual) ingresar pares ordenados
  * separados por espacios (esto se puede manejar con la interfaz o sin implementarla si es necesario).
+ * <br><br>
+ * Internamente el plugboard es un arreglo de 26 enteros y una mascara de 26 bits con las letras conectadas. La cadena
+ * de configuracion se procesa con un solo recorrido, y {@link #swap(int, int)} y {@link #unswap(int)} modifican las
+ * conexiones en tiempo constante, de tal forma que una busqueda puede probar variantes del plugboard sobre la misma
+ * maquina sin construir objetos nuevos.
  */
 public class PlugBoardImplementation {
 
@@ -22,13 +27,29 @@ public class PlugBoardImplementation {
      */
     protected int[] e_forwardWiringBasedOnNotches;
 
+    /**
+     * Mascara de 26 bits con las letras conectadas (el bit i esta encendido si la letra i tiene pareja)
+     */
+    protected int e_mascaraDeConectados;
+
     /**
      * Metodo que permite al usuario ingresar un string con pares ordenados de letras separados por espacios
      * y devuelve un array de enteros que representa las conexiones de las letras en el plug board
-     * @param keyCharacterPairs: String Representativa de los pares. 
+     * @param keyCharacterPairs: String Representativa de los pares.
      */
     public PlugBoardImplementation(String keyCharacterPairs){
-        this.e_forwardWiringBasedOnNotches = decodePlugBoard(keyCharacterPairs);
+        this.e_forwardWiringBasedOnNotches = identityPlugBoard();
+        this.e_mascaraDeConectados = Math.max(0,
+                decodificarEn(keyCharacterPairs, this.e_forwardWiringBasedOnNotches, 0));
+    }
+
+    /**
+     * Constructor de copia, la copia se puede modificar con swap y unswap sin afectar al plugboard original.
+     * @param anotherPlugBoard: Plugboard del cual se copian las conexiones
+     */
+    public PlugBoardImplementation(PlugBoardImplementation anotherPlugBoard){
+        this.e_forwardWiringBasedOnNotches = anotherPlugBoard.e_forwardWiringBasedOnNotches.clone();
+        this.e_mascaraDeConectados = anotherPlugBoard.e_mascaraDeConectados;
     }
 
     /**
@@ -40,7 +61,89 @@ public class PlugBoardImplementation {
         return this.e_forwardWiringBasedOnNotches[characterInputZeroBased];
     }
 
-    
+    /**
+     * Conecta dos letras que no tienen pareja.
+     * @param letraA: Primera letra [0,25]
+     * @param letraB: Segunda letra [0,25], distinta de la primera
+     * @throws IllegalStateException si alguna de las letras ya esta conectada o son la misma letra
+     */
+    public void swap(int letraA, int letraB){
+        if (letraA == letraB || ((this.e_mascaraDeConectados >>> letraA | this.e_mascaraDeConectados >>> letraB) & 1) != 0){
+            throw new IllegalStateException("The letters " + (char) (letraA + 65) + " and " + (char) (letraB + 65)
+                    + " cannot be connected");
+        }
+        this.e_forwardWiringBasedOnNotches[letraA] = letraB;
+        this.e_forwardWiringBasedOnNotches[letraB] = letraA;
+        this.e_mascaraDeConectados |= (1 << letraA) | (1 << letraB);
+    }
+
+    /**
+     * Desconecta una letra y su pareja. Si la letra no esta conectada, el plugboard no cambia.
+     * @param letra: Letra a desconectar [0,25]
+     * @return La pareja que tenia la letra (la misma letra si no estaba conectada)
+     */
+    public int unswap(int letra){
+        int pareja = this.e_forwardWiringBasedOnNotches[letra];
+        this.e_forwardWiringBasedOnNotches[letra] = letra;
+        this.e_forwardWiringBasedOnNotches[pareja] = pareja;
+        this.e_mascaraDeConectados &= ~((1 << letra) | (1 << pareja));
+        return pareja;
+    }
+
+    /**
+     * Indica si una letra tiene pareja en el plugboard.
+     * @param letra: Letra a revisar [0,25]
+     * @return Verdadero si la letra esta conectada
+     */
+    public boolean estaConectado(int letra){
+        return (this.e_mascaraDeConectados >>> letra & 1) != 0;
+    }
+
+    /**
+     * Retorna las letras conectadas como una mascara de 26 bits.
+     * @return Mascara de letras conectadas
+     */
+    public int obtenerMascaraDeConectados(){
+        return this.e_mascaraDeConectados;
+    }
+
+    /**
+     * Retorna la configuracion del plugboard con los pares en orden alfabetico, por ejemplo "AB CD".
+     * @return Configuracion del plugboard
+     */
+    @Override
+    public String toString(){
+        return paresEnOrden(this.e_forwardWiringBasedOnNotches);
+    }
+
+    /**
+     * Retorna la forma canonica de una configuracion de plugboard: los pares en orden alfabetico, cada uno con su
+     * letra menor primero, por lo que "DC BA" y "AB CD" tienen la misma forma canonica. Una configuracion invalida se
+     * decodifica como la identidad (ver {@link #decodePlugBoard(String)}), por lo que su forma canonica es vacia.
+     * @param externalPlugBoard: Configuracion del plugboard
+     * @return Configuracion canonica
+     */
+    public static String canonizar(CharSequence externalPlugBoard) {
+        int[] conexiones = new int[26];
+        decodificarEn(externalPlugBoard, conexiones, 0);
+        return paresEnOrden(conexiones);
+    }
+
+    private static String paresEnOrden(int[] conexiones) {
+        StringBuilder pares = new StringBuilder();
+        for (int letra = 0; letra < 26; letra++){
+            int pareja = conexiones[letra];
+            if (pareja > letra){
+                if (!pares.isEmpty()){
+                    pares.append(' ');
+                }
+                pares.append((char) (letra + 65)).append((char) (pareja + 65));
+            }
+        }
+        return pares.toString();
+    }
+
+
     /**
      * Genera una configuracion de enchufes de identidad donde cada letra esta mapeada a si misma.
      * @return un array de enteros que representa una matriz de identidad para el plug board
@@ -62,58 +165,110 @@ public class PlugBoardImplementation {
      * @param externalPlugBoard la configuracion externa del plugboard como cadena, que contiene pares de letras conectadas
      * @return un conjunto de enteros que representa los indices de los caracteres que no tienen conexion
      *
-     * El metodo inicializa un conjunto con todos los indices del alfabeto (0 a 25), luego procesa cada par de letras
-     * en la configuracion del plugboard para remover del conjunto aquellos caracteres que estan conectados.
-     * La cadena de entrada se divide en pares utilizando caracteres no alfabeticos como delimitadores.
+     * El metodo calcula la mascara de {@link #obtenerMascaraDeNoConectados(String)} y la convierte en un conjunto; el
+     * codigo que se ejecuta muchas veces (por ejemplo, en una busqueda) deberia usar la mascara directamente.
      */
     public static Set<Integer> obtenerCaracteresNoConectados(String externalPlugBoard) {
+        int mascara = obtenerMascaraDeNoConectados(externalPlugBoard);
         Set<Integer> caracteresNoConectados = new HashSet<>();
         for (int i = 0; i < 26; i++) {
-            caracteresNoConectados.add(i);
-        }
-        if (externalPlugBoard.isEmpty()) {
-            return caracteresNoConectados;
+            if ((mascara >>> i & 1) != 0) {
+                caracteresNoConectados.add(i);
+            }
         }
-        String[] pares = externalPlugBoard.split("[^a-zA-Z]");
-        for (String par : pares) {
-            int caracter1 = par.charAt(0) - 65;
-            int caracter2 = par.charAt(1) - 65;
+        return caracteresNoConectados;
+    }
 
-            caracteresNoConectados.remove(caracter1);
-            caracteresNoConectados.remove(caracter2);
+    /**
+     * Version primitiva de {@link #obtenerCaracteresNoConectados(String)}: retorna como una mascara de 26 bits las
+     * letras que no aparecen en ningun par de la configuracion, con un solo recorrido de la cadena.
+     * @param externalPlugBoard la configuracion externa del plugboard como cadena
+     * @return Mascara con las letras sin conexion
+     */
+    public static int obtenerMascaraDeNoConectados(String externalPlugBoard) {
+        int conectados = 0;
+        for (int i = 0; externalPlugBoard != null && i < externalPlugBoard.length(); i++) {
+            int letra = externalPlugBoard.charAt(i) - 65;
+            if (letra >= 0 && letra < 26) {
+                conectados |= 1 << letra;
+            }
         }
-
-        return caracteresNoConectados;
+        return ~conectados & ((1 << 26) - 1);
     }
 
-    public static int[] decodePlugBoard(String plugboard) {
+    /**
+     * Decodifica una configuracion de plugboard escribiendo las conexiones directamente en un arreglo de 26 enteros a
+     * partir de un offset, con un solo recorrido de la cadena y sin crear objetos intermedios. Sigue las mismas reglas
+     * que {@link #decodePlugBoard(String)}: los pares se separan por cualquier caracter que no sea una letra, y si un
+     * par no tiene exactamente dos letras o alguna letra ya esta conectada, el resultado es la identidad.
+     *
+     * @param plugboard la configuracion del plugboard, por ejemplo "AB CD EF"
+     * @param destino arreglo en el que se escriben las conexiones
+     * @param offset posicion del arreglo en la que inicia el plugboard
+     * @return la mascara de letras conectadas, o -1 si la configuracion no es valida y se escribio la identidad
+     */
+    static int decodificarEn(CharSequence plugboard, int[] destino, int offset) {
+        for (int i = 0; i < 26; i++) {
+            destino[offset + i] = i;
+        }
         if (plugboard == null || plugboard.isEmpty()) {
-            return identityPlugBoard();
+            return 0;
         }
-
-        String[] pairings = plugboard.split("[^a-zA-Z]");
-        Set<Integer> pluggedCharacters = new HashSet<>();
-        int[] mapping = identityPlugBoard();
-
-        // Validate and create mapping
-        for (String pair : pairings) {
-            if (pair.length() != 2)
-                return identityPlugBoard();
-
-            int c1 = pair.charAt(0) - 65;
-            int c2 = pair.charAt(1) - 65;
-
-            if (pluggedCharacters.contains(c1) || pluggedCharacters.contains(c2)) {
-                return identityPlugBoard();
+        int conectados = 0;
+        int letrasEnPar = 0;
+        int primera = 0;
+        int longitud = plugboard.length();
+        for (int i = 0; i <= longitud; i++) {
+            char caracter = i < longitud ? plugboard.charAt(i) : ' ';
+            if ((caracter >= 'A' && caracter <= 'Z') || (caracter >= 'a' && caracter <= 'z')) {
+                int letra = caracter - 65;
+                if (letra < 0 || letra >= 26 || ++letrasEnPar > 2 || (conectados >>> letra & 1) != 0) {
+                    return identidadEn(destino, offset);
+                }
+                if (letrasEnPar == 1) {
+                    primera = letra;
+                } else {
+                    conectados |= (1 << primera) | (1 << letra);
+                    destino[offset + primera] = letra;
+                    destino[offset + letra] = primera;
+                }
+            } else {
+                //! Un separador cierra el par actual; los separadores finales no generan pares vacios
+                if (letrasEnPar != 2 && !(letrasEnPar == 0 && soloSeparadoresDesde(plugboard, i))) {
+                    return identidadEn(destino, offset);
+                }
+                letrasEnPar = 0;
             }
+        }
+        return conectados;
+    }
 
-            pluggedCharacters.add(c1);
-            pluggedCharacters.add(c2);
+    private static boolean soloSeparadoresDesde(CharSequence plugboard, int inicio) {
+        for (int i = inicio; i < plugboard.length(); i++) {
+            char caracter = plugboard.charAt(i);
+            if ((caracter >= 'A' && caracter <= 'Z') || (caracter >= 'a' && caracter <= 'z')) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-            mapping[c1] = c2;
-            mapping[c2] = c1;
+    private static int identidadEn(int[] destino, int offset) {
+        for (int i = 0; i < 26; i++) {
+            destino[offset + i] = i;
         }
+        return -1;
+    }
 
+    /**
+     * Decodifica una configuracion de plugboard (por ejemplo "AB CD EF") en un arreglo de 26 conexiones. Si la
+     * configuracion no es valida, retorna la identidad.
+     * @param plugboard la configuracion del plugboard
+     * @return arreglo de 26 enteros con la pareja de cada letra
+     */
+    public static int[] decodePlugBoard(String plugboard) {
+        int[] mapping = identityPlugBoard();
+        decodificarEn(plugboard, mapping, 0);
         return mapping;
     }
 
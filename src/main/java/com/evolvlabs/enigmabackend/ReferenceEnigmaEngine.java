@@ -0,0 +1,31 @@
+package com.evolvlabs.enigmabackend;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el motor de referencia de {@link EnigmaEngine}: la maquina original, que
+ * rota y recorre cada rotor caracter por caracter. No tiene costo de preparacion, por lo que es el motor de los
+ * mensajes cortos, y es el oraculo de correccion contra el cual se comparan los demas motores.
+ */
+public final class ReferenceEnigmaEngine implements EnigmaEngine {
+
+    /**
+     * Nombre del motor en la propiedad enigma.engine
+     */
+    public static final String NOMBRE = "reference";
+
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public int prioridad(int longitudDelMensaje) {
+        return 0;
+    }
+
+    @Override
+    public int encrypt(EnigmaMachineImplementation machine, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        return machine.encryptDeReferencia(src, srcOff, dst, dstOff, len);
+    }
+}
@@ -1,5 +1,6 @@
 package com.evolvlabs.enigmabackend;
 
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,6 +20,11 @@ import lombok.Setter;
 @Setter(AccessLevel.PUBLIC)
 public class ReflectorImplementation {
 
+    /**
+     * Prefijo del nombre de un reflector UKW-D, seguido de sus pares (por ejemplo "D:AC BD ...")
+     */
+    public static final String PREFIJO_UKW_D = "D:";
+
     /**
      * Determina las posiciones (indices en un arreglo) de la longitud interna de la cadena ingresada como el orden de los
      * notches
@@ -36,18 +42,114 @@ public class ReflectorImplementation {
     }
 
     /**
-     * Factory method que permite crear una instancia de la clase ReflectorImplementation a partir de un nombre externo
+     * Constructor interno para reflectores calculados (por ejemplo, un reflector delgado combinado con una rueda griega)
+     * @param externalWiring: Conexiones del reflector como indices [0,25]
+     * @param name: Nombre del reflector
+     */
+    private ReflectorImplementation(int[] externalWiring, String name){
+        this.e_forwardWiringBasedOnNotches = externalWiring;
+        this.e_rotorName = name;
+    }
+
+    /**
+     * Factory method que permite crear una instancia de la clase ReflectorImplementation a partir de un nombre externo.
+     * Ademas de los reflectores B y C, se incluyen los reflectores delgados B-THIN y C-THIN de la maquina naval M4, que
+     * se usan junto con una rueda griega (ver {@link #combinarConRuedaGriega}), y el reflector recableable UKW-D, cuyo
+     * nombre es {@link #PREFIJO_UKW_D} seguido de sus pares (ver {@link #crearUkwD(String)}).
      * @param externalReflectorIdentifierName: Nombre del reflector a usar
      * @return Instancia de la clase ReflectorImplementation
+     * @throws IllegalArgumentException si el reflector no es ninguno de los anteriores
      */
     public static ReflectorImplementation createReflector(String externalReflectorIdentifierName){
+        if (externalReflectorIdentifierName.startsWith(PREFIJO_UKW_D)){
+            return crearUkwD(externalReflectorIdentifierName.substring(PREFIJO_UKW_D.length()));
+        }
         return switch (externalReflectorIdentifierName) {
             case "B" -> new ReflectorImplementation("YRUHQSLDPXNGOKMIEBFZCWVJAT", "B");
             case "C" -> new ReflectorImplementation("FVPJIAOYEDRZXWGCTKUQSBNMHL", "C");
-            default -> throw new UnsupportedOperationException();
+            case "B-THIN" -> new ReflectorImplementation("ENKQAUYWJICOPBLMDXZVFTHRGS", "B-THIN");
+            case "C-THIN" -> new ReflectorImplementation("RDOBJNTKVEHMLFCWZAXGYIPSUQ", "C-THIN");
+            default -> throw new IllegalArgumentException(
+                    "The reflector " + externalReflectorIdentifierName + " is not supported");
         };
     }
 
+    /**
+     * Indica si un reflector es uno de los reflectores delgados de la M4 (B-THIN o C-THIN).
+     * @param externalReflectorIdentifierName: Nombre del reflector
+     * @return Verdadero si el reflector es delgado
+     */
+    public static boolean esReflectorDelgado(String externalReflectorIdentifierName){
+        return "B-THIN".equals(externalReflectorIdentifierName) || "C-THIN".equals(externalReflectorIdentifierName);
+    }
+
+    /**
+     * Factory method que crea un reflector UKW-D a partir de sus pares, con el mismo formato que el plugboard (por
+     * ejemplo "AF BV CO DS EX GL HT IU JK MN PZ QR WY"). El UKW-D se recableaba en campo, por lo que cualquier
+     * involucion sin puntos fijos es valida: los pares deben cubrir las 26 letras sin repetir ninguna. El nombre del
+     * reflector resultante es {@link #PREFIJO_UKW_D} seguido de los pares en orden alfabetico, de tal forma que se
+     * puede usar directamente como reflector de una {@link EnigmaKey}.
+     * <br><br>
+     * El reflector es un arreglo de 26 enteros independiente de los rotores, por lo que cambiar el cableado no
+     * requiere recalcular sus tablas (ver {@link EnigmaMachineConfiguration#conReflector} y
+     * {@link CompiledEnigmaKey#compile(EnigmaMachineConfiguration, EnigmaMachineCursor, ReflectorImplementation...)}).
+     * @param externalPairs: Pares de letras separados por espacios
+     * @return Instancia de la clase ReflectorImplementation
+     * @throws IllegalArgumentException si los pares no forman una involucion de las 26 letras sin puntos fijos
+     */
+    public static ReflectorImplementation crearUkwD(String externalPairs){
+        int[] cableado = new int[RotorImplementation.MAX_ALPHABET_SIZE];
+        int conectados = PlugBoardImplementation.decodificarEn(externalPairs, cableado, 0);
+        if (conectados != (1 << RotorImplementation.MAX_ALPHABET_SIZE) - 1){
+            throw new IllegalArgumentException("The UKW-D wiring must pair all 26 letters exactly once: " + externalPairs);
+        }
+        PlugBoardImplementation pares = new PlugBoardImplementation(externalPairs);
+        return new ReflectorImplementation(cableado, PREFIJO_UKW_D + pares);
+    }
+
+    /**
+     * Factory method que crea el reflector de una clave. Si la clave tiene cuatro rotores (maquina M4), el primero es
+     * la rueda griega y se combina con el reflector (ver {@link #combinarConRuedaGriega}).
+     * @param externalKey: Clave de la maquina
+     * @return Instancia de la clase ReflectorImplementation
+     * @throws IllegalArgumentException si la combinacion de rotores y reflector no es valida (ver
+     * {@link EnigmaMachineImplementation#primerRotorMovil(EnigmaKey)})
+     */
+    public static ReflectorImplementation createReflector(EnigmaKey externalKey){
+        int primero = EnigmaMachineImplementation.primerRotorMovil(externalKey);
+        ReflectorImplementation reflector = createReflector(externalKey.reflector);
+        if (primero == 0){
+            return reflector;
+        }
+        return combinarConRuedaGriega(reflector, externalKey.rotors[0], externalKey.indicators[0],
+                externalKey.rings[0]);
+    }
+
+    /**
+     * Combina un reflector con la rueda griega (Beta o Gamma) de una maquina M4. La rueda griega se ubica entre el rotor
+     * izquierdo y el reflector y nunca rota, por lo que el recorrido rueda -> reflector -> rueda de regreso es siempre
+     * la misma permutacion y se puede calcular una sola vez. El resultado es un reflector comun de 26 entradas, de tal
+     * forma que todos los motores (maquina, configuracion, claves compiladas y lotes) soportan la M4 sin costo adicional
+     * por caracter.
+     * @param externalReflector: Reflector delgado (B-THIN o C-THIN)
+     * @param externalGreekWheel: Nombre de la rueda griega en {@link RotorCatalog}
+     * @param externalPosition: Posicion de la rueda griega [0,25]
+     * @param externalRingSetting: Ring setting de la rueda griega [0,25]
+     * @return Reflector combinado
+     */
+    public static ReflectorImplementation combinarConRuedaGriega(ReflectorImplementation externalReflector,
+                                                                 String externalGreekWheel, int externalPosition,
+                                                                 int externalRingSetting){
+        RotorImplementation ruedaGriega = RotorImplementation.createRotor(externalGreekWheel, externalPosition,
+                externalRingSetting);
+        int[] combinado = new int[RotorImplementation.MAX_ALPHABET_SIZE];
+        for (int letra = 0; letra < combinado.length; letra++){
+            combinado[letra] = ruedaGriega.backward(
+                    externalReflector.getForwardLinkBasedOnCharacter(ruedaGriega.forward(letra)));
+        }
+        return new ReflectorImplementation(combinado, externalReflector.e_rotorName + "+" + externalGreekWheel);
+    }
+
     /**
      * Metodo que permite obtener la posicion del caracter en la cadena de conexiones del reflector
      * @param externalCharacterIndexZeroBased: Posicion del caracter en la cadena de conexiones
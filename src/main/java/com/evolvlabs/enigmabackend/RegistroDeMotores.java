@@ -0,0 +1,128 @@
+package com.evolvlabs.enigmabackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el registro de los motores de {@link EnigmaEngine}. Los motores se
+ * cargan una sola vez con {@link ServiceLoader} y la propiedad {@value EnigmaEngine#PROPIEDAD_DE_MOTOR} se lee en la
+ * primera seleccion, por lo que la seleccion en cada llamada es solo un recorrido por unos pocos motores. Si la
+ * propiedad nombra un motor desconocido se imprime un aviso y se usa la seleccion automatica.
+ */
+final class RegistroDeMotores {
+
+    /**
+     * Motores disponibles; el de referencia siempre esta presente aunque el ServiceLoader no encuentre proveedores
+     */
+    static final List<EnigmaEngine> MOTORES = cargarMotores();
+
+    /**
+     * Motor fijado con la propiedad de sistema, o null para la seleccion automatica. Se resuelve en la primera
+     * seleccion y nunca lanza una excepcion, ya que un error en la inicializacion de esta clase dejaria a la maquina
+     * sin motores por el resto de la JVM.
+     */
+    private static final class MotorFijo {
+        static final EnigmaEngine MOTOR = resolverMotorFijo();
+    }
+
+    private RegistroDeMotores() {
+    }
+
+    private static List<EnigmaEngine> cargarMotores() {
+        List<EnigmaEngine> motores = new ArrayList<>();
+        boolean conReferencia = false;
+        for (EnigmaEngine motor : ServiceLoader.load(EnigmaEngine.class)) {
+            if (motor.disponible()) {
+                motores.add(motor);
+                conReferencia |= motor instanceof ReferenceEnigmaEngine;
+            }
+        }
+        if (!conReferencia) {
+            motores.add(new ReferenceEnigmaEngine());
+        }
+        return List.copyOf(motores);
+    }
+
+    private static EnigmaEngine resolverMotorFijo() {
+        String nombre = System.getProperty(EnigmaEngine.PROPIEDAD_DE_MOTOR);
+        if (nombre == null || nombre.isBlank() || nombre.equals("auto")) {
+            return null;
+        }
+        try {
+            return porNombre(nombre.strip());
+        } catch (IllegalArgumentException e) {
+            //! Un nombre desconocido no debe romper la maquina: se avisa y se usa la seleccion automatica
+            System.err.println("enigma: " + e.getMessage() + "; -D" + EnigmaEngine.PROPIEDAD_DE_MOTOR
+                    + " is ignored and the engine is selected automatically");
+            return null;
+        }
+    }
+
+    static EnigmaEngine porNombre(String nombre) {
+        for (EnigmaEngine motor : MOTORES) {
+            if (motor.nombre().equals(nombre)) {
+                return motor;
+            }
+        }
+        throw new IllegalArgumentException("There is no available Enigma engine named " + nombre);
+    }
+
+    static EnigmaEngine seleccionar(int longitudDelMensaje) {
+        EnigmaEngine fijo = MotorFijo.MOTOR;
+        if (fijo != null) {
+            return fijo;
+        }
+        EnigmaEngine seleccionado = null;
+        int mejorPrioridad = Integer.MIN_VALUE;
+        //! Recorrido por indice: el iterador de la lista es una reserva de memoria en cada encriptado
+        for (int i = 0; i < MOTORES.size(); i++) {
+            EnigmaEngine motor = MOTORES.get(i);
+            int prioridad = motor.prioridad(longitudDelMensaje);
+            if (prioridad >= 0 && prioridad > mejorPrioridad) {
+                seleccionado = motor;
+                mejorPrioridad = prioridad;
+            }
+        }
+        return seleccionado != null ? seleccionado : porNombre(ReferenceEnigmaEngine.NOMBRE);
+    }
+
+    /**
+     * Ubica los rotores de la maquina en las posiciones del cursor luego de encriptar.
+     */
+    static void actualizarMaquina(EnigmaMachineImplementation machine, EnigmaMachineCursor cursor) {
+        machine.getE_rotorIzquierdo().setE_rotorPosition(cursor.getE_posicionIzquierda());
+        machine.getE_rotorMedio().setE_rotorPosition(cursor.getE_posicionMedia());
+        machine.getE_rotorDerecho().setE_rotorPosition(cursor.getE_posicionDerecha());
+    }
+
+    /**
+     * Ubica los rotores de la maquina en un estado empaquetado (ver {@link EnigmaMachineCursor#snapshot()}).
+     */
+    static void actualizarMaquina(EnigmaMachineImplementation machine, int estado) {
+        machine.getE_rotorIzquierdo().setE_rotorPosition(estado / (RotorImplementation.MAX_ALPHABET_SIZE
+                * RotorImplementation.MAX_ALPHABET_SIZE));
+        machine.getE_rotorMedio().setE_rotorPosition(estado / RotorImplementation.MAX_ALPHABET_SIZE
+                % RotorImplementation.MAX_ALPHABET_SIZE);
+        machine.getE_rotorDerecho().setE_rotorPosition(estado % RotorImplementation.MAX_ALPHABET_SIZE);
+    }
+
+    /**
+     * Retorna las posiciones actuales de la maquina empaquetadas como en {@link EnigmaMachineCursor#snapshot()}, sin
+     * reservar memoria.
+     */
+    static int estadoDeMaquina(EnigmaMachineImplementation machine) {
+        return (machine.getE_rotorIzquierdo().getE_rotorPosition() * RotorImplementation.MAX_ALPHABET_SIZE
+                + machine.getE_rotorMedio().getE_rotorPosition()) * RotorImplementation.MAX_ALPHABET_SIZE
+                + machine.getE_rotorDerecho().getE_rotorPosition();
+    }
+
+    /**
+     * Indica si un rango solo contiene letras mayusculas y espacios en blanco.
+     */
+    static boolean soloLetrasYEspacios(char[] src, int srcOff, int len) {
+        return EnigmaMachineImplementation.primerCaracterInvalido(src, srcOff, len) < 0;
+    }
+}
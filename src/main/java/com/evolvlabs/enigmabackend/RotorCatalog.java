@@ -0,0 +1,257 @@
+package com.evolvlabs.enigmabackend;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el catalogo de rotores de la maquina enigma. Cada definicion (nombre,
+ * cableado y muescas) se procesa una sola vez: el cableado hacia el frente, su inverso y las tablas por desplazamiento
+ * se calculan al registrar el rotor y se comparten entre todas las instancias de {@link RotorImplementation} con el
+ * mismo nombre, por lo que crear un rotor es solo una busqueda en el catalogo.
+ * <br><br>
+ * Las muescas se representan como una mascara de 26 bits (el bit p indica que el rotor en la posicion p provoca el
+ * giro del siguiente), lo que permite rotores con varias muescas (VI, VII y VIII) sin subclases. Los rotores I a VIII y
+ * las ruedas griegas Beta y Gamma de la M4 (sin muescas) se cargan del recurso rotors.csv y se pueden agregar rotores
+ * propios (con nombres nuevos) con {@link #cargarDefiniciones(Path)} o {@link #registrar(String, String, String)},
+ * usando el mismo formato:
+ * name,wiring,notches (por ejemplo
+ * "VI,JPGVOUMFYQBENHZRDKASXLICTW,MZ").
+ */
+public final class RotorCatalog {
+
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+
+    /**
+     * Recurso con las definiciones de los rotores historicos
+     */
+    private static final String RECURSO_POR_DEFECTO = "rotors.csv";
+
+    private static final ConcurrentHashMap<String, Definicion> DEFINICIONES = new ConcurrentHashMap<>();
+
+    static {
+        try (InputStream entrada = RotorCatalog.class.getResourceAsStream(RECURSO_POR_DEFECTO)) {
+            if (entrada == null) {
+                throw new IllegalStateException("The rotor catalog resource " + RECURSO_POR_DEFECTO + " is missing");
+            }
+            cargarDefiniciones(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private RotorCatalog() {
+    }
+
+    /**
+     * Definicion inmutable de un rotor. Los arreglos internos son compartidos por todas las instancias del rotor (y
+     * por las configuraciones compiladas), por lo que los accesores publicos retornan copias; dentro del paquete se
+     * usan los accesores compartidos, que nunca se deben escribir.
+     * @param nombre: Nombre del rotor
+     * @param cableadoFrente: Cableado hacia el frente (letra de entrada -> letra de salida)
+     * @param cableadoRegreso: Inverso del cableado hacia el frente
+     * @param tablaFrente: Tabla por desplazamiento del recorrido hacia el frente (ver RotorImplementation)
+     * @param tablaRegreso: Tabla por desplazamiento del recorrido de regreso
+     * @param mascaraDeMuescas: Muescas del rotor como mascara de 26 bits
+     */
+    public record Definicion(String nombre, int[] cableadoFrente, int[] cableadoRegreso, int[] tablaFrente,
+                             int[] tablaRegreso, int mascaraDeMuescas) {
+
+        /**
+         * Retorna la primera muesca del rotor (la de menor posicion).
+         * @return Posicion de la primera muesca, o -1 si el rotor no tiene muescas
+         */
+        public int primeraMuesca() {
+            return this.mascaraDeMuescas == 0 ? -1 : Integer.numberOfTrailingZeros(this.mascaraDeMuescas);
+        }
+
+        /**
+         * Retorna una copia del cableado hacia el frente.
+         * @return Cableado (letra de entrada -> letra de salida)
+         */
+        @Override
+        public int[] cableadoFrente() {
+            return this.cableadoFrente.clone();
+        }
+
+        /**
+         * Retorna una copia del inverso del cableado hacia el frente.
+         * @return Cableado de regreso
+         */
+        @Override
+        public int[] cableadoRegreso() {
+            return this.cableadoRegreso.clone();
+        }
+
+        /**
+         * Retorna una copia de la tabla por desplazamiento del recorrido hacia el frente.
+         * @return Tabla de 26 * 26 valores
+         */
+        @Override
+        public int[] tablaFrente() {
+            return this.tablaFrente.clone();
+        }
+
+        /**
+         * Retorna una copia de la tabla por desplazamiento del recorrido de regreso.
+         * @return Tabla de 26 * 26 valores
+         */
+        @Override
+        public int[] tablaRegreso() {
+            return this.tablaRegreso.clone();
+        }
+
+        //! Accesores sin copia para el paquete; los arreglos se comparten en toda la JVM y no se deben modificar
+
+        int[] cableadoFrenteCompartido() {
+            return this.cableadoFrente;
+        }
+
+        int[] cableadoRegresoCompartido() {
+            return this.cableadoRegreso;
+        }
+
+        int[] tablaFrenteCompartida() {
+            return this.tablaFrente;
+        }
+
+        int[] tablaRegresoCompartida() {
+            return this.tablaRegreso;
+        }
+    }
+
+    /**
+     * Retorna la definicion de un rotor.
+     * @param nombre: Nombre del rotor
+     * @return Definicion compartida del rotor
+     * @throws IllegalArgumentException si el rotor no esta en el catalogo
+     */
+    public static Definicion obtener(String nombre) {
+        Definicion definicion = nombre == null ? null : DEFINICIONES.get(nombre);
+        if (definicion == null) {
+            throw new IllegalArgumentException("The rotor " + nombre + " is not part of the catalog");
+        }
+        return definicion;
+    }
+
+    /**
+     * Indica si un rotor esta en el catalogo.
+     * @param nombre: Nombre del rotor
+     * @return Verdadero si el rotor esta registrado
+     */
+    public static boolean contiene(String nombre) {
+        return nombre != null && DEFINICIONES.containsKey(nombre);
+    }
+
+    /**
+     * Indica si un rotor es una de las ruedas griegas de la M4 (Beta o Gamma), que solo pueden ocupar la primera
+     * posicion de una clave de cuatro rotores.
+     * @param nombre: Nombre del rotor
+     * @return Verdadero si el rotor es una rueda griega
+     */
+    public static boolean esRuedaGriega(String nombre) {
+        return "Beta".equals(nombre) || "Gamma".equals(nombre);
+    }
+
+    /**
+     * Retorna los nombres de los rotores registrados.
+     * @return Conjunto inmutable con los nombres
+     */
+    public static Set<String> nombres() {
+        return Set.copyOf(DEFINICIONES.keySet());
+    }
+
+    /**
+     * Registra un rotor nuevo en el catalogo. Los nombres ya registrados (incluidos los rotores historicos) no se pueden
+     * reemplazar: {@link EnigmaMachineCache} y {@link SpecializedEnigmaMachine} guardan configuraciones por nombre de
+     * rotor y seguirian usando el cableado anterior.
+     * @param nombre: Nombre del rotor
+     * @param cableado: Cableado como permutacion de las 26 letras, por ejemplo "EKMFLGDQVZNTOWYHXUSPAIBRCJ"
+     * @param muescas: Letras de las muescas, por ejemplo "Q" o "MZ" (puede ser vacio)
+     * @return Definicion registrada
+     * @throws IllegalArgumentException si el nombre ya esta registrado, el cableado no es una permutacion o las
+     * muescas no son letras
+     */
+    public static Definicion registrar(String nombre, String cableado, String muescas) {
+        if (nombre == null || nombre.isBlank()) {
+            throw new IllegalArgumentException("The rotor name must not be empty");
+        }
+        int[] frente = RotorImplementation.transformarConexionesAIndices(cableado);
+        validarPermutacion(nombre, frente);
+        int[] regreso = RotorImplementation.revertirConexionesParaReturn(frente);
+        Definicion definicion = new Definicion(nombre, frente, regreso,
+                RotorImplementation.construirTablaPorDesplazamiento(frente),
+                RotorImplementation.construirTablaPorDesplazamiento(regreso), mascaraDeMuescas(nombre, muescas));
+        if (DEFINICIONES.putIfAbsent(nombre, definicion) != null) {
+            throw new IllegalArgumentException("The rotor " + nombre + " is already registered");
+        }
+        return definicion;
+    }
+
+    /**
+     * Carga definiciones de rotores desde un archivo CSV con encabezado name,wiring,notches.
+     * @param archivo: Ruta del archivo
+     * @return Numero de rotores registrados
+     * @throws IOException si el archivo no se puede leer
+     */
+    public static int cargarDefiniciones(Path archivo) throws IOException {
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return cargarDefiniciones(lector);
+        }
+    }
+
+    /**
+     * Carga definiciones de rotores desde un lector con encabezado name,wiring,notches. El lector no se cierra.
+     * @param lector: Fuente del CSV
+     * @return Numero de rotores registrados
+     * @throws IOException si ocurre un error de lectura
+     * @throws IllegalArgumentException si una definicion es invalida o su nombre ya esta registrado
+     */
+    public static int cargarDefiniciones(Reader lector) throws IOException {
+        int registrados = 0;
+        CSVFormat formato = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true)
+                .setIgnoreSurroundingSpaces(true).setIgnoreEmptyLines(true).setCommentMarker('#').build();
+        for (CSVRecord registro : formato.parse(lector)) {
+            registrar(registro.get("name"), registro.get("wiring"), registro.isSet("notches") ? registro.get("notches") : "");
+            registrados++;
+        }
+        return registrados;
+    }
+
+    private static void validarPermutacion(String nombre, int[] cableado) {
+        if (cableado.length != N) {
+            throw new IllegalArgumentException("The wiring of rotor " + nombre + " must have 26 letters");
+        }
+        int vistos = 0;
+        for (int salida : cableado) {
+            if (salida < 0 || salida >= N || (vistos >>> salida & 1) != 0) {
+                throw new IllegalArgumentException("The wiring of rotor " + nombre + " is not a permutation of A-Z");
+            }
+            vistos |= 1 << salida;
+        }
+    }
+
+    private static int mascaraDeMuescas(String nombre, String muescas) {
+        int mascara = 0;
+        for (int i = 0; muescas != null && i < muescas.length(); i++) {
+            int muesca = muescas.charAt(i) - 'A';
+            if (muesca < 0 || muesca >= N) {
+                throw new IllegalArgumentException("The notches of rotor " + nombre + " must be letters A-Z");
+            }
+            mascara |= 1 << muesca;
+        }
+        return mascara;
+    }
+}
@@ -17,10 +17,14 @@ import java.util.Arrays;
  * <br><br>
  * El rotor presenta un metodo interno que facilita el retorno en el caso de tener que ir de regreso basado en una clave
  * en un proceso de desencripcion.
+ * <br><br>
+ * Los cableados y las tablas por desplazamiento provienen de {@link RotorCatalog} y se comparten entre todas las
+ * instancias del mismo rotor; cada instancia solo guarda su posicion, ring setting y muescas. Las muescas se guardan
+ * como una mascara de 26 bits, por lo que la clase es final y {@link #isANotch()} es la misma para todos los rotores.
  */
 @Getter(AccessLevel.PUBLIC)
 @Setter(AccessLevel.PUBLIC)
-public class RotorImplementation {
+public final class RotorImplementation {
 
     //! Implementation Variables
     //! Setters y Getters
@@ -28,32 +32,66 @@ public class RotorImplementation {
      * Determina el tipo de rotor (usaremos I, II, III, IV o V)
      */
     @Getter
-    protected String e_rotorName;
+    @Setter(AccessLevel.NONE)
+    private String e_rotorName;
     /**
      * Determina las posiciones (indices en un arreglo) de la longitud interna de la cadena ingresada como el orden de los
-     * notches
+     * notches. Compartido con el catalogo, no se debe modificar.
      */
-    protected int[] e_forwardWiringBasedOnNotches;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[] e_forwardWiringBasedOnNotches;
     /**
-     * Determina las posiciones (indices en un arreglo) inversos a los que tiene el forward notches
+     * Determina las posiciones (indices en un arreglo) inversos a los que tiene el forward notches. Compartido con el
+     * catalogo, no se debe modificar (el getter publico retorna una copia).
      */
-    protected int[] e_backwardWiringInverseOfForward;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[] e_backwardWiringInverseOfForward;
+
+    /**
+     * Tabla precalculada del recorrido hacia el frente, indexada por (desplazamiento efectivo * 26 + letra). El
+     * desplazamiento efectivo es (posicion - ring setting) mod 26, por lo que la tabla depende solo del cableado y se
+     * construye una unica vez por rotor en {@link RotorCatalog}. Compartida con el catalogo, no se debe modificar.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[] e_forwardTableByOffset;
+    /**
+     * Tabla precalculada del recorrido de regreso, con la misma organizacion que e_forwardTableByOffset.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[] e_backwardTableByOffset;
+    /**
+     * Inicio de la fila activa dentro de las tablas precalculadas (desplazamiento efectivo * 26). Se actualiza con cada
+     * turnover y con cada cambio de posicion o ring setting, de tal forma que forward y backward sean un solo acceso.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int e_offsetBase;
 
     /**
      * Variable entera encargada de almacenar las posiciones del rotor durante ejecucion.
      */
     @Getter
-    protected int e_rotorPosition;
+    private int e_rotorPosition;
     /**
      * Variable entera encargada de almacenar la posicion del notch (letra 
      */
     @Getter
-    protected int e_notchPosition;
+    private int e_notchPosition;
+    /**
+     * Mascara de 26 bits con todas las muescas del rotor (el bit p indica una muesca en la posicion p)
+     */
+    @Getter
+    @Setter(AccessLevel.NONE)
+    private int e_notchMask;
     /**
      * Variable entera encargada de almacenar la configuracion del Rotor con respecto
      */
     @Getter
-    protected int e_RingSetting;
+    private int e_RingSetting;
 
     /**
      * Constante estatica usada para delimitar dentro de esta y otras clases el total de letras del alfabeto
@@ -74,89 +112,38 @@ public class RotorImplementation {
      * <br><br>
      * El metodo internamente recopila todos estos parametros y los asigna a la instancia de la clase que se este generando,
      * este constructor no es visible al usuario, estas instancias se manejan estaticamente a traves de un factory method
-     * @param externalName: Nombre del rotor usado
-     * @param externalEncoding: Encoding externo usado
+     * @param externalDefinition: Definicion del rotor en el catalogo (nombre, cableados, tablas y muescas)
      * @param externalRotorPosition: Posicion del rotor
-     * @param externalnotchPosition: Posicion del notch
+     * @param externalRingSetting: Ring setting del rotor
      */
-    protected  RotorImplementation(String externalName, String externalEncoding,
-                                int externalRotorPosition, int externalnotchPosition, int externalRingSetting) {
-        this.e_rotorName = externalName;
-        this.e_forwardWiringBasedOnNotches = transformarConexionesAIndices(externalEncoding);
-        this.e_backwardWiringInverseOfForward = revertirConexionesParaReturn(this.e_forwardWiringBasedOnNotches);
-        this.e_rotorPosition = externalRotorPosition;
-        this.e_notchPosition = externalnotchPosition;
-        this.e_RingSetting = externalRingSetting;
+    private RotorImplementation(RotorCatalog.Definicion externalDefinition, int externalRotorPosition,
+                                int externalRingSetting) {
+        this.e_rotorName = externalDefinition.nombre();
+        this.e_forwardWiringBasedOnNotches = externalDefinition.cableadoFrenteCompartido();
+        this.e_backwardWiringInverseOfForward = externalDefinition.cableadoRegresoCompartido();
+        this.e_forwardTableByOffset = externalDefinition.tablaFrenteCompartida();
+        this.e_backwardTableByOffset = externalDefinition.tablaRegresoCompartida();
+        this.e_rotorPosition = Math.floorMod(externalRotorPosition, MAX_ALPHABET_SIZE);
+        this.e_notchMask = externalDefinition.mascaraDeMuescas();
+        this.e_notchPosition = externalDefinition.primeraMuesca();
+        this.e_RingSetting = Math.floorMod(externalRingSetting, MAX_ALPHABET_SIZE);
+        this.actualizarDesplazamientoEfectivo();
     }
 
     /**
      * Metodo factory estatico que permite al usuario generar una instancia de la clase RotorImplementation, sin tener que
      * llamar al constructor. Este metodo toma los parametros externos visibles para el usuario como son el rotor a usar,
-     * la configuracion externa de la posicion inicial del rotor, y el desplazamiento o ring setting.
+     * la configuracion externa de la posicion inicial del rotor, y el desplazamiento o ring setting. El cableado se toma
+     * de {@link RotorCatalog}, por lo que no se procesa ninguna cadena al crear el rotor.
      * @param externalRotorName: Nombre del Rotor Seleccionado para Usar
      * @param externalRotorPosition: Valor entero representativo de la posicion inicial del rotor [0,26]
      * @param externalRingSetting: Valor entero representativo del ring setting del rotor [0,26]
      * @return Instancia de la clase RotorImplementation
+     * @throws IllegalArgumentException si el rotor no esta en el catalogo
      */
     public static RotorImplementation createRotor(String externalRotorName, int externalRotorPosition, int externalRingSetting) {
-
-        //! Para la implementacion de este factory method trabajamos con un switch del nombre externo del rotor
-        switch (externalRotorName) {
-            case "I" /*Modelo I del rotor*/: {
-                return new RotorImplementation("I",
-                        "EKMFLGDQVZNTOWYHXUSPAIBRCJ",
-                        externalRotorPosition,
-                        16, externalRingSetting);
-            }
-            case "II": {
-                return new RotorImplementation("II",
-                        "AJDKSIRUXBLHWTMCQGZNPYFVOE",
-                        externalRotorPosition,
-                        4, externalRingSetting);
-            }
-            case "III": {
-                return new RotorImplementation("III", "BDFHJLCPRTXVZNYEIWGAKMUSQO",
-                        externalRotorPosition, 21, externalRingSetting);
-            }
-            case "IV": {
-                return new RotorImplementation("IV", "ESOVPZJAYQUIRHXLNFTGKDCMWB", externalRotorPosition
-                        , 9, externalRingSetting);
-            }
-            case "V": {
-                return new RotorImplementation("V", "VZBRGITYUPSDNHLXAWMJQOFECK",
-                        externalRotorPosition, 25, externalRingSetting);
-            }
-            case "VI": {
-                return new RotorImplementation("VI", "JPGVOUMFYQBENHZRDKASXLICTW",
-                        externalRotorPosition, 0, externalRingSetting){
-                    @Override
-                    public boolean isANotch() {
-                        return this.e_rotorPosition == 12 || this.e_rotorPosition == 25;
-                    }
-                };
-            }
-            case "VII": {
-                return new RotorImplementation("VII", "NZJHGRCXMYSWBOUFAIVLPEKQDT",
-                        externalRotorPosition, 0, externalRingSetting) {
-                    @Override
-                    public boolean isANotch() {
-                        return this.e_rotorPosition == 12 || this.e_rotorPosition == 25;
-                    }
-                };
-            }
-            case "VIII": {
-                return new RotorImplementation("VIII" ,"FKQHTLXOCBJSPDZRAMEWNIUYGV",
-                        externalRotorPosition, 0, externalRingSetting){
-                    @Override
-                    public boolean isANotch() {
-                        return this.e_rotorPosition == 12 || this.e_rotorPosition == 25;
-                    }
-                };
-            }
-            default: {
-                throw new UnsupportedOperationException();
-            }
-        }
+        return new RotorImplementation(RotorCatalog.obtener(externalRotorName), externalRotorPosition,
+                externalRingSetting);
     }
 
 
@@ -171,7 +158,7 @@ public class RotorImplementation {
         return retornoStringArrayAIntegerArray;
     }
 
-    protected  int[] revertirConexionesParaReturn(int[] externalCharToIntConections){
+    protected static int[] revertirConexionesParaReturn(int[] externalCharToIntConections){
         int[] retornoCharToArrayReversed = new int[externalCharToIntConections.length];
         for(int i = 0; i < externalCharToIntConections.length; i++){
             int forwardLink = externalCharToIntConections[i];
@@ -180,6 +167,85 @@ public class RotorImplementation {
         return retornoCharToArrayReversed;
     }
 
+    /**
+     * Metodo encargado de precalcular, para cada uno de los 26 desplazamientos efectivos posibles, el resultado de
+     * {@link #cifradoDeUnaClaveConociendoSuPosicion(int, int, int, int[])} para cada letra de entrada. La tabla
+     * resultante es plana: la fila del desplazamiento s inicia en s * 26.
+     * @param externalMapping: Cableado (hacia el frente o inverso) del rotor
+     * @return Tabla de 26 * 26 enteros con los resultados precalculados
+     */
+    protected static int[] construirTablaPorDesplazamiento(int[] externalMapping){
+        int[] tablaPorDesplazamiento = new int[MAX_ALPHABET_SIZE * MAX_ALPHABET_SIZE];
+        for (int shift = 0; shift < MAX_ALPHABET_SIZE; shift++){
+            for (int letter = 0; letter < MAX_ALPHABET_SIZE; letter++){
+                tablaPorDesplazamiento[shift * MAX_ALPHABET_SIZE + letter] =
+                        cifradoDeUnaClaveConociendoSuPosicion(letter, shift, 0, externalMapping);
+            }
+        }
+        return tablaPorDesplazamiento;
+    }
+
+    /**
+     * Recalcula el inicio de la fila activa de las tablas precalculadas a partir de la posicion y el ring setting
+     * actuales. Solo se invoca fuera del camino de encriptado (constructor y setters).
+     */
+    private void actualizarDesplazamientoEfectivo(){
+        this.e_offsetBase = Math.floorMod(this.e_rotorPosition - this.e_RingSetting, MAX_ALPHABET_SIZE)
+                * MAX_ALPHABET_SIZE;
+    }
+
+    /**
+     * Modifica la posicion del rotor y recalcula la fila activa de las tablas precalculadas. La posicion se reduce
+     * modulo 26, igual que en {@link com.evolvlabs.enigmaDecriptor.EnigmaKey#canonica()}.
+     * @param externalRotorPosition: Nueva posicion del rotor (cualquier entero, 26 equivale a 0)
+     */
+    public void setE_rotorPosition(int externalRotorPosition){
+        this.e_rotorPosition = Math.floorMod(externalRotorPosition, MAX_ALPHABET_SIZE);
+        this.actualizarDesplazamientoEfectivo();
+    }
+
+    /**
+     * Modifica el ring setting del rotor y recalcula la fila activa de las tablas precalculadas. El valor se reduce
+     * modulo 26.
+     * @param externalRingSetting: Nuevo ring setting del rotor (cualquier entero, 26 equivale a 0)
+     */
+    public void setE_RingSetting(int externalRingSetting){
+        this.e_RingSetting = Math.floorMod(externalRingSetting, MAX_ALPHABET_SIZE);
+        this.actualizarDesplazamientoEfectivo();
+    }
+
+    //! Los cableados y las tablas se comparten con el catalogo, por lo que los getters publicos retornan copias
+
+    public int[] getE_forwardWiringBasedOnNotches() {
+        return this.e_forwardWiringBasedOnNotches.clone();
+    }
+
+    public int[] getE_backwardWiringInverseOfForward() {
+        return this.e_backwardWiringInverseOfForward.clone();
+    }
+
+    public int[] getE_forwardTableByOffset() {
+        return this.e_forwardTableByOffset.clone();
+    }
+
+    public int[] getE_backwardTableByOffset() {
+        return this.e_backwardTableByOffset.clone();
+    }
+
+    /**
+     * Tabla hacia el frente compartida con el catalogo, sin copiar; no se debe modificar.
+     */
+    int[] tablaFrenteCompartida() {
+        return this.e_forwardTableByOffset;
+    }
+
+    /**
+     * Tabla de regreso compartida con el catalogo, sin copiar; no se debe modificar.
+     */
+    int[] tablaRegresoCompartida() {
+        return this.e_backwardTableByOffset;
+    }
+
     protected static int cifradoDeUnaClaveConociendoSuPosicion(int externalCharacterZeroBased, int externalRotorPosition,
                                                                int externalRingConfiguration, int[] externalForwardMapping){
         // Calculate shift considering ring setting
@@ -191,18 +257,53 @@ public class RotorImplementation {
         return (mapped - shift + 26) % 26;
     }
     public int forward(int externalCharacterZeroBased){
-        return cifradoDeUnaClaveConociendoSuPosicion(externalCharacterZeroBased, this.e_rotorPosition,
-                this.e_RingSetting, this.e_forwardWiringBasedOnNotches);
+        return this.e_forwardTableByOffset[this.e_offsetBase + externalCharacterZeroBased];
     }
     public int backward(int externalCharacterZeroBased){
-        return cifradoDeUnaClaveConociendoSuPosicion(externalCharacterZeroBased, this.e_rotorPosition,
-                this.e_RingSetting, this.e_backwardWiringInverseOfForward);
+        return this.e_backwardTableByOffset[this.e_offsetBase + externalCharacterZeroBased];
     }
 
     public void turnover(){
-        this.e_rotorPosition = (this.e_rotorPosition + 1) % 26;
+        //! Evitamos el modulo: tanto la posicion como la fila activa regresan a cero al completar la vuelta
+        if (++this.e_rotorPosition == MAX_ALPHABET_SIZE){
+            this.e_rotorPosition = 0;
+        }
+        this.e_offsetBase += MAX_ALPHABET_SIZE;
+        if (this.e_offsetBase == MAX_ALPHABET_SIZE * MAX_ALPHABET_SIZE){
+            this.e_offsetBase = 0;
+        }
     }
     public boolean isANotch(){
-        return this.e_notchPosition == this.e_rotorPosition;
+        return (this.e_notchMask >>> this.e_rotorPosition & 1) != 0;
+    }
+
+    /**
+     * Modifica la muesca del rotor, dejando una sola muesca en la posicion indicada.
+     * @param externalNotchPosition: Nueva posicion de la muesca [0,25]
+     */
+    public void setE_notchPosition(int externalNotchPosition){
+        this.e_notchPosition = externalNotchPosition;
+        this.e_notchMask = 1 << externalNotchPosition;
+    }
+
+    /**
+     * Retorna las posiciones en las que el rotor provoca el giro del siguiente rotor como una mascara de 26 bits
+     * (el bit p esta encendido si {@link #isANotch()} es verdadero en la posicion p).
+     * @return Mascara de bits con las muescas del rotor
+     */
+    public int obtenerMascaraDeMuescas(){
+        return this.e_notchMask;
+    }
+
+    /**
+     * Crea una copia independiente del rotor con el mismo tipo, posicion, ring setting y muesca. La copia puede rotar
+     * sin afectar al rotor original.
+     * @return Nueva instancia de RotorImplementation
+     */
+    public RotorImplementation copiar(){
+        RotorImplementation copia = createRotor(this.e_rotorName, this.e_rotorPosition, this.e_RingSetting);
+        copia.e_notchPosition = this.e_notchPosition;
+        copia.e_notchMask = this.e_notchMask;
+        return copia;
     }
 }
@@ -0,0 +1,49 @@
+package com.evolvlabs.enigmabackend;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el motor de {@link EnigmaEngine} basado en
+ * {@link SpecializedEnigmaMachine}: la configuracion de la maquina se especializa en una clase oculta (reutilizada
+ * desde su cache) y el mensaje se encripta con las tablas y muescas como constantes. Definir la clase cuesta mas que
+ * encriptar muchos mensajes, por lo que solo se especializan las configuraciones calientes (ver
+ * {@link SpecializedEnigmaMachine#USOS_PARA_ESPECIALIZAR}); mientras una configuracion no lo es, el mensaje se encripta
+ * con el motor de referencia, sin candados ni memoria adicional.
+ */
+public final class SpecializedEnigmaEngine implements EnigmaEngine {
+
+    /**
+     * Nombre del motor en la propiedad enigma.engine
+     */
+    public static final String NOMBRE = "specialized";
+
+    /**
+     * Longitud minima del mensaje para seleccionar este motor automaticamente; por debajo de ella, calcular la huella
+     * de la configuracion cuesta mas que lo que se ahorra
+     */
+    static final int LONGITUD_MINIMA = 1_024;
+
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public int prioridad(int longitudDelMensaje) {
+        return longitudDelMensaje >= LONGITUD_MINIMA ? 20 : -1;
+    }
+
+    @Override
+    public int encrypt(EnigmaMachineImplementation machine, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        SpecializedEnigmaMachine especializada = SpecializedEnigmaMachine.paraMaquina(machine);
+        if (especializada == null) {
+            return machine.encryptDeReferencia(src, srcOff, dst, dstOff, len);
+        }
+        EnigmaMachineCursor cursor = EnigmaMachineCursor.desdeMaquina(machine);
+        try {
+            return especializada.encrypt(cursor, src, srcOff, dst, dstOff, len);
+        } finally {
+            RegistroDeMotores.actualizarMaquina(machine, cursor);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.evolvlabs.enigmabackend;
+
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la especializacion en tiempo de ejecucion de una maquina enigma para una
+ * configuracion fija. Para cada configuracion se define una clase oculta
+ * ({@link MethodHandles.Lookup#defineHiddenClassWithClassData}) a partir del bytecode de
+ * {@link PlantillaDeEncriptador}, con la configuracion como dato de la clase; las tablas, los ring settings y las
+ * muescas quedan en campos static final de esa clase, que el JIT trata como constantes, en lugar de leerse de los
+ * campos de una instancia en cada caracter.
+ * <br><br>
+ * Las maquinas especializadas se guardan en una cache LRU concurrente por configuracion, indexada por una huella de 64
+ * bits de los rotores, anillos, cableado del reflector, plugboard y mecanismo de rotacion; cada acierto se confirma
+ * comparando la configuracion completa, por lo que una colision nunca entrega otra maquina. Las clases ocultas se
+ * definen fuera de cualquier candado y no se definen como STRONG, por lo que cuando una entrada sale de la cache y
+ * nadie mas la usa, su clase se puede descargar junto con sus tablas. Las instancias son inmutables y se pueden
+ * compartir entre hilos; el estado de cada mensaje vive en un {@link EnigmaMachineCursor}.
+ * <br><br>
+ * {@link SpecializedEnigmaEngine} solo especializa claves calientes: {@link #paraMaquina} cuenta los usos de cada
+ * huella en una tabla fija (sin reservar memoria) y solo define la clase cuando la misma configuracion se uso
+ * {@value #USOS_PARA_ESPECIALIZAR} veces, de tal forma que una busqueda que prueba una configuracion distinta en cada
+ * llamada (por ejemplo Collosus) no define clases ni toma candados.
+ */
+public final class SpecializedEnigmaMachine {
+
+    /**
+     * Numero maximo de configuraciones especializadas que se mantienen en la cache
+     */
+    public static final int TAMANO_MAXIMO_DE_CACHE = 64;
+
+    /**
+     * Usos de una misma configuracion a partir de los cuales {@link #paraMaquina} la especializa
+     */
+    public static final int USOS_PARA_ESPECIALIZAR = 3;
+
+    private static final String PLANTILLA = "PlantillaDeEncriptador.class";
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+    private static final int ROTORES = 3;
+
+    private static final ConcurrentHashMap<Long, SpecializedEnigmaMachine> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Conteo de usos por huella: cada celda guarda los 48 bits altos de la huella y un contador de 16 bits. Una huella
+     * distinta en la misma celda reinicia el contador, por lo que las colisiones no vuelven caliente a una clave.
+     */
+    private static final AtomicLongArray USOS = new AtomicLongArray(4096);
+    private static final long MASCARA_DE_CONTEO = 0xFFFFL;
+
+    /**
+     * Bytecode de la plantilla, se lee una sola vez al primer uso
+     */
+    private static final class BytecodeDePlantilla {
+        static final byte[] BYTES = leerPlantilla();
+    }
+
+    private final EnigmaMachineConfiguration e_configuracion;
+    private final EncriptadorEspecializado e_encriptador;
+    /**
+     * Ultimo uso de la entrada (System.nanoTime), usado para desalojar la menos reciente
+     */
+    private volatile long e_ultimoUso = System.nanoTime();
+
+    private SpecializedEnigmaMachine(EnigmaMachineConfiguration configuracion) {
+        this.e_configuracion = configuracion;
+        try {
+            Class<?> clase = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(BytecodeDePlantilla.BYTES, configuracion, true)
+                    .lookupClass();
+            this.e_encriptador = (EncriptadorEspecializado) clase.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The specialized encryptor could not be defined", e);
+        }
+    }
+
+    /**
+     * Retorna la maquina especializada para una configuracion, generandola la primera vez y reutilizandola mientras
+     * permanezca en la cache.
+     * @param externalConfiguration: Configuracion a especializar
+     * @return Maquina especializada compartida
+     */
+    public static SpecializedEnigmaMachine especializar(EnigmaMachineConfiguration externalConfiguration) {
+        long huella = huella(externalConfiguration);
+        SpecializedEnigmaMachine maquina = CACHE.get(huella);
+        if (maquina != null) {
+            if (maquina.coincideCon(externalConfiguration)) {
+                maquina.e_ultimoUso = System.nanoTime();
+                return maquina;
+            }
+            //! Colision de huellas: la maquina se genera sin reemplazar la entrada existente
+            return new SpecializedEnigmaMachine(externalConfiguration);
+        }
+        //! La clase se define fuera del mapa; si otro hilo gano la carrera se usa la suya y esta se descarga
+        SpecializedEnigmaMachine nueva = new SpecializedEnigmaMachine(externalConfiguration);
+        SpecializedEnigmaMachine existente = CACHE.putIfAbsent(huella, nueva);
+        if (existente != null) {
+            return existente.coincideCon(externalConfiguration) ? existente : nueva;
+        }
+        desalojar();
+        return nueva;
+    }
+
+    /**
+     * Retorna la maquina especializada para la configuracion de una clave (los indicadores se toman con
+     * {@link EnigmaMachineCursor#desdeClave}). La configuracion se toma de {@link EnigmaMachineCache#COMPARTIDA}.
+     * @param externalKey: Clave a especializar
+     * @return Maquina especializada compartida
+     */
+    public static SpecializedEnigmaMachine especializar(EnigmaKey externalKey) {
+        return especializar(EnigmaMachineCache.COMPARTIDA.configuracion(externalKey));
+    }
+
+    /**
+     * Retorna la maquina especializada para la configuracion actual de una maquina si esa configuracion es caliente.
+     * Cada llamada cuenta un uso de la configuracion; mientras no llegue a {@value #USOS_PARA_ESPECIALIZAR} usos (o si
+     * su huella colisiona con otra entrada) retorna null y no reserva memoria.
+     * @param externalMachine: Maquina con la configuracion a buscar
+     * @return Maquina especializada compartida, o null si la configuracion aun no es caliente
+     */
+    static SpecializedEnigmaMachine paraMaquina(EnigmaMachineImplementation externalMachine) {
+        long huella = huella(externalMachine);
+        SpecializedEnigmaMachine maquina = CACHE.get(huella);
+        if (maquina != null) {
+            if (!maquina.coincideCon(externalMachine)) {
+                return null;
+            }
+            maquina.e_ultimoUso = System.nanoTime();
+            return maquina;
+        }
+        if (registrarUso(huella) < USOS_PARA_ESPECIALIZAR) {
+            return null;
+        }
+        return especializar(EnigmaMachineConfiguration.desdeMaquina(externalMachine));
+    }
+
+    /**
+     * Elimina todas las maquinas de la cache, sus clases se descargan cuando dejan de usarse.
+     */
+    public static void limpiarCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Elimina las entradas usadas hace mas tiempo mientras la cache supere su tamano maximo.
+     */
+    private static void desalojar() {
+        while (CACHE.size() > TAMANO_MAXIMO_DE_CACHE) {
+            Map.Entry<Long, SpecializedEnigmaMachine> masAntigua = null;
+            for (Map.Entry<Long, SpecializedEnigmaMachine> entrada : CACHE.entrySet()) {
+                if (masAntigua == null || entrada.getValue().e_ultimoUso < masAntigua.getValue().e_ultimoUso) {
+                    masAntigua = entrada;
+                }
+            }
+            if (masAntigua == null) {
+                return;
+            }
+            CACHE.remove(masAntigua.getKey(), masAntigua.getValue());
+        }
+    }
+
+    private static int registrarUso(long huella) {
+        int indice = (int) huella & (USOS.length() - 1);
+        long etiqueta = huella & ~MASCARA_DE_CONTEO;
+        while (true) {
+            long actual = USOS.get(indice);
+            long usos = (actual & ~MASCARA_DE_CONTEO) == etiqueta ? (actual & MASCARA_DE_CONTEO) : 0;
+            long nuevo = etiqueta | Math.min(MASCARA_DE_CONTEO, usos + 1);
+            if (USOS.compareAndSet(indice, actual, nuevo)) {
+                return (int) (nuevo & MASCARA_DE_CONTEO);
+            }
+        }
+    }
+
+    //! La huella y la comparacion leen los mismos campos de una configuracion o de una maquina, sin reservar memoria
+
+    private static long huella(EnigmaMachineConfiguration configuracion) {
+        long huella = 0xCBF29CE484222325L;
+        for (int i = 0; i < ROTORES; i++) {
+            huella = mezclar(mezclar(huella, configuracion.nombreDeRotor(i).hashCode()), configuracion.ringSetting(i));
+        }
+        for (int letra = 0; letra < N; letra++) {
+            huella = mezclar(mezclar(huella, configuracion.e_reflector[letra]), configuracion.e_plugBoard[letra]);
+        }
+        return finalizar(mezclar(huella, configuracion.getE_mecanismoDeRotacion().ordinal()));
+    }
+
+    private static long huella(EnigmaMachineImplementation maquina) {
+        long huella = 0xCBF29CE484222325L;
+        for (int i = 0; i < ROTORES; i++) {
+            RotorImplementation rotor = EnigmaMachineConfiguration.rotor(maquina, i);
+            huella = mezclar(mezclar(huella, rotor.getE_rotorName().hashCode()), rotor.getE_RingSetting());
+        }
+        ReflectorImplementation reflector = maquina.getE_reflectorInterno();
+        PlugBoardImplementation plugBoard = maquina.getE_plugBoardInterno();
+        for (int letra = 0; letra < N; letra++) {
+            huella = mezclar(mezclar(huella, reflector.getForwardLinkBasedOnCharacter(letra)),
+                    plugBoard.getForwardWiringBasedOnCharacter(letra));
+        }
+        return finalizar(mezclar(huella, maquina.getE_mecanismoDeRotacion().ordinal()));
+    }
+
+    private static long mezclar(long huella, int valor) {
+        return (huella ^ valor) * 0x100000001B3L;
+    }
+
+    private static long finalizar(long huella) {
+        huella = (huella ^ (huella >>> 33)) * 0xFF51AFD7ED558CCDL;
+        huella = (huella ^ (huella >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return huella ^ (huella >>> 33);
+    }
+
+    private boolean coincideCon(EnigmaMachineConfiguration otra) {
+        EnigmaMachineConfiguration propia = this.e_configuracion;
+        if (propia == otra) {
+            return true;
+        }
+        for (int i = 0; i < ROTORES; i++) {
+            if (!propia.nombreDeRotor(i).equals(otra.nombreDeRotor(i)) || propia.ringSetting(i) != otra.ringSetting(i)) {
+                return false;
+            }
+        }
+        return Arrays.equals(propia.e_reflector, otra.e_reflector) && Arrays.equals(propia.e_plugBoard, otra.e_plugBoard)
+                && propia.getE_mecanismoDeRotacion() == otra.getE_mecanismoDeRotacion();
+    }
+
+    private boolean coincideCon(EnigmaMachineImplementation maquina) {
+        return this.e_configuracion.coincideCon(maquina);
+    }
+
+    private static byte[] leerPlantilla() {
+        try (InputStream entrada = SpecializedEnigmaMachine.class.getResourceAsStream(PLANTILLA)) {
+            if (entrada == null) {
+                throw new IllegalStateException("The bytecode of " + PLANTILLA + " is missing");
+            }
+            return entrada.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public EnigmaMachineConfiguration getE_configuracion() {
+        return this.e_configuracion;
+    }
+
+    /**
+     * Retorna la clase oculta generada para esta configuracion.
+     * @return Clase del encriptador especializado
+     */
+    public Class<?> getE_claseGenerada() {
+        return this.e_encriptador.getClass();
+    }
+
+    /**
+     * Encripta un rango de caracteres con la misma semantica que
+     * {@link EnigmaMachineConfiguration#encrypt(EnigmaMachineCursor, char[], int, char[], int, int)}.
+     * @param cursor: Cursor del mensaje
+     * @param src: Arreglo de origen
+     * @param srcOff: Inicio del rango dentro del origen
+     * @param dst: Arreglo de destino (puede ser el mismo origen)
+     * @param dstOff: Inicio del rango dentro del destino
+     * @param len: Numero de caracteres a procesar
+     * @return Numero de letras encriptadas (caracteres que rotaron el cursor)
+     */
+    public int encrypt(EnigmaMachineCursor cursor, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        return this.e_encriptador.encrypt(cursor, src, srcOff, dst, dstOff, len);
+    }
+
+    /**
+     * Equivalente a {@link EnigmaMachineConfiguration#encriptadodeCaracter(EnigmaMachineCursor, char[])}: encripta el
+     * mensaje completo y reemplaza los espacios en blanco por ' '.
+     * @param cursor: Cursor del mensaje
+     * @param externalCharactersMarkerZeroBased: Mensaje en mayusculas
+     * @return Arreglo con el mensaje encriptado
+     */
+    public char[] encriptadodeCaracter(EnigmaMachineCursor cursor, char[] externalCharactersMarkerZeroBased) {
+        char[] retornoDeEncriptado = new char[externalCharactersMarkerZeroBased.length];
+        this.encrypt(cursor, externalCharactersMarkerZeroBased, 0, retornoDeEncriptado, 0, retornoDeEncriptado.length);
+        for (int i = 0; i < retornoDeEncriptado.length; i++) {
+            if (Character.isWhitespace(retornoDeEncriptado[i])) {
+                retornoDeEncriptado[i] = ' ';
+            }
+        }
+        return retornoDeEncriptado;
+    }
+}
@@ -0,0 +1,234 @@
+package com.evolvlabs.enigmabackend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la estructura ciclica de la secuencia de posiciones de los rotores de una
+ * maquina enigma. La rotacion (con paso doble o con cualquier otro mecanismo) es una funcion determinista sobre los
+ * 26^3 estados posibles, por lo que desde cualquier estado la secuencia recorre unos pocos estados transitorios (por
+ * ejemplo, el rotor medio en su muesca sin haber llegado por paso doble) y luego entra a un ciclo que se repite para
+ * siempre.
+ * <br><br>
+ * La clase precalcula, para cada estado, el ciclo al que pertenece y su indice dentro de el. Con esto, avanzar N pasos
+ * desde cualquier estado solo requiere recorrer los pocos pasos transitorios y luego una operacion modular sobre el
+ * ciclo, sin importar el tamano de N. Como la rotacion solo depende del mecanismo ({@link SteppingMechanism}) y de
+ * las muescas del rotor medio y derecho (no de los cableados ni de los anillos), las instancias se comparten entre
+ * todas las maquinas con el mismo mecanismo y las mismas muescas.
+ */
+public final class StepSchedule {
+
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+    private static final int TOTAL_DE_ESTADOS = N * N * N;
+
+    /**
+     * Cache de instancias por mecanismo y combinacion de muescas
+     */
+    private static final ConcurrentHashMap<Long, StepSchedule> SCHEDULES = new ConcurrentHashMap<>();
+
+    /**
+     * Estado siguiente de cada estado empaquetado (izquierda * 676 + media * 26 + derecha)
+     */
+    private final int[] e_siguiente;
+    /**
+     * Rotores que giran al rotar desde cada estado: bit 0 el derecho, bit 1 el medio y bit 2 el izquierdo
+     */
+    private final byte[] e_giros;
+    /**
+     * Ciclo al que llega cada estado
+     */
+    private final int[] e_cicloDeEstado;
+    /**
+     * Indice de cada estado dentro de su ciclo, o -1 si el estado es transitorio
+     */
+    private final int[] e_posicionEnCiclo;
+    /**
+     * Estados de cada ciclo, en el orden en el que se recorren
+     */
+    private final int[][] e_ciclos;
+
+    private StepSchedule(int[] siguiente) {
+        this.e_siguiente = siguiente;
+        this.e_giros = new byte[TOTAL_DE_ESTADOS];
+        for (int estado = 0; estado < TOTAL_DE_ESTADOS; estado++) {
+            int destino = siguiente[estado];
+            this.e_giros[estado] = (byte) ((destino % N != estado % N ? 1 : 0)
+                    | (destino / N % N != estado / N % N ? 2 : 0) | (destino / (N * N) != estado / (N * N) ? 4 : 0));
+        }
+        this.e_cicloDeEstado = new int[TOTAL_DE_ESTADOS];
+        this.e_posicionEnCiclo = new int[TOTAL_DE_ESTADOS];
+        Arrays.fill(this.e_posicionEnCiclo, -1);
+
+        //! 0 = sin visitar, 1 = en el camino actual, 2 = resuelto
+        byte[] marca = new byte[TOTAL_DE_ESTADOS];
+        int[] camino = new int[TOTAL_DE_ESTADOS];
+        List<int[]> ciclos = new ArrayList<>();
+
+        for (int inicio = 0; inicio < TOTAL_DE_ESTADOS; inicio++) {
+            if (marca[inicio] != 0) {
+                continue;
+            }
+            //! Recorremos hasta llegar a un estado visitado
+            int longitud = 0;
+            int estado = inicio;
+            while (marca[estado] == 0) {
+                marca[estado] = 1;
+                camino[longitud++] = estado;
+                estado = siguiente[estado];
+            }
+            int ciclo;
+            int finDelTransitorio = longitud;
+            if (marca[estado] == 1) {
+                //! Encontramos un ciclo nuevo dentro del camino actual
+                int inicioDelCiclo = longitud - 1;
+                while (camino[inicioDelCiclo] != estado) {
+                    inicioDelCiclo--;
+                }
+                int[] estadosDelCiclo = Arrays.copyOfRange(camino, inicioDelCiclo, longitud);
+                ciclo = ciclos.size();
+                ciclos.add(estadosDelCiclo);
+                for (int i = 0; i < estadosDelCiclo.length; i++) {
+                    this.e_posicionEnCiclo[estadosDelCiclo[i]] = i;
+                    this.e_cicloDeEstado[estadosDelCiclo[i]] = ciclo;
+                    marca[estadosDelCiclo[i]] = 2;
+                }
+                finDelTransitorio = inicioDelCiclo;
+            } else {
+                ciclo = this.e_cicloDeEstado[estado];
+            }
+            for (int i = 0; i < finDelTransitorio; i++) {
+                this.e_cicloDeEstado[camino[i]] = ciclo;
+                marca[camino[i]] = 2;
+            }
+        }
+        this.e_ciclos = ciclos.toArray(new int[0][]);
+    }
+
+    /**
+     * Retorna la estructura de rotacion con paso doble para las muescas dadas, calculandola una sola vez por
+     * combinacion de muescas.
+     * @param mascaraMedio: Muescas del rotor medio como mascara de 26 bits
+     * @param mascaraDerecho: Muescas del rotor derecho como mascara de 26 bits
+     * @return Instancia compartida de StepSchedule
+     */
+    public static StepSchedule paraMuescas(int mascaraMedio, int mascaraDerecho) {
+        return paraMecanismo(SteppingMechanism.DOUBLE_STEPPING, mascaraMedio, mascaraDerecho);
+    }
+
+    /**
+     * Retorna la estructura de rotacion de un mecanismo para las muescas dadas. La tabla de estados siguientes se
+     * compila una sola vez por mecanismo y combinacion de muescas (que es todo lo que la rotacion toma de los
+     * rotores), y se comparte entre todas las maquinas con ese juego de rotores.
+     * @param mecanismo: Mecanismo de rotacion de la variante
+     * @param mascaraMedio: Muescas del rotor medio como mascara de 26 bits
+     * @param mascaraDerecho: Muescas del rotor derecho como mascara de 26 bits
+     * @return Instancia compartida de StepSchedule
+     */
+    public static StepSchedule paraMecanismo(SteppingMechanism mecanismo, int mascaraMedio, int mascaraDerecho) {
+        //! Las mascaras ocupan 26 bits cada una, el mecanismo va en los bits superiores
+        long llave = ((long) mecanismo.ordinal() << 52) | ((long) mascaraMedio << 26) | mascaraDerecho;
+        return SCHEDULES.computeIfAbsent(llave,
+                ignored -> new StepSchedule(compilar(mecanismo, mascaraMedio, mascaraDerecho)));
+    }
+
+    /**
+     * Evalua el mecanismo sobre todos los estados para construir la funcion de estado siguiente.
+     */
+    private static int[] compilar(SteppingMechanism mecanismo, int mascaraMedio, int mascaraDerecho) {
+        int[] siguiente = new int[TOTAL_DE_ESTADOS];
+        for (int izquierda = 0; izquierda < N; izquierda++) {
+            for (int media = 0; media < N; media++) {
+                for (int derecha = 0; derecha < N; derecha++) {
+                    siguiente[(izquierda * N + media) * N + derecha] =
+                            mecanismo.siguiente(izquierda, media, derecha, mascaraMedio, mascaraDerecho);
+                }
+            }
+        }
+        return siguiente;
+    }
+
+    /**
+     * Retorna la tabla de estados siguientes, indexada por estado empaquetado. Es compartida y no se debe modificar.
+     * @return Tabla de estados siguientes
+     */
+    int[] tablaDeSiguientes() {
+        return this.e_siguiente;
+    }
+
+    /**
+     * Retorna los rotores que giran al rotar desde un estado. Cada mecanismo gira un rotor a lo mucho una posicion,
+     * por lo que una maquina puede rotar con {@link RotorImplementation#turnover()} sin desempaquetar el estado.
+     * @param estado: Estado empaquetado (ver {@link EnigmaMachineCursor#snapshot()})
+     * @return Bit 0 si gira el rotor derecho, bit 1 si gira el medio y bit 2 si gira el izquierdo
+     */
+    int giros(int estado) {
+        return this.e_giros[estado];
+    }
+
+    /**
+     * Retorna el estado luego de una sola rotacion.
+     * @param estado: Estado empaquetado (ver {@link EnigmaMachineCursor#snapshot()})
+     * @return Estado empaquetado luego de rotar
+     */
+    public int siguiente(int estado) {
+        return this.e_siguiente[estado];
+    }
+
+    /**
+     * Retorna el estado luego de aplicar la rotacion el numero de veces indicado, sin recorrer los pasos uno por uno.
+     * @param estado: Estado empaquetado inicial
+     * @param pasos: Numero de rotaciones a aplicar (mayor o igual a cero)
+     * @return Estado empaquetado luego de las rotaciones
+     */
+    public int avanzar(int estado, long pasos) {
+        if (pasos < 0) {
+            throw new IllegalArgumentException("The number of steps must not be negative");
+        }
+        //! Los estados transitorios se recorren directamente (son muy pocos antes de llegar al ciclo)
+        while (pasos > 0 && this.e_posicionEnCiclo[estado] < 0) {
+            estado = this.e_siguiente[estado];
+            pasos--;
+        }
+        if (pasos == 0) {
+            return estado;
+        }
+        int[] ciclo = this.e_ciclos[this.e_cicloDeEstado[estado]];
+        return ciclo[(int) ((this.e_posicionEnCiclo[estado] + pasos % ciclo.length) % ciclo.length)];
+    }
+
+    /**
+     * Retorna el numero de rotaciones necesarias para llegar de un estado a otro, es decir, el inverso de
+     * {@link #avanzar(int, long)}. Si hay varias respuestas (el destino esta en el ciclo) retorna la menor.
+     * @param desde: Estado empaquetado inicial
+     * @param hasta: Estado empaquetado a alcanzar
+     * @return Numero de rotaciones, o -1 si el destino no se alcanza desde el estado inicial
+     */
+    long pasosHasta(int desde, int hasta) {
+        long pasos = 0;
+        while (desde != hasta && this.e_posicionEnCiclo[desde] < 0) {
+            desde = this.e_siguiente[desde];
+            pasos++;
+        }
+        if (desde == hasta) {
+            return pasos;
+        }
+        if (this.e_posicionEnCiclo[hasta] < 0 || this.e_cicloDeEstado[hasta] != this.e_cicloDeEstado[desde]) {
+            return -1;
+        }
+        int longitud = this.e_ciclos[this.e_cicloDeEstado[desde]].length;
+        return pasos + Math.floorMod(this.e_posicionEnCiclo[hasta] - this.e_posicionEnCiclo[desde], longitud);
+    }
+
+    /**
+     * Retorna la longitud del ciclo al que llega el estado dado.
+     * @param estado: Estado empaquetado
+     * @return Numero de estados del ciclo
+     */
+    public int longitudDelCiclo(int estado) {
+        return this.e_ciclos[this.e_cicloDeEstado[estado]].length;
+    }
+}
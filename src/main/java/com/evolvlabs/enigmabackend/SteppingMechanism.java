@@ -0,0 +1,71 @@
+package com.evolvlabs.enigmabackend;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye los mecanismos de rotacion de las variantes de la maquina enigma. Cada
+ * mecanismo define el estado siguiente de los tres rotores a partir de sus posiciones y de las muescas del rotor medio
+ * y derecho; este calculo no se ejecuta al encriptar, sino que {@link StepSchedule#paraMecanismo} lo evalua una sola
+ * vez sobre los 26^3 estados y guarda el resultado como una tabla, por lo que rotar con cualquier mecanismo es una sola
+ * lectura sin condiciones.
+ * <br><br>
+ * Las muescas son mascaras de 26 bits, por lo que los rotores con varias muescas (VI, VII, VIII o los rotores de la
+ * Railway y la K que se registren en {@link RotorCatalog}) funcionan con cualquiera de los mecanismos sin cambios.
+ */
+public enum SteppingMechanism {
+
+    /**
+     * Paso doble de la Enigma I, M3 y M4 (trinquetes): el rotor medio en su muesca gira el medio y el izquierdo, el
+     * derecho en su muesca gira solo el medio, y el derecho siempre gira.
+     */
+    DOUBLE_STEPPING {
+        @Override
+        int siguiente(int izquierda, int media, int derecha, int mascaraMedio, int mascaraDerecho) {
+            int nuevaIzquierda = izquierda;
+            int nuevaMedia = media;
+            if ((mascaraMedio >>> media & 1) != 0) {
+                nuevaMedia = media + 1;
+                nuevaIzquierda = izquierda + 1;
+            } else if ((mascaraDerecho >>> derecha & 1) != 0) {
+                nuevaMedia = media + 1;
+            }
+            return empaquetar(nuevaIzquierda, nuevaMedia, derecha + 1);
+        }
+    },
+
+    /**
+     * Rotacion regular por engranajes de la Enigma G (Abwehr), como un odometro: el rotor medio gira cuando el
+     * derecho esta en su muesca, y el izquierdo solo cuando ademas el medio esta en la suya. No existe paso doble.
+     */
+    REGULAR {
+        @Override
+        int siguiente(int izquierda, int media, int derecha, int mascaraMedio, int mascaraDerecho) {
+            int nuevaIzquierda = izquierda;
+            int nuevaMedia = media;
+            if ((mascaraDerecho >>> derecha & 1) != 0) {
+                nuevaMedia = media + 1;
+                if ((mascaraMedio >>> media & 1) != 0) {
+                    nuevaIzquierda = izquierda + 1;
+                }
+            }
+            return empaquetar(nuevaIzquierda, nuevaMedia, derecha + 1);
+        }
+    };
+
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+
+    /**
+     * Calcula el estado siguiente de los rotores. Las posiciones recibidas estan en [0,25].
+     * @param izquierda: Posicion del rotor izquierdo
+     * @param media: Posicion del rotor medio
+     * @param derecha: Posicion del rotor derecho
+     * @param mascaraMedio: Muescas del rotor medio como mascara de 26 bits
+     * @param mascaraDerecho: Muescas del rotor derecho como mascara de 26 bits
+     * @return Estado empaquetado (ver {@link EnigmaMachineCursor#snapshot()}) luego de rotar
+     */
+    abstract int siguiente(int izquierda, int media, int derecha, int mascaraMedio, int mascaraDerecho);
+
+    private static int empaquetar(int izquierda, int media, int derecha) {
+        return ((izquierda % N) * N + media % N) * N + derecha % N;
+    }
+}
@@ -0,0 +1,134 @@
+package com.evolvlabs.enigmabackend;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la etapa de normalizacion de texto previa al encriptado. En un solo
+ * recorrido sobre un {@link CharBuffer} se convierten las minusculas a mayusculas, las letras con acentos o dieresis
+ * (por ejemplo 'a' con tilde, 'n' con virgulilla) a su letra base, y se aplica la politica para todo lo que no es una
+ * letra, sin crear cadenas intermedias.
+ * <br><br>
+ * La normalizacion es incremental: cada llamada a {@link #normalize(CharBuffer, CharBuffer)} procesa lo que cabe en
+ * el destino y conserva su estado (por ejemplo, cuantas letras lleva el grupo actual), por lo que un texto se puede
+ * normalizar por bloques y el resultado es el mismo que al normalizarlo completo. La salida solo contiene letras
+ * 'A'-'Z' y, segun la politica, espacios o los caracteres originales, y se puede pasar directamente a
+ * {@link EnigmaMachineConfiguration#encryptNormalizado(EnigmaMachineCursor, CharBuffer, CharBuffer)}.
+ */
+public final class TextNormalizer {
+
+    /**
+     * Politica para los caracteres que no son letras
+     */
+    public enum NonLetterPolicy {
+        /**
+         * Se eliminan todos los caracteres que no son letras
+         */
+        DROP,
+        /**
+         * Se copian sin modificar (no rotan la maquina al encriptar)
+         */
+        PASS_THROUGH,
+        /**
+         * Se eliminan y las letras se agrupan de cinco en cinco separadas por un espacio, como en los mensajes
+         * transmitidos
+         */
+        GROUP_FIVE
+    }
+
+    private static final int TAMANO_DE_GRUPO = 5;
+
+    /**
+     * Letra base (0-25) de cada caracter Latin-1, o -1 si no es una letra del alfabeto de la maquina
+     */
+    private static final byte[] LETRA_LATIN1 = construirTablaLatin1();
+
+    private final NonLetterPolicy e_policy;
+    /**
+     * Letras escritas en el grupo actual (solo para GROUP_FIVE)
+     */
+    private int e_letrasEnGrupo;
+
+    /**
+     * Constructor del normalizador.
+     * @param policy: Politica para los caracteres que no son letras
+     */
+    public TextNormalizer(NonLetterPolicy policy) {
+        this.e_policy = policy;
+    }
+
+    private static byte[] construirTablaLatin1() {
+        byte[] tabla = new byte[256];
+        for (int c = 0; c < tabla.length; c++) {
+            //! La descomposicion NFD separa la letra base de sus acentos, por ejemplo 'e' con tilde -> 'e' + acento
+            char base = Character.toUpperCase(Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD)
+                    .charAt(0));
+            tabla[c] = (byte) (base >= 'A' && base <= 'Z' ? base - 'A' : -1);
+        }
+        return tabla;
+    }
+
+    /**
+     * Retorna la letra (0-25) que corresponde a un caracter, sin importar si esta en mayuscula o minuscula o si tiene
+     * acentos.
+     * @param caracter: Caracter a convertir
+     * @return Posicion de la letra en el alfabeto, o -1 si el caracter no es una letra A-Z
+     */
+    public static int aLetra(char caracter) {
+        return caracter < LETRA_LATIN1.length ? LETRA_LATIN1[caracter] : -1;
+    }
+
+    /**
+     * Normaliza los caracteres restantes de src escribiendolos en dst, hasta terminar el origen o llenar el destino.
+     * La posicion de ambos buffers avanza con los caracteres leidos y escritos.
+     * @param src: Texto de origen
+     * @param dst: Destino del texto normalizado
+     * @return Numero de letras escritas en el destino
+     */
+    public int normalize(CharBuffer src, CharBuffer dst) {
+        int letras = 0;
+        while (src.hasRemaining() && dst.hasRemaining()) {
+            char caracter = src.get(src.position());
+            int letra = aLetra(caracter);
+            if (letra >= 0) {
+                if (this.e_policy == NonLetterPolicy.GROUP_FIVE && this.e_letrasEnGrupo == TAMANO_DE_GRUPO) {
+                    //! El separador y la letra se escriben en llamadas distintas si el destino no tiene espacio
+                    dst.put(' ');
+                    this.e_letrasEnGrupo = 0;
+                    continue;
+                }
+                dst.put((char) (letra + 'A'));
+                this.e_letrasEnGrupo++;
+                letras++;
+            } else if (this.e_policy == NonLetterPolicy.PASS_THROUGH) {
+                dst.put(caracter);
+            }
+            src.position(src.position() + 1);
+        }
+        return letras;
+    }
+
+    /**
+     * Reinicia el estado del normalizador para empezar un texto nuevo.
+     */
+    public void reiniciar() {
+        this.e_letrasEnGrupo = 0;
+    }
+
+    /**
+     * Normaliza un texto completo con la politica dada.
+     * @param texto: Texto de origen
+     * @param policy: Politica para los caracteres que no son letras
+     * @return Arreglo con el texto normalizado
+     */
+    public static char[] normalizar(CharSequence texto, NonLetterPolicy policy) {
+        //! En el peor caso GROUP_FIVE agrega un separador por cada cinco letras
+        CharBuffer destino = CharBuffer.allocate(texto.length() + texto.length() / TAMANO_DE_GRUPO);
+        new TextNormalizer(policy).normalize(CharBuffer.wrap(texto), destino);
+        char[] normalizado = new char[destino.position()];
+        destino.flip().get(normalizado);
+        return normalizado;
+    }
+}
@@ -0,0 +1,197 @@
+package com.evolvlabs.enigmabackend;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye la evaluacion vectorial de un {@link BatchEnigmaEngine} con la Vector API
+ * (jdk.incubator.vector). Los carriles del lote se procesan en grupos del ancho del vector preferido de la plataforma
+ * (8 carriles con AVX2, 16 con AVX-512): en cada iteracion, cada carril del grupo encripta su siguiente letra, la
+ * rotacion se aplica con mascaras por carril (muesca del rotor medio, muesca del rotor derecho y carriles que ya
+ * terminaron su mensaje) y cada paso del recorrido es una lectura indexada (gather) de las tablas del lote.
+ * <br><br>
+ * Como los espacios en blanco no rotan la maquina, las letras de cada carril se transponen primero a una matriz
+ * [paso][carril] y los espacios se copian directamente al destino. Esta clase solo se carga cuando el modulo
+ * jdk.incubator.vector esta disponible (ver {@link BatchEnigmaEngine#vectorApiDisponible()}) y solo se usa desde
+ * {@link BatchEnigmaEngine#encryptVectorial(char[][], char[][])}, ya que las lecturas indexadas la hacen mas lenta que
+ * la version escalar.
+ */
+final class VectorBatchEncryptor {
+
+    private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED;
+    private static final int N = RotorImplementation.MAX_ALPHABET_SIZE;
+
+    /**
+     * Numero maximo de letras por carril que se transponen en cada bloque
+     */
+    private static final int PASOS_POR_BLOQUE = 1024;
+
+    private VectorBatchEncryptor() {
+    }
+
+    /**
+     * Encripta un mensaje por carril con la misma semantica que
+     * {@link BatchEnigmaEngine#encryptEscalar(char[][], char[][])}. Los mensajes ya deben estar validados (solo letras
+     * mayusculas y espacios en blanco), ya que los carriles se escriben por bloques.
+     * @param motor: Lote con las claves y las posiciones actuales de cada carril
+     * @param mensajes: Mensajes de origen, uno por carril
+     * @param destinos: Arreglos de destino, uno por carril
+     * @return Numero total de letras encriptadas
+     */
+    static long encrypt(BatchEnigmaEngine motor, char[][] mensajes, char[][] destinos) {
+        int[] plugBoards = motor.e_plugBoards;
+        int[] reflectores = aEnteros(motor.e_reflectores);
+        long letras = 0;
+        for (int inicio = 0; inicio < motor.e_carriles; inicio += ESPECIE.length()) {
+            letras += encriptarGrupo(motor, plugBoards, reflectores, inicio,
+                    Math.min(ESPECIE.length(), motor.e_carriles - inicio), mensajes, destinos);
+        }
+        return letras;
+    }
+
+    private static long encriptarGrupo(BatchEnigmaEngine motor, int[] plugBoards, int[] reflectores, int inicio,
+                                       int carriles, char[][] mensajes, char[][] destinos) {
+        final int ancho = ESPECIE.length();
+        final int[] frente = motor.e_tablasFrente;
+        final int[] regreso = motor.e_tablasRegreso;
+
+        //! Los carriles de relleno copian los valores del primer carril del grupo para que los indices sean validos
+        IntVector izquierda = cargar(motor.e_posicionIzquierda, inicio, carriles);
+        IntVector media = cargar(motor.e_posicionMedia, inicio, carriles);
+        IntVector derecha = cargar(motor.e_posicionDerecha, inicio, carriles);
+        IntVector anilloIzquierdo = cargar(motor.e_anilloIzquierdo, inicio, carriles);
+        IntVector anilloMedio = cargar(motor.e_anilloMedio, inicio, carriles);
+        IntVector anilloDerecho = cargar(motor.e_anilloDerecho, inicio, carriles);
+        IntVector tablaIzquierda = cargar(motor.e_tablaIzquierda, inicio, carriles);
+        IntVector tablaMedia = cargar(motor.e_tablaMedia, inicio, carriles);
+        IntVector tablaDerecha = cargar(motor.e_tablaDerecha, inicio, carriles);
+        IntVector muescasMedio = cargar(motor.e_muescasMedio, inicio, carriles);
+        IntVector muescasDerecho = cargar(motor.e_muescasDerecho, inicio, carriles);
+        IntVector inicioDeCarril = IntVector.zero(ESPECIE).addIndex(1)
+                .min(carriles - 1).add(inicio).mul(N);
+
+        int[] letras = new int[PASOS_POR_BLOQUE * ancho];
+        int[] indiceDeDestino = new int[PASOS_POR_BLOQUE * ancho];
+        int[] letrasDelBloque = new int[ancho];
+        int[] posicionDeLectura = new int[carriles];
+        int[] indices = new int[ancho];
+        long letrasTotales = 0;
+
+        while (true) {
+            //! Transponemos hasta PASOS_POR_BLOQUE letras de cada carril, copiando los espacios en blanco
+            int pasos = 0;
+            for (int g = 0; g < carriles; g++) {
+                char[] mensaje = mensajes[inicio + g];
+                char[] destino = destinos[inicio + g];
+                int lectura = posicionDeLectura[g];
+                int cuenta = 0;
+                while (lectura < mensaje.length && cuenta < PASOS_POR_BLOQUE) {
+                    char caracter = mensaje[lectura];
+                    int letra = caracter - 'A';
+                    if (letra >= 0 && letra < N) {
+                        letras[cuenta * ancho + g] = letra;
+                        indiceDeDestino[cuenta * ancho + g] = lectura;
+                        cuenta++;
+                    } else {
+                        //! Los mensajes ya se validaron, el resto de caracteres son espacios en blanco
+                        destino[lectura] = caracter;
+                    }
+                    lectura++;
+                }
+                posicionDeLectura[g] = lectura;
+                letrasDelBloque[g] = cuenta;
+                pasos = Math.max(pasos, cuenta);
+            }
+            if (pasos == 0) {
+                break;
+            }
+
+            IntVector letrasPorCarril = IntVector.fromArray(ESPECIE, letrasDelBloque, 0);
+            for (int paso = 0; paso < pasos; paso++) {
+                VectorMask<Integer> activo = letrasPorCarril.compare(VectorOperators.GT, paso);
+
+                //! Paso doble con mascaras: el rotor medio en su muesca gira el medio y el izquierdo, el derecho en
+                //! su muesca gira solo el medio, y el derecho siempre gira
+                VectorMask<Integer> muescaMedia = muescasMedio.lanewise(VectorOperators.LSHR, media).and(1)
+                        .compare(VectorOperators.NE, 0).and(activo);
+                VectorMask<Integer> muescaDerecha = muescasDerecho.lanewise(VectorOperators.LSHR, derecha).and(1)
+                        .compare(VectorOperators.NE, 0).and(activo).andNot(muescaMedia);
+                izquierda = envolver(izquierda.add(1, muescaMedia));
+                media = envolver(media.add(1, muescaMedia.or(muescaDerecha)));
+                derecha = envolver(derecha.add(1, activo));
+
+                IntVector filaIzquierda = fila(izquierda, anilloIzquierdo).add(tablaIzquierda);
+                IntVector filaMedia = fila(media, anilloMedio).add(tablaMedia);
+                IntVector filaDerecha = fila(derecha, anilloDerecho).add(tablaDerecha);
+
+                IntVector valor = IntVector.fromArray(ESPECIE, letras, paso * ancho);
+                valor = recoger(plugBoards, inicioDeCarril.add(valor), indices);
+                valor = recoger(frente, filaDerecha.add(valor), indices);
+                valor = recoger(frente, filaMedia.add(valor), indices);
+                valor = recoger(frente, filaIzquierda.add(valor), indices);
+                valor = recoger(reflectores, inicioDeCarril.add(valor), indices);
+                valor = recoger(regreso, filaIzquierda.add(valor), indices);
+                valor = recoger(regreso, filaMedia.add(valor), indices);
+                valor = recoger(regreso, filaDerecha.add(valor), indices);
+                valor = recoger(plugBoards, inicioDeCarril.add(valor), indices);
+                valor.intoArray(letras, paso * ancho);
+            }
+
+            //! Devolvemos cada letra encriptada a su posicion original en el destino
+            for (int g = 0; g < carriles; g++) {
+                char[] destino = destinos[inicio + g];
+                for (int paso = 0, cuenta = letrasDelBloque[g]; paso < cuenta; paso++) {
+                    destino[indiceDeDestino[paso * ancho + g]] = (char) (letras[paso * ancho + g] + 'A');
+                }
+                letrasTotales += letrasDelBloque[g];
+            }
+        }
+
+        guardar(izquierda, motor.e_posicionIzquierda, inicio, carriles);
+        guardar(media, motor.e_posicionMedia, inicio, carriles);
+        guardar(derecha, motor.e_posicionDerecha, inicio, carriles);
+        return letrasTotales;
+    }
+
+    private static IntVector envolver(IntVector posicion) {
+        return posicion.blend(0, posicion.compare(VectorOperators.EQ, N));
+    }
+
+    /**
+     * Inicio de la fila de la tabla por desplazamiento, igual que floorMod(posicion - anillo, 26) * 26
+     */
+    private static IntVector fila(IntVector posicion, IntVector anillo) {
+        IntVector desplazamiento = posicion.sub(anillo);
+        return desplazamiento.add(N, desplazamiento.compare(VectorOperators.LT, 0)).mul(N);
+    }
+
+    private static IntVector recoger(int[] tabla, IntVector indices, int[] temporal) {
+        indices.intoArray(temporal, 0);
+        return IntVector.fromArray(ESPECIE, tabla, 0, temporal, 0);
+    }
+
+    private static IntVector cargar(int[] valores, int inicio, int carriles) {
+        int[] carril = new int[ESPECIE.length()];
+        for (int g = 0; g < carril.length; g++) {
+            carril[g] = valores[inicio + Math.min(g, carriles - 1)];
+        }
+        return IntVector.fromArray(ESPECIE, carril, 0);
+    }
+
+    private static void guardar(IntVector vector, int[] valores, int inicio, int carriles) {
+        int[] carril = vector.toArray();
+        System.arraycopy(carril, 0, valores, inicio, carriles);
+    }
+
+    private static int[] aEnteros(byte[] valores) {
+        int[] enteros = new int[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            enteros[i] = valores[i];
+        }
+        return enteros;
+    }
+}
@@ -0,0 +1,115 @@
+package com.evolvlabs.enigmabackend;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el encriptado vectorial de un solo mensaje sobre la tabla de
+ * permutaciones de una {@link CompiledEnigmaKey}, con la Vector API (jdk.incubator.vector). En cada iteracion se
+ * cargan tantos caracteres como carriles tenga el vector preferido (16 con AVX-512, 8 con AVX2) y cada uno se encripta
+ * con una lectura indexada (gather) de la fila (paso, letra) de la tabla. La lectura se hace sobre la copia de la
+ * tabla en enteros ({@link CompiledEnigmaKey#tablaDeEnteros()}), ya que la lectura indexada de enteros es la que la
+ * plataforma acelera; la lectura indexada de bytes se resuelve casi siempre de forma escalar.
+ * <br><br>
+ * Los espacios no avanzan el indice del mensaje, por lo que la fila de cada carril es la fila inicial del bloque mas el
+ * numero de letras de los carriles anteriores (un conteo de bits sobre la mascara de letras). Los bloques con
+ * caracteres distintos a letras y espacios, o que cruzan el final de la tabla, se delegan a
+ * {@link CompiledEnigmaKey#encryptEscalar(long, char[], int, char[], int, int)}.
+ */
+final class VectorCompiledEncryptor {
+
+    private static final VectorSpecies<Integer> ENTEROS = IntVector.SPECIES_PREFERRED;
+    private static final int CARRILES = ENTEROS.length();
+
+    /**
+     * Verdadero si el vector preferido tiene suficientes carriles para que la version vectorial sea conveniente
+     */
+    static final boolean CONVENIENTE = CARRILES >= 8;
+
+    private static final VectorSpecies<Short> CORTOS = CONVENIENTE
+            ? VectorSpecies.of(short.class, VectorShape.forBitSize(ENTEROS.vectorBitSize() / 2)) : null;
+
+    /**
+     * Mascara de los carriles anteriores a cada carril ((1 << i) - 1), para contar las letras previas
+     */
+    private static final IntVector CARRILES_ANTERIORES = IntVector.fromArray(ENTEROS, mascarasAnteriores(), 0);
+
+    /**
+     * Indices de la lectura indexada de cada hilo; se reutilizan para que encriptar no reserve memoria
+     */
+    private static final ThreadLocal<int[]> INDICES = ThreadLocal.withInitial(() -> new int[CARRILES]);
+
+    private VectorCompiledEncryptor() {
+    }
+
+    private static int[] mascarasAnteriores() {
+        int[] mascaras = new int[CARRILES];
+        for (int i = 0; i < CARRILES; i++) {
+            mascaras[i] = (1 << i) - 1;
+        }
+        return mascaras;
+    }
+
+    /**
+     * Version vectorial de {@link CompiledEnigmaKey#encrypt(long, char[], int, char[], int, int)}, con la misma
+     * semantica y el mismo resultado.
+     */
+    static long encrypt(CompiledEnigmaKey clave, long externalCharacterOffset, char[] src, int srcOff, char[] dst,
+                        int dstOff, int len) {
+        final int[] tabla = clave.tablaDeEnteros();
+        final int preperiodo = clave.getE_preperiodo();
+        final int filasTotales = preperiodo + clave.getE_periodo();
+        long offset = externalCharacterOffset;
+        int fila = clave.filaParaIndice(offset);
+        int[] indices = INDICES.get();
+        int i = 0;
+
+        for (int limite = len - CARRILES + 1; i < limite; i += CARRILES) {
+            if (fila + CARRILES > filasTotales) {
+                //! El bloque cruza el final de la tabla, se encripta de forma escalar
+                offset = clave.encryptEscalar(offset, src, srcOff + i, dst, dstOff + i, CARRILES);
+                fila = clave.filaParaIndice(offset);
+                continue;
+            }
+            IntVector caracteres = (IntVector) ShortVector.fromCharArray(CORTOS, src, srcOff + i)
+                    .convertShape(VectorOperators.ZERO_EXTEND_S2I, ENTEROS, 0);
+            IntVector letra = caracteres.sub('A');
+            VectorMask<Integer> esLetra = letra.compare(VectorOperators.UNSIGNED_LT, RotorImplementation.MAX_ALPHABET_SIZE);
+            if (!esLetra.or(caracteres.compare(VectorOperators.EQ, ' ')).allTrue()) {
+                //! Otros espacios en blanco o caracteres invalidos se resuelven con la version escalar
+                offset = clave.encryptEscalar(offset, src, srcOff + i, dst, dstOff + i, CARRILES);
+                fila = clave.filaParaIndice(offset);
+                continue;
+            }
+
+            //! La fila de cada carril avanza solo con las letras de los carriles anteriores
+            int bitsDeLetras = (int) esLetra.toLong();
+            IntVector filaDeCarril = CARRILES_ANTERIORES.and(bitsDeLetras).lanewise(VectorOperators.BIT_COUNT)
+                    .add(fila);
+            //! Los espacios leen la letra 0 de su fila para que todos los indices sean validos
+            filaDeCarril.mul(RotorImplementation.MAX_ALPHABET_SIZE).add(letra.blend(0, esLetra.not()))
+                    .intoArray(indices, 0);
+            IntVector encriptado = IntVector.fromArray(ENTEROS, tabla, 0, indices, 0);
+            encriptado.add('A').blend(caracteres, esLetra.not())
+                    .convertShape(VectorOperators.I2S, CORTOS, 0).reinterpretAsShorts()
+                    .intoCharArray(dst, dstOff + i);
+
+            int letras = Integer.bitCount(bitsDeLetras);
+            offset += letras;
+            fila += letras;
+            if (fila == filasTotales) {
+                fila = preperiodo;
+            }
+        }
+        if (i < len) {
+            offset = clave.encryptEscalar(offset, src, srcOff + i, dst, dstOff + i, len - i);
+        }
+        return offset;
+    }
+}
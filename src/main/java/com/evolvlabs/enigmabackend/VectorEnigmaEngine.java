@@ -0,0 +1,37 @@
+package com.evolvlabs.enigmabackend;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo incluye el motor vectorial de {@link EnigmaEngine}: igual que
+ * {@link CompiledEnigmaEngine}, pero la tabla compilada se recorre con la Vector API (ver
+ * {@link VectorCompiledEncryptor}). Solo esta disponible si el modulo jdk.incubator.vector esta habilitado y el
+ * procesador tiene vectores de al menos ocho enteros, y tiene prioridad sobre el motor compilado escalar.
+ */
+public final class VectorEnigmaEngine extends CompiledEnigmaEngine {
+
+    /**
+     * Nombre del motor en la propiedad enigma.engine
+     */
+    public static final String NOMBRE = "vector";
+
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public boolean disponible() {
+        return VectorSupport.DISPONIBLE && VectorCompiledEncryptor.CONVENIENTE;
+    }
+
+    @Override
+    public int prioridad(int longitudDelMensaje) {
+        return longitudDelMensaje >= LONGITUD_MINIMA ? 40 : -1;
+    }
+
+    @Override
+    long encriptar(CompiledEnigmaKey clave, long indice, char[] src, int srcOff, char[] dst, int dstOff, int len) {
+        return VectorCompiledEncryptor.encrypt(clave, indice, src, srcOff, dst, dstOff, len);
+    }
+}
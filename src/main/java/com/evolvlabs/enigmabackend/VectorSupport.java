@@ -0,0 +1,19 @@
+package com.evolvlabs.enigmabackend;
+
+/**
+ * @author : Santiago Arellano
+ * @Date : October 17th, 2026
+ * @Description : El presente archivo centraliza la deteccion de la Vector API (jdk.incubator.vector). El modulo es
+ * opcional ({@code requires static}), por lo que las clases que lo usan solo se deben cargar si fue agregado a la capa
+ * de arranque con --add-modules jdk.incubator.vector; en caso contrario los motores usan su version escalar.
+ */
+final class VectorSupport {
+
+    /**
+     * Verdadero si el modulo jdk.incubator.vector esta habilitado en tiempo de ejecucion
+     */
+    static final boolean DISPONIBLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private VectorSupport() {
+    }
+}
@@ -1,12 +1,23 @@
 package com.evolvlabs.enigmamachine;
 
 
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+import com.evolvlabs.enigmabackend.EnigmaFilter;
 import com.evolvlabs.enigmabackend.EnigmaMachineImplementation;
 import com.evolvlabs.enigmabackend.PlugBoardImplementation;
 import com.evolvlabs.enigmabackend.ReflectorImplementation;
 import com.evolvlabs.enigmabackend.RotorImplementation;
+import com.evolvlabs.enigmabackend.TextNormalizer;
 import io.github.kamilszewc.javaansitextcolorizer.Colorizer;
 
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -99,9 +110,23 @@ public class EnigmaThroughConsole {
      * </ul>
      * El bucle principal del metodo permite una interaccion continua mientras el usuario no seleccione la opcion de salir.
      *
-     * @param args Argumentos de la linea de comandos (actualmente no utilizados en este programa).
+     * Si se reciben argumentos, la consola no muestra el menu y funciona como filtro de Unix (ver
+     * {@link #ejecutarComoFiltro}).
+     *
+     * @param args Argumentos de la linea de comandos, vacios para el menu interactivo.
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            int codigoDeSalida;
+            try (FileChannel entrada = new FileInputStream(FileDescriptor.in).getChannel();
+                 FileChannel salida = new FileOutputStream(FileDescriptor.out).getChannel()) {
+                codigoDeSalida = ejecutarComoFiltro(args, entrada, salida, System.err);
+            } catch (IOException e) {
+                System.err.println("enigma: " + e.getMessage());
+                codigoDeSalida = 1;
+            }
+            System.exit(codigoDeSalida);
+        }
         //! Iniciamos con la presentacion del proyecto
         System.out.printf("%s", centerText("Enigma Machine 1.0.1 | Teoria de la Computacion | Santiago Arellano | USFQ", 120));
         System.out.println();
@@ -353,6 +378,77 @@ public class EnigmaThroughConsole {
     
         return selectedRotors.toArray(new String[0]);
     }
+
+    /**
+     * Modo no interactivo de la consola: encripta (o desencripta) la entrada completa y escribe el resultado en la
+     * salida, sin colores ni mensajes en la salida, de tal forma que se pueda usar dentro de un pipeline:
+     * <pre>
+     * enigma encrypt --key "I,II,III:A,A,A:A,A,A:B:AB CD" [--threads 4] [--policy pass|drop|group] &lt; in &gt; out
+     * </pre>
+     * La clave usa el formato de {@link EnigmaKey#desdeTexto(String)}. La politica indica que hacer con lo que no es
+     * una letra: copiarlo (pass, por defecto), eliminarlo (drop) o eliminarlo y agrupar las letras de cinco en cinco
+     * (group). Con --threads cada bloque de la entrada se divide entre varios hilos que ubican sus rotores con seek.
+     *
+     * @param args Argumentos de la linea de comandos
+     * @param entrada Canal del que se lee el texto
+     * @param salida Canal en el que se escribe el resultado
+     * @param errores Flujo para los mensajes de error
+     * @return Codigo de salida: 0 si todo salio bien, 1 si fallo la lectura o escritura, 2 si los argumentos son
+     * invalidos
+     */
+    public static int ejecutarComoFiltro(String[] args, ReadableByteChannel entrada, WritableByteChannel salida,
+                                         PrintStream errores) {
+        String uso = "usage: enigma encrypt|decrypt --key ROTORS:POSITIONS:RINGS:REFLECTOR[:PLUGBOARD] "
+                + "[--threads N] [--policy pass|drop|group] [--buffer CHARS]";
+        if (!args[0].equals("encrypt") && !args[0].equals("decrypt")) {
+            errores.println(uso);
+            return 2;
+        }
+        EnigmaKey clave = null;
+        int hilos = 1;
+        int buffer = EnigmaFilter.DEFAULT_BUFFER_SIZE;
+        TextNormalizer.NonLetterPolicy politica = TextNormalizer.NonLetterPolicy.PASS_THROUGH;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String opcion = args[i];
+                String valor;
+                int igual = opcion.indexOf('=');
+                if (igual > 0) {
+                    valor = opcion.substring(igual + 1);
+                    opcion = opcion.substring(0, igual);
+                } else if (i + 1 < args.length) {
+                    valor = args[++i];
+                } else {
+                    throw new IllegalArgumentException("Missing value for " + opcion);
+                }
+                switch (opcion) {
+                    case "--key" -> clave = EnigmaKey.desdeTexto(valor);
+                    case "--threads" -> hilos = Integer.parseInt(valor);
+                    case "--buffer" -> buffer = Integer.parseInt(valor);
+                    case "--policy" -> politica = switch (valor) {
+                        case "pass" -> TextNormalizer.NonLetterPolicy.PASS_THROUGH;
+                        case "drop" -> TextNormalizer.NonLetterPolicy.DROP;
+                        case "group" -> TextNormalizer.NonLetterPolicy.GROUP_FIVE;
+                        default -> throw new IllegalArgumentException("Unknown policy " + valor);
+                    };
+                    default -> throw new IllegalArgumentException("Unknown option " + opcion);
+                }
+            }
+            if (clave == null) {
+                throw new IllegalArgumentException("The --key option is required");
+            }
+            //! La maquina es reciproca, por lo que encrypt y decrypt usan el mismo filtro
+            new EnigmaFilter(clave, politica, hilos, buffer).filtrar(entrada, salida);
+            return 0;
+        } catch (IllegalArgumentException e) {
+            errores.println("enigma: " + e.getMessage());
+            errores.println(uso);
+            return 2;
+        } catch (IOException e) {
+            errores.println("enigma: " + e.getMessage());
+            return 1;
+        }
+    }
     
     
     /**
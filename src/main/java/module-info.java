@@ -12,6 +12,15 @@ module com.evolvlabs {
     requires io.github.kamilszewc.javaansitextcolorizer;
     requires commons.math3;
     requires java.desktop;
+    requires jdk.httpserver;
+    requires static jdk.incubator.vector;
+
+    uses com.evolvlabs.enigmabackend.EnigmaEngine;
+    provides com.evolvlabs.enigmabackend.EnigmaEngine with
+            com.evolvlabs.enigmabackend.ReferenceEnigmaEngine,
+            com.evolvlabs.enigmabackend.SpecializedEnigmaEngine,
+            com.evolvlabs.enigmabackend.CompiledEnigmaEngine,
+            com.evolvlabs.enigmabackend.VectorEnigmaEngine;
 
     opens com.evolvlabs.enigmamachine to javafx.fxml;
     exports com.evolvlabs.enigmamachine;
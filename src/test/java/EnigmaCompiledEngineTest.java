@@ -0,0 +1,1157 @@
+import com.evolvlabs.enigmaDecriptor.EnigmaKey;
+import com.evolvlabs.enigmaDecriptor.ScoredEnigmaKey;
+import com.evolvlabs.enigmabackend.BatchEnigmaEngine;
+import com.evolvlabs.enigmabackend.BulkCsvRunner;
+import com.evolvlabs.enigmabackend.ByteEnigmaEngine;
+import com.evolvlabs.enigmabackend.CompiledEnigmaKey;
+import com.evolvlabs.enigmabackend.DirectoryEncryptionJob;
+import com.evolvlabs.enigmabackend.EnigmaEngine;
+import com.evolvlabs.enigmabackend.EnigmaFilter;
+import com.evolvlabs.enigmabackend.EnigmaHttpService;
+import com.evolvlabs.enigmabackend.EnigmaInputStream;
+import com.evolvlabs.enigmabackend.EnigmaMachineCache;
+import com.evolvlabs.enigmabackend.EnigmaMachineConfiguration;
+import com.evolvlabs.enigmabackend.EnigmaMachineCursor;
+import com.evolvlabs.enigmabackend.EnigmaMachineImplementation;
+import com.evolvlabs.enigmabackend.EnigmaOutputStream;
+import com.evolvlabs.enigmabackend.EnigmaProcessor;
+import com.evolvlabs.enigmabackend.EnigmaReader;
+import com.evolvlabs.enigmabackend.EnigmaWriter;
+import com.evolvlabs.enigmabackend.ParallelFileEncryptor;
+import com.evolvlabs.enigmabackend.PlugBoardImplementation;
+import com.evolvlabs.enigmabackend.ReflectorImplementation;
+import com.evolvlabs.enigmabackend.RotorCatalog;
+import com.evolvlabs.enigmabackend.RotorImplementation;
+import com.evolvlabs.enigmabackend.SpecializedEnigmaMachine;
+import com.evolvlabs.enigmabackend.StepSchedule;
+import com.evolvlabs.enigmabackend.SteppingMechanism;
+import com.evolvlabs.enigmabackend.TextNormalizer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class EnigmaCompiledEngineTest {
+
+    private final EnigmaKey[] keys = {
+            new EnigmaKey(new String[]{"I", "II", "III"}, new int[]{0, 0, 0}, new int[]{0, 0, 0}, "", "B"),
+            new EnigmaKey(new String[]{"II", "IV", "V"}, new int[]{1, 4, 20}, new int[]{3, 7, 11}, "AB CD EF", "C"),
+            new EnigmaKey(new String[]{"VI", "VII", "VIII"}, new int[]{12, 25, 24}, new int[]{0, 13, 2}, "QW ER TY UI", "B"),
+            new EnigmaKey(new String[]{"III", "II", "I"}, new int[]{5, 3, 20}, new int[]{0, 0, 0}, "", "B")
+    };
+
+    /**
+     * Genera un texto aleatorio en mayusculas con espacios, lo suficientemente largo para recorrer el ciclo completo
+     * de los rotores mas de una vez.
+     */
+    private char[] generarTexto(int length, long seed) {
+        Random random = new Random(seed);
+        char[] texto = new char[length];
+        for (int i = 0; i < length; i++) {
+            texto[i] = random.nextInt(8) == 0 ? ' ' : (char) ('A' + random.nextInt(26));
+        }
+        return texto;
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.1 | Compiled Key | Vectores de basicConfigurationTests.csv")
+    @Tag("CompiledEngine")
+    public void testThreeDotOneCompiledKeyMatchesCsvVectors() {
+        try (BufferedReader br = new BufferedReader(new FileReader("./src/main/resources/basicConfigurationTests.csv"))) {
+            String line = br.readLine();
+            while ((line = br.readLine()) != null) {
+                String[] inputValues = line.split(",");
+                //? the structure follows [plaintext][ciphertext][rotor configuration][ring configuration]
+                int[] positions = Arrays.stream(inputValues[2].split(" ")).mapToInt(Integer::parseInt).toArray();
+                int[] rings = Arrays.stream(inputValues[3].split(" ")).mapToInt(Integer::parseInt).toArray();
+                CompiledEnigmaKey compiledKey = CompiledEnigmaKey.compile(
+                        new EnigmaKey(new String[]{"I", "II", "III"}, positions, rings, "", "B"));
+                Assertions.assertArrayEquals(inputValues[1].toUpperCase().toCharArray(),
+                        compiledKey.encriptadodeCaracter(inputValues[0].toUpperCase().toCharArray()));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.2 | Compiled Key | Mensajes mas largos que el periodo de los rotores")
+    @Tag("CompiledEngine")
+    public void testThreeDotTwoCompiledKeyMatchesReferenceMachine() {
+        char[] plaintext = generarTexto(40_000, 17L);
+        for (EnigmaKey key : keys) {
+            char[] expected = new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext);
+            CompiledEnigmaKey compiledKey = CompiledEnigmaKey.compile(key);
+            Assertions.assertArrayEquals(expected, compiledKey.encriptadodeCaracter(plaintext));
+
+            //! Encriptado por partes, continuando con el offset retornado
+            char[] chunked = new char[plaintext.length];
+            long offset = 0;
+            for (int start = 0; start < plaintext.length; start += 997) {
+                int len = Math.min(997, plaintext.length - start);
+                offset = compiledKey.encrypt(offset, plaintext, start, chunked, start, len);
+            }
+            Assertions.assertArrayEquals(expected, chunked);
+
+            //! Con espacios distintos a ' ' y la version escalar el resultado es el mismo
+            char[] withTabs = plaintext.clone();
+            for (int i = 5; i < withTabs.length; i += 311) {
+                withTabs[i] = '\t';
+            }
+            char[] vectorized = new char[withTabs.length];
+            char[] scalar = new char[withTabs.length];
+            Assertions.assertEquals(compiledKey.encryptEscalar(3, withTabs, 0, scalar, 0, withTabs.length),
+                    compiledKey.encrypt(3, withTabs, 0, vectorized, 0, withTabs.length));
+            Assertions.assertArrayEquals(scalar, vectorized);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.3 | Configuracion inmutable | Cursores independientes sobre una misma configuracion")
+    @Tag("CompiledEngine")
+    public void testThreeDotThreeSharedConfigurationWithCursors() {
+        char[] plaintext = generarTexto(20_000, 23L);
+        for (EnigmaKey key : keys) {
+            char[] expected = new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext);
+            EnigmaMachineConfiguration configuration = EnigmaMachineConfiguration.desdeClave(key);
+
+            //! Dos cursores intercalados sobre la misma configuracion no se afectan entre si
+            EnigmaMachineCursor first = EnigmaMachineCursor.desdeClave(key);
+            EnigmaMachineCursor second = EnigmaMachineCursor.desdeClave(key);
+            char[] firstResult = new char[plaintext.length];
+            char[] secondResult = new char[plaintext.length];
+            for (int i = 0; i < plaintext.length; i++) {
+                configuration.encrypt(first, plaintext, i, firstResult, i, 1);
+                configuration.encrypt(second, plaintext, i, secondResult, i, 1);
+            }
+            Assertions.assertArrayEquals(expected, firstResult);
+            Assertions.assertArrayEquals(expected, secondResult);
+
+            //! Snapshot y restore regresan el cursor al mismo punto del mensaje
+            EnigmaMachineCursor cursor = EnigmaMachineCursor.desdeClave(key);
+            int snapshot = cursor.snapshot();
+            char[] once = configuration.encriptadodeCaracter(cursor, plaintext);
+            cursor.restore(snapshot);
+            Assertions.assertArrayEquals(once, configuration.encriptadodeCaracter(cursor, plaintext));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.4 | Constructor de copia | Las copias rotan de forma independiente")
+    @Tag("CompiledEngine")
+    public void testThreeDotFourCopyConstructorDoesNotShareRotors() {
+        EnigmaMachineImplementation original = new EnigmaMachineImplementation(keys[1]);
+        EnigmaMachineImplementation copy = new EnigmaMachineImplementation(original);
+        char[] plaintext = generarTexto(500, 29L);
+        char[] fromOriginal = original.encriptadodeCaracter(plaintext);
+        Assertions.assertArrayEquals(fromOriginal, copy.encriptadodeCaracter(plaintext));
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.5 | Encriptado en bloque | char[], byte[] y ByteBuffer sobre buffers del usuario")
+    @Tag("CompiledEngine")
+    public void testThreeDotFiveBulkEncryptionOverCallerBuffers() {
+        char[] plaintext = generarTexto(5_000, 31L);
+        byte[] plaintextBytes = new String(plaintext).getBytes(StandardCharsets.US_ASCII);
+        for (EnigmaKey key : keys) {
+            char[] expected = new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext);
+            byte[] expectedBytes = new String(expected).getBytes(StandardCharsets.US_ASCII);
+
+            char[] inPlace = plaintext.clone();
+            new EnigmaMachineImplementation(key).encrypt(inPlace, 0, inPlace.length);
+            Assertions.assertArrayEquals(expected, inPlace);
+
+            byte[] bytes = new byte[plaintextBytes.length + 8];
+            new EnigmaMachineImplementation(key).encrypt(plaintextBytes, 0, bytes, 8, plaintextBytes.length);
+            Assertions.assertArrayEquals(expectedBytes, Arrays.copyOfRange(bytes, 8, bytes.length));
+
+            EnigmaMachineImplementation machine = new EnigmaMachineImplementation(key);
+            ByteBuffer source = ByteBuffer.wrap(plaintextBytes);
+            ByteBuffer destination = ByteBuffer.allocateDirect(plaintextBytes.length);
+            while (source.hasRemaining()) {
+                ByteBuffer slice = source.slice().limit(Math.min(123, source.remaining()));
+                machine.encrypt(slice, destination);
+                source.position(source.position() + slice.position());
+            }
+            destination.flip();
+            byte[] fromBuffer = new byte[destination.remaining()];
+            destination.get(fromBuffer);
+            Assertions.assertArrayEquals(expectedBytes, fromBuffer);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.6 | Seek | Saltar a un offset equivale a encriptar el prefijo")
+    @Tag("CompiledEngine")
+    public void testThreeDotSixSeekMatchesSequentialStepping() {
+        char[] plaintext = generarTexto(40_000, 37L);
+        for (EnigmaKey key : keys) {
+            char[] expected = new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext);
+            EnigmaMachineImplementation machine = new EnigmaMachineImplementation(key);
+            for (int start : new int[]{0, 1, 17, 5_000, 16_900, 33_333, 39_999}) {
+                long letters = 0;
+                for (int i = 0; i < start; i++) {
+                    if (plaintext[i] != ' ') {
+                        letters++;
+                    }
+                }
+                machine.seek(letters);
+                char[] suffix = Arrays.copyOfRange(plaintext, start, plaintext.length);
+                Assertions.assertArrayEquals(Arrays.copyOfRange(expected, start, expected.length),
+                        machine.encriptadodeCaracter(suffix));
+            }
+        }
+
+        //! La estructura ciclica coincide con rotar paso a paso desde estados arbitrarios
+        Random random = new Random(41L);
+        EnigmaMachineConfiguration configuration = EnigmaMachineConfiguration.desdeClave(keys[2]);
+        StepSchedule schedule = configuration.obtenerStepSchedule();
+        for (int i = 0; i < 200; i++) {
+            EnigmaMachineCursor cursor = new EnigmaMachineCursor(random.nextInt(26), random.nextInt(26), random.nextInt(26));
+            int start = cursor.snapshot();
+            int steps = random.nextInt(40_000);
+            for (int s = 0; s < steps; s++) {
+                configuration.rotar(cursor);
+            }
+            Assertions.assertEquals(cursor.snapshot(), schedule.avanzar(start, steps));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.7 | Archivos en paralelo | El resultado es identico al encriptado secuencial")
+    @Tag("CompiledEngine")
+    public void testThreeDotSevenParallelFileEncryptionMatchesSequential(@TempDir Path directory) throws Exception {
+        char[] plaintext = generarTexto(300_000, 43L);
+        Path input = directory.resolve("plaintext.txt");
+        Path output = directory.resolve("ciphertext.txt");
+        Files.write(input, new String(plaintext).getBytes(StandardCharsets.US_ASCII));
+        for (EnigmaKey key : keys) {
+            char[] expected = new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext);
+            ParallelFileEncryptor encryptor = new ParallelFileEncryptor(EnigmaMachineConfiguration.desdeClave(key),
+                    ForkJoinPool.commonPool(), 7_919);
+            encryptor.encrypt(input, output, EnigmaMachineCursor.desdeClave(key));
+            Assertions.assertEquals(new String(expected), Files.readString(output, StandardCharsets.US_ASCII));
+        }
+        //! Encriptar un archivo sobre si mismo se rechaza antes de truncarlo
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ParallelFileEncryptor.encryptFile(keys[0], input, directory.resolve(".").resolve("plaintext.txt")));
+        Assertions.assertEquals(plaintext.length, Files.size(input));
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.8 | Lotes de claves | Cada carril coincide con su propia maquina")
+    @Tag("CompiledEngine")
+    public void testThreeDotEightBatchEngineMatchesReferenceMachines() {
+        Random random = new Random(47L);
+        EnigmaKey[] batchKeys = new EnigmaKey[64];
+        char[][] messages = new char[batchKeys.length][];
+        for (int i = 0; i < batchKeys.length; i++) {
+            EnigmaKey base = keys[i % keys.length];
+            batchKeys[i] = new EnigmaKey(base.rotors,
+                    new int[]{random.nextInt(26), random.nextInt(26), random.nextInt(26)},
+                    new int[]{random.nextInt(26), random.nextInt(26), random.nextInt(26)},
+                    i % 3 == 0 ? "AB  CD" : base.plugboard, base.reflector);
+            messages[i] = generarTexto(random.nextInt(2_000), 53L + i);
+        }
+        char[][] encrypted = BatchEnigmaEngine.encryptAll(batchKeys, messages);
+        char[][] scalar = new char[batchKeys.length][];
+        for (int i = 0; i < batchKeys.length; i++) {
+            scalar[i] = new char[messages[i].length];
+        }
+        new BatchEnigmaEngine(batchKeys).encryptEscalar(messages, scalar);
+        //! La version vectorial no se selecciona automaticamente, solo se compara si el modulo esta habilitado
+        char[][] vector = null;
+        if (BatchEnigmaEngine.vectorApiDisponible()) {
+            vector = new char[batchKeys.length][];
+            for (int i = 0; i < batchKeys.length; i++) {
+                vector[i] = new char[messages[i].length];
+            }
+            new BatchEnigmaEngine(batchKeys).encryptVectorial(messages, vector);
+        } else {
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> new BatchEnigmaEngine(batchKeys).encryptVectorial(messages, scalar));
+        }
+        for (int i = 0; i < batchKeys.length; i++) {
+            char[] expected = new EnigmaMachineImplementation(batchKeys[i]).encriptadodeCaracter(messages[i]);
+            Assertions.assertArrayEquals(expected, encrypted[i]);
+            Assertions.assertArrayEquals(expected, scalar[i]);
+            if (vector != null) {
+                Assertions.assertArrayEquals(expected, vector[i]);
+            }
+        }
+
+        //! Un caracter invalido en un carril no escribe ningun destino ni mueve ningun carril, en ambas versiones
+        char[][] invalid = new char[batchKeys.length][];
+        for (int i = 0; i < batchKeys.length; i++) {
+            invalid[i] = messages[i].clone();
+        }
+        invalid[40] = "HELLO WORLD 3".toCharArray();
+        char[][] untouched = new char[batchKeys.length][];
+        for (int i = 0; i < batchKeys.length; i++) {
+            untouched[i] = new char[invalid[i].length];
+        }
+        BatchEnigmaEngine failing = new BatchEnigmaEngine(batchKeys);
+        Assertions.assertThrows(IllegalStateException.class, () -> failing.encryptEscalar(invalid, untouched));
+        if (BatchEnigmaEngine.vectorApiDisponible()) {
+            Assertions.assertThrows(IllegalStateException.class, () -> failing.encryptVectorial(invalid, untouched));
+        }
+        for (int i = 0; i < batchKeys.length; i++) {
+            Assertions.assertArrayEquals(new char[invalid[i].length], untouched[i]);
+        }
+        char[][] afterFailure = new char[batchKeys.length][];
+        for (int i = 0; i < batchKeys.length; i++) {
+            afterFailure[i] = new char[messages[i].length];
+        }
+        failing.encrypt(messages, afterFailure);
+        for (int i = 0; i < batchKeys.length; i++) {
+            Assertions.assertArrayEquals(encrypted[i], afterFailure[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.9 | Catalogo de rotores | Tablas compartidas y rotores propios con varias muescas")
+    @Tag("CompiledEngine")
+    public void testThreeDotNineRotorCatalog() throws Exception {
+        RotorImplementation first = RotorImplementation.createRotor("VI", 3, 1);
+        RotorImplementation second = RotorImplementation.createRotor("VI", 7, 2);
+        Assertions.assertArrayEquals(first.getE_forwardTableByOffset(), second.getE_forwardTableByOffset());
+        //! Los getters retornan copias: escribirlas no altera el cableado compartido del catalogo
+        int forward = first.forward(0);
+        Arrays.fill(first.getE_forwardTableByOffset(), 0);
+        Arrays.fill(RotorCatalog.obtener("VI").tablaFrente(), 0);
+        Assertions.assertEquals(forward, RotorImplementation.createRotor("VI", 3, 1).forward(0));
+        Assertions.assertEquals((1 << 12) | (1 << 25), first.obtenerMascaraDeMuescas());
+
+        RotorCatalog.cargarDefiniciones(new StringReader("name,wiring,notches\nTEST-QZ,EKMFLGDQVZNTOWYHXUSPAIBRCJ,QZ\n"));
+        RotorImplementation custom = RotorImplementation.createRotor("TEST-QZ", 16, 0);
+        Assertions.assertTrue(custom.isANotch());
+        custom.setE_rotorPosition(25);
+        Assertions.assertTrue(custom.isANotch());
+        custom.setE_rotorPosition(0);
+        Assertions.assertFalse(custom.isANotch());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> RotorCatalog.registrar("TEST-BAD", "AAMFLGDQVZNTOWYHXUSPAIBRCJ", "Q"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> RotorCatalog.registrar("I", "AJDKSIRUXBLHWTMCQGZNPYFVOE", "E"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RotorImplementation.createRotor("XX", 0, 0));
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.10 | Maquina M4 | Rueda griega y reflectores delgados en todos los motores")
+    @Tag("CompiledEngine")
+    public void testThreeDotTenFourRotorMachine() {
+        char[] plaintext = generarTexto(30_000, 59L);
+
+        //! Con la rueda griega en A, Beta + B-THIN equivale a B y Gamma + C-THIN equivale a C
+        EnigmaKey threeRotorB = new EnigmaKey(new String[]{"I", "II", "III"}, new int[]{3, 7, 11}, new int[]{1, 2, 3}, "AZ", "B");
+        EnigmaKey fourRotorB = new EnigmaKey(new String[]{"Beta", "I", "II", "III"}, new int[]{0, 3, 7, 11}, new int[]{0, 1, 2, 3}, "AZ", "B-THIN");
+        EnigmaKey threeRotorC = new EnigmaKey(new String[]{"IV", "V", "VI"}, new int[]{0, 0, 0}, new int[]{0, 0, 0}, "", "C");
+        EnigmaKey fourRotorC = new EnigmaKey(new String[]{"Gamma", "IV", "V", "VI"}, new int[]{0, 0, 0, 0}, new int[]{0, 0, 0, 0}, "", "C-THIN");
+        Assertions.assertArrayEquals(new EnigmaMachineImplementation(threeRotorB).encriptadodeCaracter(plaintext),
+                new EnigmaMachineImplementation(fourRotorB).encriptadodeCaracter(plaintext));
+        Assertions.assertArrayEquals(new EnigmaMachineImplementation(threeRotorC).encriptadodeCaracter(plaintext),
+                new EnigmaMachineImplementation(fourRotorC).encriptadodeCaracter(plaintext));
+
+        //! Con la rueda griega en otra posicion, los motores compilados coinciden con la maquina y el cifrado es reversible
+        EnigmaKey naval = new EnigmaKey(new String[]{"Beta", "II", "IV", "I"}, new int[]{21, 9, 13, 0},
+                new int[]{0, 0, 0, 21}, "AT BL DF GJ HM NW OP QY RZ VX", "B-THIN");
+        char[] expected = new EnigmaMachineImplementation(naval).encriptadodeCaracter(plaintext);
+        Assertions.assertFalse(Arrays.equals(expected, new EnigmaMachineImplementation(
+                new EnigmaKey(new String[]{"II", "IV", "I"}, new int[]{9, 13, 0}, new int[]{0, 0, 21},
+                        "AT BL DF GJ HM NW OP QY RZ VX", "B")).encriptadodeCaracter(plaintext)));
+        Assertions.assertArrayEquals(plaintext, new EnigmaMachineImplementation(naval).encriptadodeCaracter(expected));
+        Assertions.assertArrayEquals(expected, CompiledEnigmaKey.compile(naval).encriptadodeCaracter(plaintext));
+        Assertions.assertArrayEquals(expected, BatchEnigmaEngine.encryptAll(new EnigmaKey[]{naval},
+                new char[][]{plaintext})[0]);
+
+        //! Combinaciones que ninguna maquina tuvo: M4 sin rueda griega o sin reflector delgado, y viceversa
+        EnigmaKey[] invalidas = {
+                new EnigmaKey(new String[]{"I", "II", "III", "IV"}, new int[4], new int[4], "", "B"),
+                new EnigmaKey(new String[]{"I", "II", "III", "IV"}, new int[4], new int[4], "", "B-THIN"),
+                new EnigmaKey(new String[]{"Beta", "I", "II", "III"}, new int[4], new int[4], "", "B"),
+                new EnigmaKey(new String[]{"Beta", "Gamma", "II", "III"}, new int[4], new int[4], "", "C-THIN"),
+                new EnigmaKey(new String[]{"I", "II", "III"}, new int[3], new int[3], "", "C-THIN"),
+                new EnigmaKey(new String[]{"Beta", "II", "III"}, new int[3], new int[3], "", "B")};
+        for (EnigmaKey invalida : invalidas) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new EnigmaMachineImplementation(invalida));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> ReflectorImplementation.createReflector(invalida));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> BatchEnigmaEngine.encryptAll(new EnigmaKey[]{invalida}, new char[][]{plaintext}));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.11 | Plugboard | Swap y unswap equivalen a construir el plugboard")
+    @Tag("CompiledEngine")
+    public void testThreeDotElevenPlugBoardSwapAndUnswap() {
+        PlugBoardImplementation plugBoard = new PlugBoardImplementation("AB CD");
+        Assertions.assertEquals("AB CD", plugBoard.toString());
+        Assertions.assertEquals(0b1111, plugBoard.obtenerMascaraDeConectados());
+        Assertions.assertArrayEquals(PlugBoardImplementation.decodePlugBoard("AB  CD"), PlugBoardImplementation.decodePlugBoard(""));
+        Assertions.assertArrayEquals(PlugBoardImplementation.decodePlugBoard("AB CA"), PlugBoardImplementation.decodePlugBoard(""));
+        Assertions.assertEquals(26 - 4, PlugBoardImplementation.obtenerCaracteresNoConectados("AB CD").size());
+
+        //! Una busqueda puede modificar el plugboard de la maquina sin reconstruirla
+        char[] plaintext = generarTexto(2_000, 61L);
+        EnigmaMachineImplementation machine = new EnigmaMachineImplementation(keys[0]);
+        machine.getE_plugBoardInterno().swap('Q' - 'A', 'Z' - 'A');
+        machine.getE_plugBoardInterno().swap('E' - 'A', 'T' - 'A');
+        char[] swapped = machine.encriptadodeCaracter(plaintext);
+        EnigmaKey equivalent = new EnigmaKey(keys[0]);
+        equivalent.plugboard = "QZ ET";
+        Assertions.assertArrayEquals(new EnigmaMachineImplementation(equivalent).encriptadodeCaracter(plaintext), swapped);
+
+        Assertions.assertEquals('Z' - 'A', machine.getE_plugBoardInterno().unswap('Q' - 'A'));
+        Assertions.assertEquals("ET", machine.getE_plugBoardInterno().toString());
+        Assertions.assertThrows(IllegalStateException.class, () -> machine.getE_plugBoardInterno().swap(4, 7));
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.12 | Normalizer | Normalizar por bloques equivale a normalizar el texto completo")
+    @Tag("CompiledEngine")
+    public void testThreeDotTwelveTextNormalizer() {
+        String texto = "Hola, señor Núñez: ¡ataque al amanecer!";
+        Assertions.assertEquals("HOLASENORNUNEZATAQUEALAMANECER",
+                new String(TextNormalizer.normalizar(texto, TextNormalizer.NonLetterPolicy.DROP)));
+        Assertions.assertEquals("HOLAS ENORN UNEZA TAQUE ALAMA NECER",
+                new String(TextNormalizer.normalizar(texto, TextNormalizer.NonLetterPolicy.GROUP_FIVE)));
+        Assertions.assertEquals("HOLA, SENOR NUNEZ: ¡ATAQUE AL AMANECER!",
+                new String(TextNormalizer.normalizar(texto, TextNormalizer.NonLetterPolicy.PASS_THROUGH)));
+
+        //! Un destino de 3 caracteres obliga a que los grupos crucen varias llamadas
+        TextNormalizer normalizer = new TextNormalizer(TextNormalizer.NonLetterPolicy.GROUP_FIVE);
+        CharBuffer src = CharBuffer.wrap(texto);
+        CharBuffer bloque = CharBuffer.allocate(3);
+        StringBuilder porBloques = new StringBuilder();
+        while (src.hasRemaining()) {
+            normalizer.normalize(src, bloque);
+            porBloques.append(bloque.flip());
+            bloque.clear();
+        }
+        Assertions.assertEquals("HOLAS ENORN UNEZA TAQUE ALAMA NECER", porBloques.toString());
+
+        //! La salida del normalizador se encripta sin copias intermedias
+        EnigmaKey key = keys[1];
+        char[] grupos = TextNormalizer.normalizar(texto, TextNormalizer.NonLetterPolicy.GROUP_FIVE);
+        CharBuffer encrypted = CharBuffer.allocate(grupos.length);
+        EnigmaMachineConfiguration.desdeClave(key).encryptNormalizado(EnigmaMachineCursor.desdeClave(key), CharBuffer.wrap(grupos), encrypted);
+        Assertions.assertArrayEquals(new EnigmaMachineImplementation(key).encriptadodeCaracter(grupos), encrypted.array());
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.13 | Stepping | Los mecanismos compilados equivalen a la maquina rotor por rotor")
+    @Tag("CompiledEngine")
+    public void testThreeDotThirteenSteppingMechanisms() {
+        //! Rotacion regular: el derecho en su muesca (V) gira el medio, y el izquierdo solo si el medio esta en E
+        EnigmaMachineCursor cursor = new EnigmaMachineCursor(0, 'E' - 'A', 'V' - 'A');
+        EnigmaMachineConfiguration regular = EnigmaMachineConfiguration.desdeClave(keys[0], SteppingMechanism.REGULAR);
+        regular.rotar(cursor);
+        Assertions.assertEquals(new EnigmaMachineCursor(1, 'F' - 'A', 'W' - 'A').snapshot(), cursor.snapshot());
+        regular.rotar(cursor);
+        Assertions.assertEquals(new EnigmaMachineCursor(1, 'F' - 'A', 'X' - 'A').snapshot(), cursor.snapshot());
+        cursor = new EnigmaMachineCursor(0, 'E' - 'A', 0);
+        regular.rotar(cursor);
+        Assertions.assertEquals(new EnigmaMachineCursor(0, 'E' - 'A', 1).snapshot(), cursor.snapshot());
+
+        //! Las tablas se comparten por mecanismo y juego de muescas
+        Assertions.assertSame(StepSchedule.paraMecanismo(SteppingMechanism.REGULAR, 1 << 4, 1 << 21),
+                regular.obtenerStepSchedule());
+        Assertions.assertNotSame(StepSchedule.paraMuescas(1 << 4, 1 << 21), regular.obtenerStepSchedule());
+
+        char[] plaintext = generarTexto(20_000, 71L);
+        EnigmaKey multiNotch = new EnigmaKey(new String[]{"VI", "VII", "VIII"}, new int[]{3, 11, 24},
+                new int[]{1, 2, 3}, "AZ BY", "C");
+        for (SteppingMechanism mecanismo : SteppingMechanism.values()) {
+            for (EnigmaKey key : new EnigmaKey[]{keys[1], multiNotch}) {
+                EnigmaMachineImplementation machine = new EnigmaMachineImplementation(key);
+                machine.setE_mecanismoDeRotacion(mecanismo);
+                char[] expected = new EnigmaMachineImplementation(machine).encriptadodeCaracter(plaintext);
+
+                EnigmaMachineConfiguration configuration = EnigmaMachineConfiguration.desdeMaquina(machine);
+                Assertions.assertArrayEquals(expected,
+                        configuration.encriptadodeCaracter(EnigmaMachineCursor.desdeClave(key), plaintext));
+                Assertions.assertArrayEquals(expected, CompiledEnigmaKey.compile(configuration,
+                        EnigmaMachineCursor.desdeClave(key)).encriptadodeCaracter(plaintext));
+
+                //! seek usa la estructura ciclica del mismo mecanismo (el offset no cuenta los espacios)
+                machine.seek(new String(plaintext, 0, 12_345).replace(" ", "").length());
+                char[] tail = machine.encriptadodeCaracter(Arrays.copyOfRange(plaintext, 12_345, plaintext.length));
+                Assertions.assertArrayEquals(Arrays.copyOfRange(expected, 12_345, expected.length), tail);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.14 | UKW-D | Cambiar el cableado del reflector no recompila los rotores")
+    @Tag("CompiledEngine")
+    public void testThreeDotFourteenRewirableReflector() {
+        ReflectorImplementation ukwD = ReflectorImplementation.crearUkwD("WY QR PZ MN JK IU HT GL EX DS CO BV AF");
+        Assertions.assertEquals("D:AF BV CO DS EX GL HT IU JK MN PZ QR WY", ukwD.getE_rotorName());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ReflectorImplementation.crearUkwD("AF BV CO DS EX GL HT IU JK MN PZ QR"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ReflectorImplementation.crearUkwD("AF BV CO DS EX GL HT IU JK MN PZ QR WA"));
+
+        char[] plaintext = generarTexto(20_000, 83L);
+        String[] wirings = {ukwD.getE_rotorName(), "D:AB CD EF GH IJ KL MN OP QR ST UV WX YZ"};
+        EnigmaMachineConfiguration base = EnigmaMachineConfiguration.desdeClave(keys[1]);
+        CompiledEnigmaKey[] compiled = CompiledEnigmaKey.compile(base, EnigmaMachineCursor.desdeClave(keys[1]),
+                ReflectorImplementation.createReflector(wirings[0]), ReflectorImplementation.createReflector(wirings[1]));
+        EnigmaKey[] ukwDKeys = new EnigmaKey[wirings.length];
+        for (int i = 0; i < wirings.length; i++) {
+            ukwDKeys[i] = new EnigmaKey(keys[1]);
+            ukwDKeys[i].reflector = wirings[i];
+            char[] expected = new EnigmaMachineImplementation(ukwDKeys[i]).encriptadodeCaracter(plaintext);
+            Assertions.assertArrayEquals(expected, compiled[i].encriptadodeCaracter(plaintext));
+            Assertions.assertArrayEquals(expected, base.conReflector(ReflectorImplementation.createReflector(wirings[i]))
+                    .encriptadodeCaracter(EnigmaMachineCursor.desdeClave(ukwDKeys[i]), plaintext));
+            Assertions.assertArrayEquals(plaintext, compiled[i].encriptadodeCaracter(expected));
+        }
+        char[][] batch = BatchEnigmaEngine.encryptAll(ukwDKeys, new char[][]{plaintext, plaintext});
+        Assertions.assertArrayEquals(compiled[0].encriptadodeCaracter(plaintext), batch[0]);
+        Assertions.assertArrayEquals(compiled[1].encriptadodeCaracter(plaintext), batch[1]);
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.15 | Byte Engine | El motor de 26 simbolos equivale a la maquina y el de 256 es involutivo")
+    @Tag("CompiledEngine")
+    public void testThreeDotFifteenByteEngine() {
+        //! Con los cableados historicos y 26 simbolos, el motor de bytes equivale a la maquina de letras
+        EnigmaKey key = keys[1];
+        int[][] rotores = new int[3][];
+        int[] muescas = new int[3];
+        for (int i = 0; i < 3; i++) {
+            rotores[i] = RotorCatalog.obtener(key.rotors[i]).cableadoFrente();
+            muescas[i] = RotorCatalog.obtener(key.rotors[i]).primeraMuesca();
+        }
+        int[] reflector = new int[26];
+        ReflectorImplementation reflectorB = ReflectorImplementation.createReflector(key.reflector);
+        for (int letra = 0; letra < 26; letra++) {
+            reflector[letra] = reflectorB.getForwardLinkBasedOnCharacter(letra);
+        }
+        ByteEnigmaEngine letras = new ByteEnigmaEngine(rotores, muescas, reflector,
+                PlugBoardImplementation.decodePlugBoard(key.plugboard), key.indicators, key.rings);
+        char[] plaintext = generarTexto(30_000, 97L);
+        char[] expected = new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext);
+        byte[] symbols = new byte[plaintext.length];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = (byte) (plaintext[i] == ' ' ? 200 : plaintext[i] - 'A');
+        }
+        letras.encrypt(symbols, 0, symbols, 0, symbols.length);
+        for (int i = 0; i < symbols.length; i++) {
+            Assertions.assertEquals(expected[i] == ' ' ? 200 : expected[i] - 'A', symbols[i] & 0xFF);
+        }
+
+        //! 256 simbolos: buffers directos y en heap dan el mismo resultado y encriptar dos veces regresa el original
+        byte[] data = new byte[300_000];
+        new Random(101L).nextBytes(data);
+        ByteEnigmaEngine engine = ByteEnigmaEngine.generar(256, 42L, new int[]{3, 200, 77}, new int[]{1, 2, 3});
+        ByteBuffer heap = ByteBuffer.allocate(data.length);
+        Assertions.assertEquals(data.length, engine.copiar().encrypt(ByteBuffer.wrap(data), heap));
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        engine.copiar().encrypt(direct, direct);
+        Assertions.assertEquals(heap.flip(), direct.flip());
+        Assertions.assertFalse(Arrays.equals(data, heap.array()));
+        engine.encrypt(heap, heap);
+        Assertions.assertArrayEquals(data, heap.array());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ByteEnigmaEngine.generar(255, 1L, new int[3], new int[3]));
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.16 | Specialized | La clase oculta por clave equivale a la configuracion")
+    @Tag("CompiledEngine")
+    public void testThreeDotSixteenSpecializedMachine() {
+        char[] plaintext = generarTexto(20_000, 107L);
+        for (EnigmaKey key : keys) {
+            SpecializedEnigmaMachine specialized = SpecializedEnigmaMachine.especializar(key);
+            Assertions.assertTrue(specialized.getE_claseGenerada().isHidden());
+            Assertions.assertSame(specialized, SpecializedEnigmaMachine.especializar(new EnigmaKey(key)));
+            Assertions.assertArrayEquals(new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext),
+                    specialized.encriptadodeCaracter(EnigmaMachineCursor.desdeClave(key), plaintext));
+        }
+
+        //! Otro mecanismo de rotacion genera otra clase
+        EnigmaMachineConfiguration regular = EnigmaMachineConfiguration.desdeClave(keys[1], SteppingMechanism.REGULAR);
+        SpecializedEnigmaMachine specialized = SpecializedEnigmaMachine.especializar(regular);
+        Assertions.assertNotSame(SpecializedEnigmaMachine.especializar(keys[1]), specialized);
+        Assertions.assertArrayEquals(regular.encriptadodeCaracter(EnigmaMachineCursor.desdeClave(keys[1]), plaintext),
+                specialized.encriptadodeCaracter(EnigmaMachineCursor.desdeClave(keys[1]), plaintext));
+
+        EnigmaMachineCursor cursor = EnigmaMachineCursor.desdeClave(keys[0]);
+        Assertions.assertThrows(IllegalStateException.class, () -> SpecializedEnigmaMachine.especializar(keys[0])
+                .encrypt(cursor, "AB3".toCharArray(), 0, new char[3], 0, 3));
+        EnigmaMachineCursor expected = EnigmaMachineCursor.desdeClave(keys[0]);
+        EnigmaMachineConfiguration.desdeClave(keys[0]).encrypt(expected, "AB".toCharArray(), 0, new char[2], 0, 2);
+        Assertions.assertEquals(expected.snapshot(), cursor.snapshot());
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.17 | Engines | Todos los motores disponibles equivalen al de referencia")
+    @Tag("CompiledEngine")
+    public void testThreeDotSeventeenEngineProviders() {
+        EnigmaEngine reference = EnigmaEngine.porNombre("reference");
+        Assertions.assertTrue(EnigmaEngine.disponibles().stream().anyMatch(motor -> motor.nombre().equals("compiled")));
+        Assertions.assertNotNull(EnigmaEngine.seleccionar(1 << 20));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnigmaEngine.porNombre("missing"));
+        char[] plaintext = generarTexto(40_000, 109L);
+        for (EnigmaEngine engine : EnigmaEngine.disponibles()) {
+            //! Se repite cada clave para que el motor especializado llegue a sus claves calientes
+            for (int uso = 0; uso <= SpecializedEnigmaMachine.USOS_PARA_ESPECIALIZAR; uso++) {
+                for (EnigmaKey key : keys) {
+                    EnigmaMachineImplementation expectedMachine = new EnigmaMachineImplementation(key);
+                    EnigmaMachineImplementation machine = new EnigmaMachineImplementation(key);
+                    char[] expected = new char[plaintext.length];
+                    char[] actual = new char[plaintext.length];
+                    Assertions.assertEquals(reference.encrypt(expectedMachine, plaintext, 0, expected, 0, plaintext.length),
+                            engine.encrypt(machine, plaintext, 0, actual, 0, plaintext.length), engine.nombre());
+                    Assertions.assertArrayEquals(expected, actual, engine.nombre());
+                    Assertions.assertEquals(EnigmaMachineCursor.desdeMaquina(expectedMachine).snapshot(),
+                            EnigmaMachineCursor.desdeMaquina(machine).snapshot(), engine.nombre());
+                }
+            }
+
+            //! Un caracter invalido deja la maquina en la posicion del ultimo caracter procesado
+            EnigmaMachineImplementation expectedMachine = new EnigmaMachineImplementation(keys[1]);
+            EnigmaMachineImplementation machine = new EnigmaMachineImplementation(keys[1]);
+            char[] invalid = "HELLO WORLD 3".toCharArray();
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> reference.encrypt(expectedMachine, invalid, 0, new char[13], 0, 13));
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> engine.encrypt(machine, invalid, 0, new char[13], 0, 13), engine.nombre());
+            Assertions.assertEquals(EnigmaMachineCursor.desdeMaquina(expectedMachine).snapshot(),
+                    EnigmaMachineCursor.desdeMaquina(machine).snapshot(), engine.nombre());
+
+            //! Varias llamadas sobre la misma maquina, cambiando un anillo y las posiciones a la mitad del mensaje
+            EnigmaMachineImplementation expectedChunked = new EnigmaMachineImplementation(keys[2]);
+            EnigmaMachineImplementation chunked = new EnigmaMachineImplementation(keys[2]);
+            char[] expected = new char[plaintext.length];
+            char[] actual = new char[plaintext.length];
+            for (int inicio = 0; inicio < plaintext.length; inicio += 10_000) {
+                if (inicio == 20_000) {
+                    expectedChunked.getE_rotorMedio().setE_RingSetting(5);
+                    chunked.getE_rotorMedio().setE_RingSetting(5);
+                }
+                if (inicio == 30_000) {
+                    expectedChunked.getE_rotorMedio().setE_rotorPosition(3);
+                    chunked.getE_rotorMedio().setE_rotorPosition(3);
+                }
+                reference.encrypt(expectedChunked, plaintext, inicio, expected, inicio, 10_000);
+                engine.encrypt(chunked, plaintext, inicio, actual, inicio, 10_000);
+            }
+            Assertions.assertArrayEquals(expected, actual, engine.nombre());
+            Assertions.assertEquals(EnigmaMachineCursor.desdeMaquina(expectedChunked).snapshot(),
+                    EnigmaMachineCursor.desdeMaquina(chunked).snapshot(), engine.nombre());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.18 | Cache | Las claves equivalentes comparten la maquina compilada")
+    @Tag("CompiledEngine")
+    public void testThreeDotEighteenMachineCache() {
+        EnigmaKey key = new EnigmaKey(new String[]{"II", "IV", "V"}, new int[]{1, 4, 20}, new int[]{3, 7, 11},
+                "AB CD EF", "C");
+        EnigmaKey equivalent = new EnigmaKey(new String[]{" II", "IV", "V "}, new int[]{27, 4, -6},
+                new int[]{3, 33, 11}, "FE DC BA", "C");
+        Assertions.assertEquals(key, equivalent);
+        Assertions.assertEquals(key.hashCode(), equivalent.hashCode());
+        Assertions.assertEquals("AB CD EF", equivalent.canonica().plugboard);
+        Assertions.assertNotEquals(key, new EnigmaKey(key.rotors, new int[]{1, 4, 21}, key.rings, key.plugboard, "C"));
+        Assertions.assertEquals(new EnigmaKey(null, null, null, null, "D:ZY AB CD EF GH IJ KL MN OP QR ST UV WX"),
+                new EnigmaKey(null, null, null, null, "D:AB CD EF GH IJ KL MN OP QR ST UV WX YZ"));
+        EnigmaKey defaults = new EnigmaKey(new String[]{"I", "II", "III "}, new int[]{26, 0, 0}, null, "", "B");
+        Assertions.assertEquals(new EnigmaKey(null, null, null, null, null), defaults);
+        Assertions.assertEquals(new EnigmaKey(null, null, null, null, null).hashCode(), defaults.hashCode());
+        //! La igualdad de las claves con puntaje ignora el puntaje, que solo define el orden
+        Assertions.assertEquals(new ScoredEnigmaKey(key, 1.0f), new ScoredEnigmaKey(equivalent, 2.0f));
+
+        //! El limite se mide con una cache sin presion: la clave compilada pesa mas con la copia vectorial en enteros
+        EnigmaMachineCache medicion = new EnigmaMachineCache(EnigmaMachineCache.PESO_MAXIMO_POR_DEFECTO);
+        medicion.compilada(key);
+        EnigmaMachineCache cache = new EnigmaMachineCache(medicion.estadisticas().pesoEnBytes());
+        EnigmaMachineConfiguration configuration = cache.configuracion(key);
+        Assertions.assertSame(configuration, cache.configuracion(equivalent));
+        //! La configuracion no depende de los indicadores
+        Assertions.assertSame(configuration, cache.configuracion(new EnigmaKey(key.rotors, new int[]{9, 9, 9},
+                key.rings, key.plugboard, key.reflector)));
+        CompiledEnigmaKey compiled = cache.compilada(key);
+        Assertions.assertSame(compiled, cache.compilada(equivalent));
+        char[] plaintext = generarTexto(5_000, 113L);
+        char[] expected = new EnigmaMachineImplementation(key).encriptadodeCaracter(plaintext);
+        Assertions.assertArrayEquals(expected, compiled.encriptadodeCaracter(plaintext));
+        //! Las claves equivalentes encriptan igual en todos los caminos, aun con indicadores fuera de [0,25]
+        EnigmaKey desplazada = new EnigmaKey(key.rotors, equivalent.indicators, equivalent.rings, key.plugboard, "C");
+        Assertions.assertEquals(key, desplazada);
+        Assertions.assertArrayEquals(expected, new EnigmaMachineImplementation(desplazada).encriptadodeCaracter(plaintext));
+        Assertions.assertArrayEquals(expected, EnigmaMachineConfiguration.desdeClave(desplazada)
+                .encriptadodeCaracter(EnigmaMachineCursor.desdeClave(desplazada), plaintext));
+        Assertions.assertArrayEquals(expected,
+                BatchEnigmaEngine.encryptAll(new EnigmaKey[]{desplazada}, new char[][]{plaintext})[0]);
+        EnigmaMachineCache.Estadisticas estadisticas = cache.estadisticas();
+        Assertions.assertEquals(2, estadisticas.entradas());
+        Assertions.assertEquals(2, estadisticas.fallos());
+        Assertions.assertEquals(4, estadisticas.aciertos());
+        Assertions.assertEquals(0, estadisticas.desalojos());
+
+        //! Una segunda clave compilada supera el limite y desaloja las entradas usadas hace mas tiempo
+        cache.compilada(keys[0]);
+        estadisticas = cache.estadisticas();
+        Assertions.assertTrue(estadisticas.desalojos() > 0);
+        Assertions.assertTrue(estadisticas.pesoEnBytes() <= cache.getE_pesoMaximoEnBytes());
+        Assertions.assertNotSame(compiled, cache.compilada(key));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new EnigmaMachineCache(0));
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.19 | Streams | Los flujos conservan la posicion de los rotores entre bloques")
+    @Tag("CompiledEngine")
+    public void testThreeDotNineteenStreams() throws IOException {
+        char[] plaintext = generarTexto(50_000, 127L);
+        for (int i = 0; i < plaintext.length; i += 997) {
+            plaintext[i] = '\n';
+        }
+        EnigmaKey key = keys[1];
+        char[] expected = new char[plaintext.length];
+        new EnigmaMachineImplementation(key).encrypt(plaintext, 0, expected, 0, plaintext.length);
+
+        //! Lectura con un buffer pequeno que no divide la longitud del mensaje
+        StringWriter leido = new StringWriter();
+        try (EnigmaReader reader = new EnigmaReader(new StringReader(new String(plaintext)),
+                new EnigmaMachineImplementation(key), 61)) {
+            reader.transferTo(leido);
+        }
+        Assertions.assertEquals(new String(expected), leido.toString());
+
+        //! Escrituras de tamanos variables, el arreglo original no se modifica
+        char[] copia = plaintext.clone();
+        StringWriter escrito = new StringWriter();
+        Random random = new Random(131L);
+        try (EnigmaWriter writer = new EnigmaWriter(escrito, new EnigmaMachineImplementation(key), 128)) {
+            for (int i = 0; i < copia.length; ) {
+                int bloque = Math.min(copia.length - i, random.nextInt(500));
+                if (bloque == 1) {
+                    writer.write(copia[i]);
+                } else {
+                    writer.write(copia, i, bloque);
+                }
+                i += bloque;
+            }
+        }
+        Assertions.assertArrayEquals(plaintext, copia);
+        Assertions.assertEquals(new String(expected), escrito.toString());
+
+        //! Bytes: encriptar y luego desencriptar con la misma clave regresa el original
+        byte[] bytes = new String(plaintext).getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream cifrado = new ByteArrayOutputStream();
+        try (EnigmaOutputStream output = new EnigmaOutputStream(cifrado, new EnigmaMachineImplementation(key), 100)) {
+            output.write(bytes);
+        }
+        Assertions.assertArrayEquals(new String(expected).getBytes(StandardCharsets.US_ASCII), cifrado.toByteArray());
+        try (EnigmaInputStream input = new EnigmaInputStream(new ByteArrayInputStream(cifrado.toByteArray()),
+                new EnigmaMachineImplementation(key), 333)) {
+            Assertions.assertArrayEquals(bytes, input.readAllBytes());
+        }
+
+        //! Un caracter invalido entrega el texto anterior y luego falla
+        EnigmaMachineImplementation machine = new EnigmaMachineImplementation(key);
+        EnigmaReader reader = new EnigmaReader(new StringReader("HELLO WORLD 3 AGAIN"), machine);
+        char[] destino = new char[64];
+        Assertions.assertEquals(12, reader.read(destino, 0, destino.length));
+        Assertions.assertEquals(new String(new EnigmaMachineImplementation(key)
+                .encriptadodeCaracter("HELLO WORLD ".toCharArray())), new String(destino, 0, 12));
+        Assertions.assertThrows(IOException.class, () -> reader.read(destino, 0, destino.length));
+        EnigmaMachineImplementation esperada = new EnigmaMachineImplementation(key);
+        esperada.encriptadodeCaracter("HELLOWORLD".toCharArray());
+        Assertions.assertEquals(EnigmaMachineCursor.desdeMaquina(esperada).snapshot(),
+                EnigmaMachineCursor.desdeMaquina(machine).snapshot());
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.20 | Flow | El procesador reenvia la demanda y reutiliza sus buffers")
+    @Tag("CompiledEngine")
+    public void testThreeDotTwentyFlowProcessor() throws Exception {
+        EnigmaKey key = keys[2];
+        char[] plaintext = generarTexto(10_000, 137L);
+        char[] expected = new char[plaintext.length];
+        new EnigmaMachineImplementation(key).encrypt(plaintext, 0, expected, 0, plaintext.length);
+
+        //! Publicador manual: solo se entregan los bloques que el procesador solicito
+        EnigmaProcessor<CharBuffer> processor = EnigmaProcessor.deCaracteres(new EnigmaMachineImplementation(key), 2, 64);
+        StringBuilder recibido = new StringBuilder();
+        long[] solicitados = {0};
+        processor.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(CharBuffer item) {
+                recibido.append(item);
+                processor.liberar(item);
+                this.subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                solicitados[0] += n;
+            }
+
+            @Override
+            public void cancel() {
+                Assertions.fail("The upstream subscription should not be cancelled");
+            }
+        });
+        Assertions.assertEquals(1, solicitados[0]);
+        Random random = new Random(139L);
+        int entregados = 0;
+        for (int i = 0; i < plaintext.length; entregados++) {
+            Assertions.assertTrue(solicitados[0] > entregados);
+            int bloque = Math.min(plaintext.length - i, 1 + random.nextInt(64));
+            processor.onNext(CharBuffer.wrap(new String(plaintext, i, bloque)));
+            i += bloque;
+        }
+        processor.onComplete();
+        Assertions.assertEquals(entregados + 1, solicitados[0]);
+        Assertions.assertEquals(new String(expected), recibido.toString());
+        Assertions.assertEquals(1, processor.buffersDisponibles());
+
+        //! De extremo a extremo con un SubmissionPublisher y bloques de bytes
+        byte[] bytes = new String(plaintext).getBytes(StandardCharsets.US_ASCII);
+        EnigmaProcessor<ByteBuffer> bytesProcessor = EnigmaProcessor.deBytes(new EnigmaMachineImplementation(key));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        CompletableFuture<Void> terminado = new CompletableFuture<>();
+        try (SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 4)) {
+            publisher.subscribe(bytesProcessor);
+            bytesProcessor.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(2);
+                }
+
+                @Override
+                public void onNext(ByteBuffer item) {
+                    salida.write(item.array(), item.arrayOffset() + item.position(), item.remaining());
+                    bytesProcessor.liberar(item);
+                    this.subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    terminado.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    terminado.complete(null);
+                }
+            });
+            for (int i = 0; i < bytes.length; i += 1000) {
+                publisher.submit(ByteBuffer.wrap(bytes, i, Math.min(1000, bytes.length - i)));
+            }
+        }
+        terminado.get(30, TimeUnit.SECONDS);
+        Assertions.assertArrayEquals(new String(expected).getBytes(StandardCharsets.US_ASCII), salida.toByteArray());
+
+        //! Un caracter invalido cancela la entrada y llega como onError
+        EnigmaProcessor<CharBuffer> invalid = EnigmaProcessor.deCaracteres(new EnigmaMachineImplementation(key));
+        List<Throwable> errores = new ArrayList<>();
+        boolean[] cancelado = {false};
+        invalid.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(CharBuffer item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errores.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        invalid.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelado[0] = true;
+            }
+        });
+        invalid.onNext(CharBuffer.wrap("HELLO 3"));
+        Assertions.assertTrue(cancelado[0]);
+        Assertions.assertEquals(1, errores.size());
+        Assertions.assertInstanceOf(IllegalStateException.class, errores.get(0));
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.21 | Filter | El filtro de flujos equivale a normalizar y encriptar el texto completo")
+    @Tag("CompiledEngine")
+    public void testThreeDotTwentyOneStreamFilter() throws IOException {
+        EnigmaKey key = EnigmaKey.desdeTexto("II,IV,V:B,4,U:3,H,11:C:AB CD EF");
+        Assertions.assertEquals(keys[1], key);
+        Assertions.assertEquals("D:AB CD EF GH IJ KL MN OP QR ST UV WX YZ",
+                EnigmaKey.desdeTexto("I,II,III:A,A,A:A,A,A:D:AB CD EF GH IJ KL MN OP QR ST UV WX YZ:QW").canonica().reflector);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnigmaKey.desdeTexto("I,II,III:A,A:A,A,A:B"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnigmaKey.desdeTexto("I,II,III:A,A,30:A,A,A:B"));
+
+        //! Texto con minusculas, acentos, puntuacion y caracteres fuera del plano basico
+        StringBuilder builder = new StringBuilder();
+        Random random = new Random(149L);
+        String[] piezas = {"hola", "Senor", "\u00f1and\u00fa", "WORLD", ", ", "\n", "\uD83D\uDE00", "?", " "};
+        while (builder.length() < 300_000) {
+            builder.append(piezas[random.nextInt(piezas.length)]);
+        }
+        String texto = builder.toString();
+        char[] normalizado = TextNormalizer.normalizar(texto, TextNormalizer.NonLetterPolicy.PASS_THROUGH);
+        CharBuffer esperado = CharBuffer.wrap(normalizado);
+        EnigmaMachineConfiguration.desdeClave(key).encryptNormalizado(EnigmaMachineCursor.desdeClave(key), esperado, esperado);
+        byte[] expected = new String(normalizado).getBytes(StandardCharsets.UTF_8);
+
+        for (int[] configuracion : new int[][]{{1, 4097}, {3, 100_000}}) {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            long letras = new EnigmaFilter(key, TextNormalizer.NonLetterPolicy.PASS_THROUGH, configuracion[0],
+                    configuracion[1]).filtrar(Channels.newChannel(new ByteArrayInputStream(
+                    texto.getBytes(StandardCharsets.UTF_8))), Channels.newChannel(salida));
+            Assertions.assertArrayEquals(expected, salida.toByteArray());
+            Assertions.assertTrue(letras > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.22 | Directory | Cada archivo del arbol se encripta con la clave de su manifiesto")
+    @Tag("CompiledEngine")
+    public void testThreeDotTwentyTwoDirectoryJob(@TempDir Path temporal) throws IOException {
+        Path origen = temporal.resolve("plain");
+        Files.createDirectories(origen.resolve("sub/deep"));
+        Random random = new Random(23L);
+        Map<String, byte[]> contenidos = new java.util.LinkedHashMap<>();
+        for (String[] archivo : new String[][]{{"a.txt", "5000"}, {"sub/b.txt", "70000"}, {"sub/deep/c.txt", "1"},
+                {"sub/deep/d.txt", "0"}}) {
+            byte[] contenido = new byte[Integer.parseInt(archivo[1])];
+            for (int i = 0; i < contenido.length; i++) {
+                contenido[i] = i % 61 == 60 ? (byte) '\n' : (byte) ('A' + random.nextInt(26));
+            }
+            contenidos.put(archivo[0], contenido);
+            Files.write(origen.resolve(archivo[0]), contenido);
+        }
+        Files.writeString(origen.resolve("sub/bad.txt"), "HELLO world");
+
+        String manifiestoCsv = "file,key\n# clave del dia\n"
+                + "a.txt,\"I,II,III:A,A,A:A,A,A:B\"\n"
+                + "sub/b.txt,\"II,IV,V:B,4,U:3,H,11:C:AB CD EF\"\n"
+                + "*,\"III,I,II:Q,E,V:2,2,2:B:QW ER\"\n";
+        Map<String, EnigmaKey> manifiesto = DirectoryEncryptionJob.leerManifiesto(new StringReader(manifiestoCsv));
+        Assertions.assertEquals(3, manifiesto.size());
+
+        //! El destino dentro del origen no se vuelve a procesar
+        Path destino = origen.resolve("cipher");
+        DirectoryEncryptionJob.Resumen resumen = new DirectoryEncryptionJob(origen, destino, manifiesto, 2, 4096)
+                .ejecutar();
+        Assertions.assertEquals(5, resumen.archivos().size());
+        Assertions.assertTrue(resumen.sinClave().isEmpty());
+        for (Map.Entry<String, byte[]> archivo : contenidos.entrySet()) {
+            EnigmaKey key = manifiesto.getOrDefault(archivo.getKey(), manifiesto.get(DirectoryEncryptionJob.CLAVE_POR_DEFECTO));
+            byte[] expected = archivo.getValue().clone();
+            new EnigmaMachineImplementation(key).encrypt(expected, 0, expected, 0, expected.length);
+            Assertions.assertArrayEquals(expected, Files.readAllBytes(destino.resolve(archivo.getKey())), archivo.getKey());
+        }
+        DirectoryEncryptionJob.ResultadoDeArchivo invalido = resumen.archivos().stream()
+                .filter(resultado -> resultado.archivo().equals("sub/bad.txt")).findFirst().orElseThrow();
+        Assertions.assertNotNull(invalido.error());
+        Assertions.assertEquals(contenidos.values().stream().mapToLong(contenido -> contenido.length).sum(),
+                resumen.bytes());
+
+        //! La maquina es reciproca: el mismo trabajo sobre la salida recupera el texto original
+        Files.delete(destino.resolve("sub/bad.txt"));
+        Path recuperado = temporal.resolve("recovered");
+        new DirectoryEncryptionJob(destino, recuperado, manifiesto, 3, 1000).ejecutar();
+        for (Map.Entry<String, byte[]> archivo : contenidos.entrySet()) {
+            Assertions.assertArrayEquals(archivo.getValue(), Files.readAllBytes(recuperado.resolve(archivo.getKey())));
+        }
+
+        //! Sin clave por defecto, los archivos no listados se omiten y aparecen en el resumen
+        manifiesto.remove(DirectoryEncryptionJob.CLAVE_POR_DEFECTO);
+        DirectoryEncryptionJob.Resumen parcial = new DirectoryEncryptionJob(recuperado, temporal.resolve("partial"),
+                manifiesto).ejecutar();
+        Assertions.assertEquals(List.of("sub/deep/c.txt", "sub/deep/d.txt"), parcial.sinClave());
+        StringBuilder csv = new StringBuilder();
+        parcial.escribirCsv(csv);
+        Assertions.assertTrue(csv.toString().startsWith("file,bytes,letters,seconds,bytes_per_second,error"));
+        Assertions.assertEquals(5, csv.toString().lines().count());
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.23 | Service | El servicio local encripta cada solicitud con su propio cursor")
+    @Tag("CompiledEngine")
+    public void testThreeDotTwentyThreeHttpService() throws Exception {
+        String[] textosDeClave = {"I,II,III:A,A,A:A,A,A:B", "II,IV,V:B,4,U:3,H,11:C:AB CD EF",
+                "III,I,II:Q,E,V:2,2,2:B:QW ER"};
+        EnigmaMachineCache cache = new EnigmaMachineCache(EnigmaMachineCache.PESO_MAXIMO_POR_DEFECTO);
+        try (EnigmaHttpService servicio = EnigmaHttpService.iniciar(
+                new java.net.InetSocketAddress(java.net.InetAddress.getLoopbackAddress(), 0), cache);
+             HttpClient cliente = HttpClient.newHttpClient()) {
+            URI base = URI.create("http://localhost:" + servicio.getE_direccion().getPort());
+            Random random = new Random(24L);
+            List<CompletableFuture<Void>> solicitudes = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                String textoDeClave = textosDeClave[i % textosDeClave.length];
+                char[] plaintext = new char[1 + random.nextInt(3000)];
+                for (int j = 0; j < plaintext.length; j++) {
+                    plaintext[j] = j % 40 == 39 ? ' ' : (char) ('A' + random.nextInt(26));
+                }
+                String expected = new String(new EnigmaMachineImplementation(EnigmaKey.desdeTexto(textoDeClave))
+                        .encriptadodeCaracter(plaintext));
+                HttpRequest solicitud = HttpRequest.newBuilder(base.resolve(i % 2 == 0
+                                ? EnigmaHttpService.RUTA_ENCRIPTAR : EnigmaHttpService.RUTA_DESENCRIPTAR))
+                        .header(EnigmaHttpService.ENCABEZADO_DE_CLAVE, textoDeClave)
+                        .POST(HttpRequest.BodyPublishers.ofString(new String(plaintext))).build();
+                solicitudes.add(cliente.sendAsync(solicitud, HttpResponse.BodyHandlers.ofString())
+                        .thenAccept(respuesta -> {
+                            Assertions.assertEquals(200, respuesta.statusCode());
+                            Assertions.assertEquals(expected, respuesta.body());
+                        }));
+            }
+            CompletableFuture.allOf(solicitudes.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+            Assertions.assertEquals(textosDeClave.length, cache.estadisticas().entradas());
+
+            //! Clave ausente, clave invalida y caracteres fuera de las reglas del motor
+            HttpResponse<String> sinClave = cliente.send(HttpRequest.newBuilder(base.resolve(
+                    EnigmaHttpService.RUTA_ENCRIPTAR)).POST(HttpRequest.BodyPublishers.ofString("HELLO")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(400, sinClave.statusCode());
+            HttpResponse<String> minusculas = cliente.send(HttpRequest.newBuilder(base.resolve(
+                            EnigmaHttpService.RUTA_ENCRIPTAR)).header(EnigmaHttpService.ENCABEZADO_DE_CLAVE,
+                            textosDeClave[0]).POST(HttpRequest.BodyPublishers.ofString("hello")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(400, minusculas.statusCode());
+            HttpResponse<String> metodo = cliente.send(HttpRequest.newBuilder(base.resolve(
+                    EnigmaHttpService.RUTA_ENCRIPTAR)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(405, metodo.statusCode());
+            //! Claves bien formadas con un rotor o un reflector que no existe en el catalogo
+            for (String desconocida : new String[]{"I,II,X:A,A,A:A,A,A:B", "I,II,III:A,A,A:A,A,A:Z"}) {
+                HttpResponse<String> rechazada = cliente.send(HttpRequest.newBuilder(base.resolve(
+                                EnigmaHttpService.RUTA_ENCRIPTAR)).header(EnigmaHttpService.ENCABEZADO_DE_CLAVE,
+                                desconocida).POST(HttpRequest.BodyPublishers.ofString("HELLO")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                Assertions.assertEquals(400, rechazada.statusCode(), desconocida);
+                Assertions.assertTrue(rechazada.body().startsWith("The "), rechazada.body());
+            }
+
+            //! Los contadores se actualizan despues de enviar cada respuesta, por lo que el cliente puede adelantarse
+            EnigmaHttpService.Estadisticas estadisticas = servicio.estadisticas();
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((estadisticas.solicitudes() < 60 || estadisticas.errores() < 5) && System.nanoTime() < limite) {
+                Thread.sleep(10);
+                estadisticas = servicio.estadisticas();
+            }
+            Assertions.assertEquals(60, estadisticas.solicitudes());
+            Assertions.assertEquals(5, estadisticas.errores());
+            Assertions.assertTrue(estadisticas.p50Nanosegundos() > 0);
+            Assertions.assertTrue(estadisticas.p50Nanosegundos() <= estadisticas.p99Nanosegundos());
+            Assertions.assertTrue(estadisticas.solicitudesPorSegundo() > 0);
+            HttpResponse<String> contadores = cliente.send(HttpRequest.newBuilder(base.resolve(
+                    EnigmaHttpService.RUTA_ESTADISTICAS)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertTrue(contadores.body().contains("requests=60\n"));
+            Assertions.assertTrue(contadores.body().contains("p99_ns="));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Suite #3 | Test #3.24 | Bulk CSV | Verificacion y reencriptado masivo de los CSV de configuraciones")
+    @Tag("CompiledEngine")
+    public void testThreeDotTwentyFourBulkCsvRunner(@TempDir Path temporal) throws IOException {
+        String[][] archivos = {{"basicConfigurationTests.csv", "I,II,III"}, {"basicConfigurationTestsTwo.csv", "II,III,IV"},
+                {"basicConfigurationTestsThree.csv", "III,IV,V"}};
+        for (String[] archivo : archivos) {
+            EnigmaKey base = EnigmaKey.desdeTexto(archivo[1] + ":A,A,A:A,A,A:B");
+            BulkCsvRunner.Resumen resumen = new BulkCsvRunner(base, BulkCsvRunner.Mode.VERIFY, 3, 7)
+                    .ejecutar(Path.of("./src/main/resources", archivo[0]), temporal.resolve(archivo[0]));
+            Assertions.assertEquals(27, resumen.filas());
+            Assertions.assertEquals(resumen.filas(), resumen.correctas(), archivo[0]);
+        }
+
+        //! Reencriptado con otra clave base: cada fila debe coincidir con la maquina de referencia
+        EnigmaKey nueva = EnigmaKey.desdeTexto("II,IV,V:A,A,A:A,A,A:C:AB CD EF");
+        Path reencriptado = temporal.resolve("rekeyed.csv");
+        BulkCsvRunner.Resumen resumen = new BulkCsvRunner(nueva, BulkCsvRunner.Mode.ENCRYPT, 4, 5)
+                .ejecutar(Path.of("./src/main/resources/basicConfigurationTests.csv"), reencriptado);
+        Assertions.assertEquals(27, resumen.correctas());
+        Assertions.assertTrue(resumen.caracteres() > 0);
+        List<String> lineas = Files.readAllLines(reencriptado);
+        Assertions.assertEquals("Plaintext,Ciphertext,Rotor Configurations,Ring Configurations,Result", lineas.get(0));
+        for (String linea : lineas.subList(1, lineas.size())) {
+            String[] valores = linea.split(",");
+            int[] positions = Arrays.stream(valores[2].split(" ")).mapToInt(Integer::parseInt).toArray();
+            int[] rings = Arrays.stream(valores[3].split(" ")).mapToInt(Integer::parseInt).toArray();
+            char[] expected = new EnigmaMachineImplementation(new EnigmaKey(nueva.rotors, positions, rings,
+                    nueva.plugboard, nueva.reflector)).encriptadodeCaracter(valores[0].toUpperCase().toCharArray());
+            Assertions.assertEquals(new String(expected).toLowerCase(), valores[1]);
+        }
+
+        //! Una fila alterada y una fila invalida se reportan sin detener la ejecucion
+        lineas.set(1, lineas.get(1).replaceFirst(",[a-z]+,", ",zzzzz,"));
+        lineas.add("hello,abcde,0 0,0 0 0,");
+        StringWriter salida = new StringWriter();
+        BulkCsvRunner.Resumen verificacion = new BulkCsvRunner(nueva, BulkCsvRunner.Mode.VERIFY, 2, 1000)
+                .ejecutar(new StringReader(String.join("\n", lineas)), salida);
+        Assertions.assertEquals(28, verificacion.filas());
+        Assertions.assertEquals(26, verificacion.correctas());
+        Assertions.assertEquals(1, verificacion.discrepancias());
+        Assertions.assertEquals(1, verificacion.errores());
+        Assertions.assertTrue(salida.toString().lines().skip(1).findFirst().orElseThrow().endsWith(",MISMATCH"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BulkCsvRunner(nueva,
+                BulkCsvRunner.Mode.VERIFY).ejecutar(new StringReader("Plaintext,Ciphertext\nA,B\n"), new StringWriter()));
+    }
+}